@@ -0,0 +1,274 @@
+package com.highpeaksw.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
+
+import lombok.Getter;
+
+/**
+ * Working days of a region for a range of whole years: every day that is neither a weekend day nor a holiday.
+ *
+ * The working days are precomputed into a bitset with one bit per day and the number of working days before every
+ * 64 day word of it. Counting the business days between two dates is then two lookups and two bit counts, and
+ * adding business days is a binary search over the counts followed by a scan of a single word. Instances are
+ * immutable and can be shared across threads. Dates outside the years of the calendar are rejected, since their
+ * holidays are unknown.
+ *
+ * Dates can be passed as {@link LocalDate} or as epoch days, see
+ * {@link DateUtilV2#getEpochDayFromLocalDate(LocalDate)}.
+ */
+public final class BusinessCalendar {
+
+    public static final int MAX_YEARS = 400;
+
+    private static final ValidationException OUTSIDE_CALENDAR = new ValidationException(
+            "Date is outside the business calendar");
+
+    @Getter
+    private final String region;
+
+    @Getter
+    private final int firstYear;
+
+    @Getter
+    private final int lastYear;
+
+    private final long firstEpochDay;
+
+    private final int dayCount;
+
+    private final long[] workingDays;
+
+    private final int[] workingDaysBeforeWord;
+
+    private BusinessCalendar( String region, int firstYear, int lastYear, long firstEpochDay, int dayCount,
+            long[] workingDays )
+    {
+        this.region = region;
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.firstEpochDay = firstEpochDay;
+        this.dayCount = dayCount;
+        this.workingDays = workingDays;
+        this.workingDaysBeforeWord = new int[workingDays.length + 1];
+        for( int word = 0; word < workingDays.length; word++ )
+        {
+            workingDaysBeforeWord[word + 1] = workingDaysBeforeWord[word] + Long.bitCount(workingDays[word]);
+        }
+    }
+
+    /**
+     * Builds the calendar of {@param region} for the years {@param firstYear} to {@param lastYear}. Holidays outside
+     * these years are ignored.
+     *
+     * @param region
+     *            name of the region, for example a country code
+     * @param weekendDays
+     *            days of the week that are never working days
+     * @param holidays
+     *            dates that are not working days
+     * @param firstYear
+     *            first year of the calendar
+     * @param lastYear
+     *            last year of the calendar, at most {@link #MAX_YEARS} years after the first
+     * @return calendar of the region
+     * @throws DataException
+     *             If mandatory inputs are empty or the years are invalid
+     */
+    public static BusinessCalendar of( String region, Set<DayOfWeek> weekendDays, Collection<LocalDate> holidays,
+            int firstYear, int lastYear ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(region, "Region is required");
+        NullEmptyUtils.throwExceptionIfInputIsNull(weekendDays, "Weekend days are required");
+        NullEmptyUtils.throwExceptionIfInputIsNull(holidays, "Holidays are required");
+        if( firstYear > lastYear || lastYear - firstYear >= MAX_YEARS || firstYear < LocalDate.MIN.getYear()
+                || lastYear > LocalDate.MAX.getYear() )
+        {
+            throw new ValidationException(
+                    "Calendar years must be in order and span at most " + MAX_YEARS + " years");
+        }
+
+        long firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        int dayCount = (int) (LocalDate.of(lastYear, 12, 31).toEpochDay() - firstEpochDay + 1);
+        // one spare word so that the end of the calendar can be ranked without a bounds check
+        long[] workingDays = new long[dayCount / 64 + 1];
+        for( int day = 0; day < dayCount; day++ )
+        {
+            if( !weekendDays.contains(DayOfWeek.of(Math.floorMod(firstEpochDay + day + 3, 7) + 1)) )
+            {
+                workingDays[day >>> 6] |= 1L << day;
+            }
+        }
+        for( LocalDate holiday : holidays )
+        {
+            long day = holiday.toEpochDay() - firstEpochDay;
+            if( day >= 0 && day < dayCount )
+            {
+                workingDays[(int) (day >>> 6)] &= ~(1L << day);
+            }
+        }
+        return new BusinessCalendar(region, firstYear, lastYear, firstEpochDay, dayCount, workingDays);
+    }
+
+    /**
+     * @param date
+     *            date of the calendar
+     * @return whether the date is a working day
+     * @throws DataException
+     *             If the date is outside the calendar
+     */
+    public boolean isBusinessDay( LocalDate date ) throws DataException
+    {
+        return isBusinessDay(toEpochDay(date));
+    }
+
+    /**
+     * @param epochDay
+     *            epoch day of the calendar
+     * @return whether the day is a working day
+     * @throws DataException
+     *             If the day is outside the calendar
+     */
+    public boolean isBusinessDay( long epochDay ) throws DataException
+    {
+        int day = indexOf(epochDay, dayCount - 1);
+        return (workingDays[day >>> 6] & 1L << day) != 0;
+    }
+
+    /**
+     * Moves {@param date} by {@param numberOfBusinessDays} working days, forward for a positive number and back for
+     * a negative one. The date itself does not need to be a working day, adding one business day to a Saturday
+     * gives the next working day. Adding zero returns the date unchanged.
+     *
+     * @param date
+     *            date of the calendar
+     * @param numberOfBusinessDays
+     *            number of working days to move by
+     * @return the working day reached
+     * @throws DataException
+     *             If the date or the result is outside the calendar
+     */
+    public LocalDate addBusinessDays( LocalDate date, int numberOfBusinessDays ) throws DataException
+    {
+        return LocalDate.ofEpochDay(addBusinessDays(toEpochDay(date), numberOfBusinessDays));
+    }
+
+    /**
+     * Epoch day variant of {@link #addBusinessDays(LocalDate, int)}
+     *
+     * @param epochDay
+     *            epoch day of the calendar
+     * @param numberOfBusinessDays
+     *            number of working days to move by
+     * @return epoch day of the working day reached
+     * @throws DataException
+     *             If the day or the result is outside the calendar
+     */
+    public long addBusinessDays( long epochDay, int numberOfBusinessDays ) throws DataException
+    {
+        int day = indexOf(epochDay, dayCount - 1);
+        if( numberOfBusinessDays == 0 )
+        {
+            return epochDay;
+        }
+        // rank of the working day to find, counted from zero at the start of the calendar
+        long rank = numberOfBusinessDays > 0 ? rank(day + 1) + (long) numberOfBusinessDays - 1
+                : rank(day) + (long) numberOfBusinessDays;
+        if( rank < 0 || rank >= workingDaysBeforeWord[workingDays.length] )
+        {
+            throw OUTSIDE_CALENDAR;
+        }
+        return firstEpochDay + select((int) rank);
+    }
+
+    /**
+     * Counts the working days from {@param from}, inclusive, to {@param to}, exclusive, negative if {@param to} is
+     * earlier, in the same way as {@link DateUtilV2#getTheNumberOfDaysBetweenTwoLocalDates(LocalDate, LocalDate)}
+     * counts days
+     *
+     * @param from
+     *            date from which working days are counted
+     * @param to
+     *            date till which working days are counted, may be the day after the end of the calendar
+     * @return number of working days between the dates
+     * @throws DataException
+     *             If a date is outside the calendar
+     */
+    public long getTheNumberOfBusinessDaysBetween( LocalDate from, LocalDate to ) throws DataException
+    {
+        return getTheNumberOfBusinessDaysBetween(toEpochDay(from), toEpochDay(to));
+    }
+
+    /**
+     * Epoch day variant of {@link #getTheNumberOfBusinessDaysBetween(LocalDate, LocalDate)}
+     *
+     * @param fromEpochDay
+     *            epoch day from which working days are counted
+     * @param toEpochDay
+     *            epoch day till which working days are counted
+     * @return number of working days between the days
+     * @throws DataException
+     *             If a day is outside the calendar
+     */
+    public long getTheNumberOfBusinessDaysBetween( long fromEpochDay, long toEpochDay ) throws DataException
+    {
+        return rank(indexOf(toEpochDay, dayCount)) - rank(indexOf(fromEpochDay, dayCount));
+    }
+
+    /**
+     * Number of working days before the day at {@param day}
+     */
+    private int rank( int day )
+    {
+        int word = day >>> 6;
+        return workingDaysBeforeWord[word] + Long.bitCount(workingDays[word] & ((1L << day) - 1));
+    }
+
+    /**
+     * Index of the working day with {@param rank} working days before it
+     */
+    private int select( int rank )
+    {
+        int low = 0;
+        int high = workingDays.length - 1;
+        while( low < high )
+        {
+            int middle = (low + high + 1) >>> 1;
+            if( workingDaysBeforeWord[middle] <= rank )
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        long bits = workingDays[low];
+        for( int i = rank - workingDaysBeforeWord[low]; i > 0; i-- )
+        {
+            bits &= bits - 1;
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    private int indexOf( long epochDay, int lastIndex ) throws ValidationException
+    {
+        long day = epochDay - firstEpochDay;
+        if( day < 0 || day > lastIndex )
+        {
+            throw OUTSIDE_CALENDAR;
+        }
+        return (int) day;
+    }
+
+    private static long toEpochDay( LocalDate date ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(date, "Input date is missing");
+        return date.toEpochDay();
+    }
+}
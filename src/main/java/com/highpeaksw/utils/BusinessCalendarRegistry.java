@@ -0,0 +1,133 @@
+package com.highpeaksw.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A thread-safe registry of {@link BusinessCalendar}s by region. Calendars are built once, when they are registered
+ * or loaded, and then shared by every lookup. Registering a calendar for a region that already has one replaces it,
+ * callers holding the old calendar keep using it unchanged.
+ *
+ * Holiday lists are loaded from text with one dd-MM-yyyy date per line. Blank lines and lines starting with
+ * {@code #} are skipped.
+ */
+@Slf4j
+public class BusinessCalendarRegistry {
+
+    private final ConcurrentHashMap<String, BusinessCalendar> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Registers {@param calendar} under its region
+     *
+     * @param calendar
+     *            calendar to register
+     * @return the calendar
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public BusinessCalendar register( BusinessCalendar calendar ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(calendar, "Calendar is required");
+        calendars.put(calendar.getRegion(), calendar);
+        return calendar;
+    }
+
+    /**
+     * Builds and registers the calendar of {@param region} from a holiday list
+     *
+     * @param region
+     *            name of the region, for example a country code
+     * @param weekendDays
+     *            days of the week that are never working days
+     * @param holidays
+     *            text with one dd-MM-yyyy holiday per line, not closed by this method
+     * @param firstYear
+     *            first year of the calendar
+     * @param lastYear
+     *            last year of the calendar
+     * @return the registered calendar
+     * @throws DataException
+     *             If mandatory inputs are empty, a line is not a valid date or the holidays cannot be read
+     */
+    public BusinessCalendar load( String region, Set<DayOfWeek> weekendDays, Reader holidays, int firstYear,
+            int lastYear ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(holidays, "Holidays are required");
+            List<LocalDate> dates = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(holidays);
+            String line;
+            while( (line = reader.readLine()) != null )
+            {
+                String date = line.strip();
+                if( !date.isEmpty() && date.charAt(0) != '#' )
+                {
+                    dates.add(DateUtilV2.getLocalDateFromHumanReadableStringDate(date));
+                }
+            }
+            return register(BusinessCalendar.of(region, weekendDays, dates, firstYear, lastYear));
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( IOException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while reading the holidays",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Returns the calendar registered for {@param region}
+     *
+     * @param region
+     *            name of the region
+     * @return calendar of the region
+     * @throws DataException
+     *             If no calendar is registered for the region
+     */
+    public BusinessCalendar get( String region ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(region, "Region is required");
+        BusinessCalendar calendar = calendars.get(region);
+        if( calendar == null )
+        {
+            throw new ValidationException("No business calendar for region " + region);
+        }
+        return calendar;
+    }
+
+    public boolean contains( String region )
+    {
+        return region != null && calendars.containsKey(region);
+    }
+
+    public BusinessCalendar remove( String region )
+    {
+        return region == null ? null : calendars.remove(region);
+    }
+
+    public Set<String> getRegions()
+    {
+        return Set.copyOf(calendars.keySet());
+    }
+}
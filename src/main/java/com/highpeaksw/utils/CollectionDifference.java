@@ -0,0 +1,269 @@
+package com.highpeaksw.utils;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Subtraction engine of {@link CollectionUtils}. Every strategy keeps the elements of the first collection in
+ * iteration order and picks how to find the elements to remove from the sizes and types of the inputs:
+ * <ul>
+ * <li>a second collection of up to {@link #LINEAR_SCAN_SIZE} elements is scanned element by element</li>
+ * <li>with {@link SubtractSemanticsEnum#SET} a second collection that is a {@link Set} is used for lookups as it
+ * is, and two {@link SortedSet}s with the same ordering are merged</li>
+ * <li>otherwise the smaller of the two collections is hashed, so memory follows the smaller input</li>
+ * </ul>
+ * Hashing uses {@link Object#equals(Object)}, like the bag of commons-collections4. A {@link Set} used as it is
+ * decides membership itself, a {@link TreeSet} by its comparator for example.
+ */
+final class CollectionDifference {
+
+    /**
+     * Up to this many elements in the second collection are compared one by one instead of being hashed
+     */
+    static final int LINEAR_SCAN_SIZE = 8;
+
+    private CollectionDifference() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * @return new list of the elements of {@param left} that remain after removing {@param right}
+     */
+    static <T> List<T> subtract( Collection<? extends T> left, Collection<?> right, SubtractSemanticsEnum semantics )
+    {
+        if( left.isEmpty() || left == right )
+        {
+            return new ArrayList<>();
+        }
+        if( right.isEmpty() )
+        {
+            return new ArrayList<>(left);
+        }
+        if( semantics == SubtractSemanticsEnum.SET && left instanceof SortedSet<?> leftSet
+                && right instanceof SortedSet<?> rightSet
+                && Objects.equals(leftSet.comparator(), rightSet.comparator()) )
+        {
+            @SuppressWarnings( "unchecked" )
+            Comparator<Object> comparator = (Comparator<Object>) leftSet.comparator();
+            @SuppressWarnings( "unchecked" )
+            List<T> result = (List<T>) CollectionDifference.<Object> subtractSorted(left, right,
+                    comparator == null ? naturalOrder() : comparator, semantics, false);
+            return result;
+        }
+        return filter(left, removalPredicate(left, right, semantics));
+    }
+
+    /**
+     * Removes {@param right} from {@param left}
+     *
+     * @return number of elements removed
+     */
+    static int subtractInPlace( Collection<?> left, Collection<?> right, SubtractSemanticsEnum semantics )
+    {
+        int size = left.size();
+        if( size == 0 || right.isEmpty() )
+        {
+            return 0;
+        }
+        if( left == right )
+        {
+            left.clear();
+            return size;
+        }
+        left.removeIf(removalPredicate(left, right, semantics));
+        return size - left.size();
+    }
+
+    /**
+     * Merges {@param left} with {@param right}, both in the order of {@param comparator}, and keeps the elements of
+     * {@param left} that are not removed. Elements are equal when the comparator returns zero.
+     *
+     * @param checkOrder
+     *            whether to verify the order of the inputs while merging
+     * @return new list of the remaining elements, or {@code null} when {@param checkOrder} is set and an input is out
+     *         of order
+     */
+    static <T> List<T> subtractSorted( Iterable<? extends T> left, Iterable<? extends T> right,
+            Comparator<? super T> comparator, SubtractSemanticsEnum semantics, boolean checkOrder )
+    {
+        boolean multiset = semantics == SubtractSemanticsEnum.MULTISET;
+        List<T> result = left instanceof Collection<?> collection ? new ArrayList<>(collection.size())
+                : new ArrayList<>();
+        Iterator<? extends T> rightIterator = right.iterator();
+        boolean hasCurrent = rightIterator.hasNext();
+        T current = hasCurrent ? rightIterator.next() : null;
+        boolean first = true;
+        T previous = null;
+        for( T element : left )
+        {
+            if( checkOrder && !first && comparator.compare(previous, element) > 0 )
+            {
+                return null;
+            }
+            first = false;
+            previous = element;
+
+            int comparison = 1;
+            while( hasCurrent && (comparison = comparator.compare(element, current)) > 0 )
+            {
+                hasCurrent = rightIterator.hasNext();
+                if( hasCurrent )
+                {
+                    T next = rightIterator.next();
+                    if( checkOrder && comparator.compare(current, next) > 0 )
+                    {
+                        return null;
+                    }
+                    current = next;
+                }
+            }
+            if( hasCurrent && comparison == 0 )
+            {
+                if( multiset )
+                {
+                    hasCurrent = rightIterator.hasNext();
+                    if( hasCurrent )
+                    {
+                        T next = rightIterator.next();
+                        if( checkOrder && comparator.compare(current, next) > 0 )
+                        {
+                            return null;
+                        }
+                        current = next;
+                    }
+                }
+                continue;
+            }
+            result.add(element);
+        }
+        return result;
+    }
+
+    /**
+     * Predicate telling for every element of {@param left}, in iteration order, whether it is removed. The predicate
+     * may count matches, so it must be tested exactly once per element.
+     */
+    private static Predicate<Object> removalPredicate( Collection<?> left, Collection<?> right,
+            SubtractSemanticsEnum semantics )
+    {
+        boolean multiset = semantics == SubtractSemanticsEnum.MULTISET;
+        if( !multiset && (right.size() <= LINEAR_SCAN_SIZE || right instanceof Set<?>
+                || left.size() >= right.size()) )
+        {
+            return membership(right);
+        }
+        if( right.size() <= LINEAR_SCAN_SIZE )
+        {
+            List<Object> pending = new ArrayList<>(right);
+            return pending::remove;
+        }
+        if( left.size() < right.size() )
+        {
+            return indexLeft(left, right, multiset);
+        }
+        Map<Object, int[]> counts = new HashMap<>(capacity(right.size()));
+        for( Object element : right )
+        {
+            counts.computeIfAbsent(element, key -> new int[1])[0]++;
+        }
+        return element -> {
+            int[] count = counts.get(element);
+            if( count == null || count[0] == 0 )
+            {
+                return false;
+            }
+            count[0]--;
+            return true;
+        };
+    }
+
+    /**
+     * Membership test for the elements of {@param right}: the {@link Set} itself, whatever its size, so that a set
+     * with its own notion of equality always decides membership, a copy scanned element by element for a small
+     * collection, or a {@link HashSet} of the elements. Only reads once built, so it can be shared by threads as long
+     * as a {@link Set} passed in is not modified.
+     */
+    static Predicate<Object> membership( Collection<?> right )
+    {
+        if( right instanceof Set<?> set )
+        {
+            return set::contains;
+        }
+        if( right.size() <= LINEAR_SCAN_SIZE )
+        {
+            List<Object> elements = new ArrayList<>(right);
+            return elements::contains;
+        }
+        Set<Object> index = new HashSet<>(capacity(right.size()));
+        index.addAll(right);
+        return index::contains;
+    }
+
+    /**
+     * Hashes the distinct elements of {@param left} and streams {@param right} past them to count how many
+     * occurrences of each are removed, stopping early once everything on the left is removed
+     */
+    private static Predicate<Object> indexLeft( Collection<?> left, Collection<?> right, boolean multiset )
+    {
+        // [0] occurrences on the left, [1] occurrences still to be removed
+        Map<Object, int[]> index = new HashMap<>(capacity(left.size()));
+        for( Object element : left )
+        {
+            index.computeIfAbsent(element, key -> new int[2])[0]++;
+        }
+        int removable = left.size();
+        Iterator<?> iterator = right.iterator();
+        while( removable > 0 && iterator.hasNext() )
+        {
+            int[] count = index.get(iterator.next());
+            if( count == null || count[1] == count[0] )
+            {
+                continue;
+            }
+            int removed = multiset ? 1 : count[0];
+            count[1] += removed;
+            removable -= removed;
+        }
+        return element -> {
+            int[] count = index.get(element);
+            if( count == null || count[1] == 0 )
+            {
+                return false;
+            }
+            count[1]--;
+            return true;
+        };
+    }
+
+    private static <T> List<T> filter( Collection<? extends T> left, Predicate<Object> removed )
+    {
+        List<T> result = new ArrayList<>(left.size());
+        for( T element : left )
+        {
+            if( !removed.test(element) )
+            {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static Comparator<Object> naturalOrder()
+    {
+        return (Comparator<Object>) (Comparator<?>) Comparator.naturalOrder();
+    }
+
+    private static int capacity( int size )
+    {
+        return (int) Math.min(1 << 30, (long) (size / 0.75f) + 1);
+    }
+}
@@ -1,22 +1,837 @@
 package com.highpeaksw.utils;
 
-import java.util.Collection;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import org.springframework.http.HttpStatus;
 
+import com.highpeaksw.utils.collection.BloomFilter;
+import com.highpeaksw.utils.collection.CompressedBitmap;
+import com.highpeaksw.utils.collection.IntHashSet;
+import com.highpeaksw.utils.collection.LongHashSet;
 import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
+import com.highpeaksw.utils.result.BloomSubtractResult;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public class CollectionUtils {
 
+    private static final String COLLECTION_NULL_ERROR = "Collections to subtract are required";
+
+    private static final String SEMANTICS_NULL_ERROR = "Subtract semantics are required";
+
+    private static final String ARRAY_NULL_ERROR = "Arrays are required";
+
+    private static final String NULL_ELEMENT_ERROR = "Collection contains a null element";
+
+    private static final String INT_ID_ERROR = "Collection contains a value that is not an int id";
+
+    private static final String SOURCE_NULL_ERROR = "Source and collection to match are required";
+
+    private static final String BLOOM_FILTER_NULL_ERROR = "Values and Bloom filter are required";
+
+    private static final String SUBTRACT_ERROR = "Error while subtracting collections";
+
+    private static final String UNMODIFIABLE_ERROR = "Collection cannot be modified";
+
+    private static final String BLOOM_LOOKUP_ERROR = "Error while confirming Bloom filter candidates";
+
+    private static final ValidationException NOT_SORTED = new ValidationException(
+            "Collections are not sorted by the comparator");
+
     private CollectionUtils() throws DataException
     {
         throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
                 HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Returns the elements of {@param collectionOne} minus those of {@param collectionTwo} with
+     * {@link SubtractSemanticsEnum#MULTISET} semantics, in the order of {@param collectionOne}. Gives the same result
+     * as {@link org.apache.commons.collections4.CollectionUtils#subtract(Iterable, Iterable)}.
+     */
     public static <T> Collection<T> subtractCollection( Collection<T> collectionOne, Collection<T> collectionTwo )
     {
-        return org.apache.commons.collections4.CollectionUtils.subtract(collectionOne, collectionTwo);
+        return CollectionDifference.subtract(collectionOne, collectionTwo, SubtractSemanticsEnum.MULTISET);
+    }
+
+    /**
+     * Returns the elements of {@param collectionOne} minus those of {@param collectionTwo}, in the order of
+     * {@param collectionOne}. The inputs are not modified.
+     *
+     * The strategy is picked from the inputs: a small {@param collectionTwo} is scanned, with
+     * {@link SubtractSemanticsEnum#SET} semantics a {@link java.util.Set} is used for lookups as it is and two
+     * {@link java.util.SortedSet}s with the same ordering are merged, otherwise the smaller collection is hashed.
+     *
+     * @param collectionOne
+     *            collection to subtract from
+     * @param collectionTwo
+     *            elements to remove
+     * @param semantics
+     *            whether an element of {@param collectionTwo} removes all equal elements or just one
+     * @return new list of the remaining elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> List<T> subtractCollection( Collection<? extends T> collectionOne, Collection<?> collectionTwo,
+            SubtractSemanticsEnum semantics ) throws DataException
+    {
+        try
+        {
+            checkInputs(collectionOne, collectionTwo, semantics);
+            return CollectionDifference.subtract(collectionOne, collectionTwo, semantics);
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, SUBTRACT_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Removes the elements of {@param collectionTwo} from {@param collectionOne}, keeping the order of the remaining
+     * elements. Picks its strategy like {@link #subtractCollection(Collection, Collection, SubtractSemanticsEnum)}
+     * and modifies the collection through {@link Collection#removeIf}, which compacts an {@link java.util.ArrayList}
+     * in a single pass.
+     *
+     * @param collectionOne
+     *            mutable collection to remove from
+     * @param collectionTwo
+     *            elements to remove
+     * @param semantics
+     *            whether an element of {@param collectionTwo} removes all equal elements or just one
+     * @return number of elements removed
+     * @throws DataException
+     *             If mandatory inputs are empty or {@param collectionOne} cannot be modified
+     */
+    public static int subtractCollectionInPlace( Collection<?> collectionOne, Collection<?> collectionTwo,
+            SubtractSemanticsEnum semantics ) throws DataException
+    {
+        try
+        {
+            checkInputs(collectionOne, collectionTwo, semantics);
+            return CollectionDifference.subtractInPlace(collectionOne, collectionTwo, semantics);
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( UnsupportedOperationException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new ValidationException(UNMODIFIABLE_ERROR, e);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, SUBTRACT_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Subtracts two lists that are both sorted by {@param comparator} by merging them in a single pass, without
+     * hashing. Elements are equal when the comparator returns zero.
+     *
+     * @param sortedOne
+     *            sorted list to subtract from
+     * @param sortedTwo
+     *            sorted elements to remove
+     * @param comparator
+     *            order of both lists, {@code null} for the natural order
+     * @param semantics
+     *            whether an element of {@param sortedTwo} removes all equal elements or just one
+     * @return new sorted list of the remaining elements
+     * @throws DataException
+     *             If mandatory inputs are empty or a list is not sorted
+     */
+    public static <T> List<T> subtractSortedList( List<? extends T> sortedOne, List<? extends T> sortedTwo,
+            Comparator<? super T> comparator, SubtractSemanticsEnum semantics ) throws DataException
+    {
+        try
+        {
+            checkInputs(sortedOne, sortedTwo, semantics);
+            @SuppressWarnings( "unchecked" )
+            Comparator<? super T> order = comparator == null
+                    ? (Comparator<? super T>) Comparator.naturalOrder()
+                    : comparator;
+            List<T> result = CollectionDifference.subtractSorted(sortedOne, sortedTwo, order, semantics, true);
+            if( result == null )
+            {
+                throw NOT_SORTED;
+            }
+            return result;
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while subtracting sorted lists",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Parallel variant of {@link #subtractCollection(Collection, Collection, SubtractSemanticsEnum)} with
+     * {@link SubtractSemanticsEnum#SET} semantics for large inputs. {@param collectionTwo} is indexed in parallel
+     * unless it is a {@link Set}, then {@param collectionOne} is split into chunks that are filtered on
+     * {@param pool}. The result keeps the order of {@param collectionOne}. Inputs with fewer than 65536 elements
+     * together are subtracted in the calling thread.
+     *
+     * @param collectionOne
+     *            collection to subtract from
+     * @param collectionTwo
+     *            elements to remove, a {@link Set} is read by several threads at once
+     * @param pool
+     *            pool to run on, {@code null} for {@link ForkJoinPool#commonPool()}
+     * @return new list of the remaining elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> List<T> subtractCollectionInParallel( Collection<? extends T> collectionOne,
+            Collection<?> collectionTwo, ForkJoinPool pool ) throws DataException
+    {
+        checkInputs(collectionOne, collectionTwo, SubtractSemanticsEnum.SET);
+        return runInParallel(() -> ParallelSetOperations.filter(collectionOne, collectionTwo, false, poolOf(pool)));
+    }
+
+    /**
+     * Parallel intersection, the elements of {@param collectionOne} that are in {@param collectionTwo}, in order and
+     * with duplicates. Runs like {@link #subtractCollectionInParallel(Collection, Collection, ForkJoinPool)}.
+     *
+     * @param collectionOne
+     *            collection to filter
+     * @param collectionTwo
+     *            elements to keep, a {@link Set} is read by several threads at once
+     * @param pool
+     *            pool to run on, {@code null} for {@link ForkJoinPool#commonPool()}
+     * @return new list of the common elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> List<T> intersectCollectionInParallel( Collection<? extends T> collectionOne,
+            Collection<?> collectionTwo, ForkJoinPool pool ) throws DataException
+    {
+        checkInputs(collectionOne, collectionTwo, SubtractSemanticsEnum.SET);
+        return runInParallel(() -> ParallelSetOperations.filter(collectionOne, collectionTwo, true, poolOf(pool)));
+    }
+
+    /**
+     * Parallel union, every distinct element of {@param collectionOne} and {@param collectionTwo} once. With
+     * {@param ordered} the result is deterministic: elements in the order of their first occurrence, those of
+     * {@param collectionOne} first, at the cost of a second pass and a position per distinct element. Without it
+     * the order depends on thread timing.
+     *
+     * @param collectionOne
+     *            first elements
+     * @param collectionTwo
+     *            second elements
+     * @param ordered
+     *            whether the result must be in first-occurrence order
+     * @param pool
+     *            pool to run on, {@code null} for {@link ForkJoinPool#commonPool()}
+     * @return new list of the distinct elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> List<T> unionCollectionInParallel( Collection<? extends T> collectionOne,
+            Collection<? extends T> collectionTwo, boolean ordered, ForkJoinPool pool ) throws DataException
+    {
+        checkInputs(collectionOne, collectionTwo, SubtractSemanticsEnum.SET);
+        return runInParallel(() -> ParallelSetOperations.union(collectionOne, collectionTwo, ordered, poolOf(pool)));
+    }
+
+    /**
+     * Subtracts an exclusion set that only exists as a {@link BloomFilter}, keeping the order and duplicates of
+     * {@param collectionOne}. Values the filter rules out are kept without further work. The others are candidates:
+     * with {@param exactLookup} only the candidates it confirms are removed and the result is exact, without it all
+     * candidates are removed and the result is marked as approximate.
+     *
+     * @param collectionOne
+     *            collection to subtract from
+     * @param excluded
+     *            filter of the elements to remove
+     * @param exactLookup
+     *            exact membership test of the exclusion set, for example a database query, called for candidates
+     *            only, or {@code null} for an approximate result
+     * @return remaining elements with the candidate counts
+     * @throws DataException
+     *             If mandatory inputs are empty or the lookup fails
+     */
+    public static <T> BloomSubtractResult<List<T>> subtractCollectionWithBloomFilter(
+            Collection<? extends T> collectionOne, BloomFilter excluded, Predicate<? super T> exactLookup )
+            throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(collectionOne, BLOOM_FILTER_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(excluded, BLOOM_FILTER_NULL_ERROR);
+        try
+        {
+            List<T> values = new ArrayList<>(collectionOne.size());
+            long candidates = 0;
+            long removed = 0;
+            for( T element : collectionOne )
+            {
+                if( excluded.mightContain(element) )
+                {
+                    candidates++;
+                    if( exactLookup == null || exactLookup.test(element) )
+                    {
+                        removed++;
+                        continue;
+                    }
+                }
+                values.add(element);
+            }
+            return new BloomSubtractResult<>(values, exactLookup != null, candidates, removed,
+                    excluded.getExpectedFalsePositiveRate());
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, BLOOM_LOOKUP_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Primitive variant of {@link #subtractCollectionWithBloomFilter(Collection, BloomFilter, Predicate)} for ids
+     *
+     * @param one
+     *            ids to subtract from
+     * @param excluded
+     *            filter of the ids to remove
+     * @param exactLookup
+     *            exact membership test of the excluded ids, called for candidates only, or {@code null} for an
+     *            approximate result
+     * @return remaining ids with the candidate counts
+     * @throws DataException
+     *             If mandatory inputs are empty or the lookup fails
+     */
+    public static BloomSubtractResult<long[]> subtractArrayWithBloomFilter( long[] one, BloomFilter excluded,
+            LongPredicate exactLookup ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(one, BLOOM_FILTER_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(excluded, BLOOM_FILTER_NULL_ERROR);
+        try
+        {
+            long[] values = new long[one.length];
+            int size = 0;
+            long candidates = 0;
+            for( long value : one )
+            {
+                if( excluded.mightContain(value) )
+                {
+                    candidates++;
+                    if( exactLookup == null || exactLookup.test(value) )
+                    {
+                        continue;
+                    }
+                }
+                values[size++] = value;
+            }
+            return new BloomSubtractResult<>(Arrays.copyOf(values, size), exactLookup != null, candidates,
+                    one.length - size, excluded.getExpectedFalsePositiveRate());
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, BLOOM_LOOKUP_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Returns the values of {@param one} that are not in {@param two}, in the order of {@param one} and with its
+     * duplicates, like {@link java.util.Collection#removeAll}. Only {@param two} is hashed, into a
+     * {@link LongHashSet}, so ids are never boxed.
+     *
+     * @param one
+     *            values to subtract from
+     * @param two
+     *            values to remove
+     * @return new array of the remaining values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long[] subtractArray( long[] one, long[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.filter(one, LongHashSet.of(two), false);
+    }
+
+    /**
+     * Same as {@link #subtractArray(long[], long[])} with the values to remove already in a set, which can be reused
+     * across calls
+     *
+     * @param one
+     *            values to subtract from
+     * @param excluded
+     *            values to remove
+     * @return new array of the remaining values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long[] subtractArray( long[] one, LongHashSet excluded ) throws DataException
+    {
+        checkArrays(one, excluded);
+        return PrimitiveSetOperations.filter(one, excluded, false);
+    }
+
+    /**
+     * Returns the values of {@param one} that are also in {@param two}, in the order of {@param one} and with its
+     * duplicates, like {@link java.util.Collection#retainAll}
+     *
+     * @param one
+     *            values to filter
+     * @param two
+     *            values to keep
+     * @return new array of the common values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long[] intersectArray( long[] one, long[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.filter(one, LongHashSet.of(two), true);
+    }
+
+    /**
+     * Same as {@link #intersectArray(long[], long[])} with the values to keep already in a set
+     *
+     * @param one
+     *            values to filter
+     * @param included
+     *            values to keep
+     * @return new array of the common values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long[] intersectArray( long[] one, LongHashSet included ) throws DataException
+    {
+        checkArrays(one, included);
+        return PrimitiveSetOperations.filter(one, included, true);
+    }
+
+    /**
+     * Returns the distinct values of both arrays, those of {@param one} first, each in the order in which it first
+     * appears
+     *
+     * @param one
+     *            first values
+     * @param two
+     *            second values
+     * @return new array of the distinct values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long[] unionArray( long[] one, long[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.union(one, two);
+    }
+
+    /**
+     * Returns the distinct values that are in exactly one of the arrays, those of {@param one} first, each in the
+     * order in which it first appears
+     *
+     * @param one
+     *            first values
+     * @param two
+     *            second values
+     * @return new array of the values in only one array
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long[] symmetricDifferenceArray( long[] one, long[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.symmetricDifference(one, two);
+    }
+
+    /**
+     * Int variant of {@link #subtractArray(long[], long[])}
+     *
+     * @param one
+     *            values to subtract from
+     * @param two
+     *            values to remove
+     * @return new array of the remaining values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static int[] subtractArray( int[] one, int[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.filter(one, IntHashSet.of(two), false);
+    }
+
+    /**
+     * Int variant of {@link #subtractArray(long[], LongHashSet)}
+     *
+     * @param one
+     *            values to subtract from
+     * @param excluded
+     *            values to remove
+     * @return new array of the remaining values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static int[] subtractArray( int[] one, IntHashSet excluded ) throws DataException
+    {
+        checkArrays(one, excluded);
+        return PrimitiveSetOperations.filter(one, excluded, false);
+    }
+
+    /**
+     * Int variant of {@link #intersectArray(long[], long[])}
+     *
+     * @param one
+     *            values to filter
+     * @param two
+     *            values to keep
+     * @return new array of the common values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static int[] intersectArray( int[] one, int[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.filter(one, IntHashSet.of(two), true);
+    }
+
+    /**
+     * Int variant of {@link #intersectArray(long[], LongHashSet)}
+     *
+     * @param one
+     *            values to filter
+     * @param included
+     *            values to keep
+     * @return new array of the common values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static int[] intersectArray( int[] one, IntHashSet included ) throws DataException
+    {
+        checkArrays(one, included);
+        return PrimitiveSetOperations.filter(one, included, true);
+    }
+
+    /**
+     * Int variant of {@link #unionArray(long[], long[])}
+     *
+     * @param one
+     *            first values
+     * @param two
+     *            second values
+     * @return new array of the distinct values
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static int[] unionArray( int[] one, int[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.union(one, two);
+    }
+
+    /**
+     * Int variant of {@link #symmetricDifferenceArray(long[], long[])}
+     *
+     * @param one
+     *            first values
+     * @param two
+     *            second values
+     * @return new array of the values in only one array
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static int[] symmetricDifferenceArray( int[] one, int[] two ) throws DataException
+    {
+        checkArrays(one, two);
+        return PrimitiveSetOperations.symmetricDifference(one, two);
+    }
+
+    /**
+     * Unboxes a collection of ids for the array operations of this class, in iteration order
+     *
+     * @param values
+     *            ids without null elements
+     * @return new array of the ids
+     * @throws DataException
+     *             If the collection is missing or contains null
+     */
+    public static long[] toLongArray( Collection<Long> values ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(values, ARRAY_NULL_ERROR);
+        long[] array = new long[values.size()];
+        int position = 0;
+        for( Long value : values )
+        {
+            if( value == null )
+            {
+                throw new ValidationException(NULL_ELEMENT_ERROR);
+            }
+            array[position++] = value;
+        }
+        return array;
+    }
+
+    /**
+     * Int variant of {@link #toLongArray(Collection)}
+     *
+     * @param values
+     *            ids without null elements
+     * @return new array of the ids
+     * @throws DataException
+     *             If the collection is missing or contains null
+     */
+    public static int[] toIntArray( Collection<Integer> values ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(values, ARRAY_NULL_ERROR);
+        int[] array = new int[values.size()];
+        int position = 0;
+        for( Integer value : values )
+        {
+            if( value == null )
+            {
+                throw new ValidationException(NULL_ELEMENT_ERROR);
+            }
+            array[position++] = value;
+        }
+        return array;
+    }
+
+    /**
+     * Builds a {@link CompressedBitmap} of ids, for collections of dense ids whose set operations are repeated or
+     * whose sets are cached. Longs are accepted as long as they fit an int, the set is converted back with
+     * {@link CompressedBitmap#toList()}.
+     *
+     * @param values
+     *            integral ids without null elements
+     * @return new set of the distinct ids
+     * @throws DataException
+     *             If the collection is missing, contains null or a value that is not an int
+     */
+    public static CompressedBitmap toCompressedBitmap( Collection<? extends Number> values ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(values, ARRAY_NULL_ERROR);
+        int[] ids = new int[values.size()];
+        int position = 0;
+        for( Number value : values )
+        {
+            if( value == null )
+            {
+                throw new ValidationException(NULL_ELEMENT_ERROR);
+            }
+            boolean integral = value instanceof Integer || value instanceof Long || value instanceof Short
+                    || value instanceof Byte;
+            if( !integral || value.longValue() != value.intValue() )
+            {
+                throw new ValidationException(INT_ID_ERROR);
+            }
+            ids[position++] = value.intValue();
+        }
+        return CompressedBitmap.of(ids);
+    }
+
+    /**
+     * Lazily removes the elements of {@param excluded} from {@param source}. Only {@param excluded} is indexed, when
+     * this method is called, and the source is filtered as it is consumed, so memory follows the excluded elements
+     * and not the data. Duplicates in the source are kept and a parallel source stays parallel.
+     *
+     * A {@link Set} is used for lookups as it is and must not be modified until the stream is consumed, any other
+     * collection is copied.
+     *
+     * @param source
+     *            elements to filter, for example rows of a cursor
+     * @param excluded
+     *            elements to remove
+     * @return stream of the remaining elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> Stream<T> subtractStream( Stream<T> source, Collection<?> excluded ) throws DataException
+    {
+        return source(source, excluded).filter(CollectionDifference.membership(excluded).negate());
+    }
+
+    /**
+     * Lazily keeps the elements of {@param source} that are in {@param included}, indexing only {@param included}
+     * like {@link #subtractStream(Stream, Collection)}
+     *
+     * @param source
+     *            elements to filter
+     * @param included
+     *            elements to keep
+     * @return stream of the common elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> Stream<T> intersectStream( Stream<T> source, Collection<?> included ) throws DataException
+    {
+        return source(source, included).filter(CollectionDifference.membership(included));
+    }
+
+    /**
+     * Primitive variant of {@link #subtractStream(Stream, Collection)} for ids. The set must not be modified until
+     * the stream is consumed.
+     *
+     * @param source
+     *            ids to filter
+     * @param excluded
+     *            ids to remove
+     * @return stream of the remaining ids
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static LongStream subtractStream( LongStream source, LongHashSet excluded ) throws DataException
+    {
+        return source(source, excluded).filter(value -> !excluded.contains(value));
+    }
+
+    /**
+     * Primitive variant of {@link #intersectStream(Stream, Collection)} for ids. The set must not be modified until
+     * the stream is consumed.
+     *
+     * @param source
+     *            ids to filter
+     * @param included
+     *            ids to keep
+     * @return stream of the common ids
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static LongStream intersectStream( LongStream source, LongHashSet included ) throws DataException
+    {
+        return source(source, included).filter(included::contains);
+    }
+
+    /**
+     * Iterator variant of {@link #subtractStream(Stream, Collection)}, reading {@param source} one element ahead of
+     * the caller at most
+     *
+     * @param source
+     *            elements to filter
+     * @param excluded
+     *            elements to remove
+     * @return iterator over the remaining elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> Iterator<T> subtractIterator( Iterator<T> source, Collection<?> excluded ) throws DataException
+    {
+        source(source, excluded);
+        return Spliterators.iterator(
+                subtractSpliterator(Spliterators.spliteratorUnknownSize(source, Spliterator.ORDERED), excluded));
+    }
+
+    /**
+     * Iterator variant of {@link #intersectStream(Stream, Collection)}
+     *
+     * @param source
+     *            elements to filter
+     * @param included
+     *            elements to keep
+     * @return iterator over the common elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> Iterator<T> intersectIterator( Iterator<T> source, Collection<?> included ) throws DataException
+    {
+        source(source, included);
+        return Spliterators.iterator(
+                intersectSpliterator(Spliterators.spliteratorUnknownSize(source, Spliterator.ORDERED), included));
+    }
+
+    /**
+     * Spliterator variant of {@link #subtractStream(Stream, Collection)}. The result splits whenever
+     * {@param source} splits, so {@link java.util.stream.StreamSupport#stream(Spliterator, boolean)} can consume it
+     * in parallel.
+     *
+     * @param source
+     *            elements to filter
+     * @param excluded
+     *            elements to remove
+     * @return spliterator over the remaining elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> Spliterator<T> subtractSpliterator( Spliterator<T> source, Collection<?> excluded )
+            throws DataException
+    {
+        return new FilteringSpliterator<>(source(source, excluded),
+                CollectionDifference.membership(excluded).negate());
+    }
+
+    /**
+     * Spliterator variant of {@link #intersectStream(Stream, Collection)}
+     *
+     * @param source
+     *            elements to filter
+     * @param included
+     *            elements to keep
+     * @return spliterator over the common elements
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static <T> Spliterator<T> intersectSpliterator( Spliterator<T> source, Collection<?> included )
+            throws DataException
+    {
+        return new FilteringSpliterator<>(source(source, included), CollectionDifference.membership(included));
+    }
+
+    private static void checkInputs( Collection<?> collectionOne, Collection<?> collectionTwo,
+            SubtractSemanticsEnum semantics ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(collectionOne, COLLECTION_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(collectionTwo, COLLECTION_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(semantics, SEMANTICS_NULL_ERROR);
+    }
+
+    private static void checkArrays( Object one, Object two ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(one, ARRAY_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(two, ARRAY_NULL_ERROR);
+    }
+
+    private static <S> S source( S source, Object matched ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(source, SOURCE_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(matched, SOURCE_NULL_ERROR);
+        return source;
+    }
+
+    private static ForkJoinPool poolOf( ForkJoinPool pool )
+    {
+        return pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    private static <T> List<T> runInParallel( Supplier<List<T>> operation ) throws DataException
+    {
+        try
+        {
+            return operation.get();
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while combining collections in parallel",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
     }
 }
@@ -0,0 +1,162 @@
+package com.highpeaksw.utils;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.enums.DateFormatPatternEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Formatter for the {@link DateFormatPatternEnum} patterns that writes into a caller's {@link Appendable} or byte
+ * array instead of returning a String. Month names are taken once from the formatter of each pattern, so the output
+ * is the same as {@link LocalDate#format(DateTimeFormatter)} with {@link DateFormatPatternEnum#getFormatter()}.
+ *
+ * Years 0001 to 9999 are written digit by digit. Other years, which the formatters print with a sign or as a year of
+ * era, are formatted by the formatter and then copied.
+ */
+final class DateTextFormatter {
+
+    private static final String[][] MONTH_NAMES = new String[DateFormatPatternEnum.values().length][];
+
+    private static final byte[][][] MONTH_NAME_BYTES = new byte[DateFormatPatternEnum.values().length][][];
+
+    static
+    {
+        for( DateFormatPatternEnum pattern : DateFormatPatternEnum.values() )
+        {
+            String[] names = monthNames(pattern.getFormatter().getLocale());
+            MONTH_NAMES[pattern.ordinal()] = names;
+            MONTH_NAME_BYTES[pattern.ordinal()] = new byte[names.length][];
+            for( int i = 0; i < names.length; i++ )
+            {
+                MONTH_NAME_BYTES[pattern.ordinal()][i] = names[i].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private DateTextFormatter() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Short month names, January first, as the MMM field of a formatter in {@param locale} prints them
+     */
+    static String[] monthNames( Locale locale )
+    {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM", locale);
+        String[] names = new String[12];
+        for( Month month : Month.values() )
+        {
+            names[month.ordinal()] = formatter.format(LocalDate.of(2000, month, 1));
+        }
+        return names;
+    }
+
+    /**
+     * Appends {@param date} in {@param pattern} to {@param target}. A {@link CharBuffer} is checked for room before
+     * anything is written.
+     *
+     * @throws BufferOverflowException
+     *             if {@param target} is a {@link CharBuffer} without room for the date
+     */
+    static void append( Appendable target, LocalDate date, DateFormatPatternEnum pattern ) throws IOException
+    {
+        int year = date.getYear();
+        if( !isPlainYear(year) )
+        {
+            String text = date.format(pattern.getFormatter());
+            checkRemaining(target, text.length());
+            target.append(text);
+            return;
+        }
+        String monthName = MONTH_NAMES[pattern.ordinal()][date.getMonthValue() - 1];
+        boolean fullYear = pattern != DateFormatPatternEnum.DD_MMM_YY;
+        checkRemaining(target, 4 + monthName.length() + (fullYear ? 4 : 2));
+        appendTwoDigits(target, date.getDayOfMonth());
+        target.append('-').append(monthName).append('-');
+        if( fullYear )
+        {
+            appendTwoDigits(target, year / 100);
+        }
+        appendTwoDigits(target, year % 100);
+    }
+
+    /**
+     * Writes {@param date} in {@param pattern} as UTF-8 into {@param target} from {@param offset}, which is ASCII
+     * unless the month names of the locale are not
+     *
+     * @return number of bytes written
+     * @throws BufferOverflowException
+     *             if the date does not fit, nothing is written then
+     */
+    static int write( byte[] target, int offset, LocalDate date, DateFormatPatternEnum pattern )
+    {
+        int year = date.getYear();
+        if( !isPlainYear(year) )
+        {
+            byte[] text = date.format(pattern.getFormatter()).getBytes(StandardCharsets.UTF_8);
+            checkRemaining(target, offset, text.length);
+            System.arraycopy(text, 0, target, offset, text.length);
+            return text.length;
+        }
+        byte[] monthName = MONTH_NAME_BYTES[pattern.ordinal()][date.getMonthValue() - 1];
+        boolean fullYear = pattern != DateFormatPatternEnum.DD_MMM_YY;
+        int length = 4 + monthName.length + (fullYear ? 4 : 2);
+        checkRemaining(target, offset, length);
+        int position = writeTwoDigits(target, offset, date.getDayOfMonth());
+        target[position++] = '-';
+        System.arraycopy(monthName, 0, target, position, monthName.length);
+        position += monthName.length;
+        target[position++] = '-';
+        if( fullYear )
+        {
+            position = writeTwoDigits(target, position, year / 100);
+        }
+        writeTwoDigits(target, position, year % 100);
+        return length;
+    }
+
+    private static boolean isPlainYear( int year )
+    {
+        return year >= 1 && year <= 9999;
+    }
+
+    private static void appendTwoDigits( Appendable target, int value ) throws IOException
+    {
+        target.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static int writeTwoDigits( byte[] target, int position, int value )
+    {
+        target[position] = (byte) ('0' + value / 10);
+        target[position + 1] = (byte) ('0' + value % 10);
+        return position + 2;
+    }
+
+    private static void checkRemaining( Appendable target, int length )
+    {
+        if( target instanceof CharBuffer buffer && buffer.remaining() < length )
+        {
+            throw new BufferOverflowException();
+        }
+    }
+
+    private static void checkRemaining( byte[] target, int offset, int length )
+    {
+        if( length > target.length - offset )
+        {
+            throw new BufferOverflowException();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.highpeaksw.utils;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.enums.DateFormatPatternEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Parser for the fixed width date formats of {@link DateUtilV2}, dd-MM-yyyy and the {@link DateFormatPatternEnum}
+ * patterns, reading straight from a {@link CharSequence} or a byte range and returning the epoch day.
+ *
+ * The parser only accepts the plain form of each format: two digit day, month number or month name of the
+ * formatter's locale, and a four digit year from 0001, or a two digit year for dd-MMM-yy. Everything else, valid or
+ * not, returns {@link #UNPARSED} so that the caller hands it to the formatter, which keeps the results identical to
+ * {@link DateTimeFormatter}. Like the formatters, which resolve in {@link java.time.format.ResolverStyle#SMART}
+ * mode, a day past the end of the month is moved back to the last day of the month.
+ */
+final class DateTextParser {
+
+    /**
+     * Returned when the input is not in the plain form of the format and has to be parsed by the formatter
+     */
+    static final long UNPARSED = Long.MIN_VALUE;
+
+    private static final int DAY_MONTH_YEAR_LENGTH = 10;
+
+    private static final int REDUCED_YEAR_BASE = 2000;
+
+    private static final char[][][] MONTH_NAMES = new char[DateFormatPatternEnum.values().length][][];
+
+    static
+    {
+        for( DateFormatPatternEnum pattern : DateFormatPatternEnum.values() )
+        {
+            MONTH_NAMES[pattern.ordinal()] = monthNames(pattern.getFormatter().getLocale());
+        }
+    }
+
+    private DateTextParser() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Parses dd-MM-yyyy from {@param length} chars of {@param text} starting at {@param offset}
+     *
+     * @return epoch day, or {@link #UNPARSED}
+     */
+    static long parseDayMonthYear( CharSequence text, int offset, int length )
+    {
+        if( length != DAY_MONTH_YEAR_LENGTH || text.charAt(offset + 2) != '-' || text.charAt(offset + 5) != '-' )
+        {
+            return UNPARSED;
+        }
+        return toEpochDay(fourDigits(text, offset + 6), twoDigits(text, offset + 3), twoDigits(text, offset));
+    }
+
+    /**
+     * Parses dd-MM-yyyy from {@param length} ASCII bytes of {@param bytes} starting at {@param offset}
+     *
+     * @return epoch day, or {@link #UNPARSED}
+     */
+    static long parseDayMonthYear( byte[] bytes, int offset, int length )
+    {
+        if( length != DAY_MONTH_YEAR_LENGTH || bytes[offset + 2] != '-' || bytes[offset + 5] != '-' )
+        {
+            return UNPARSED;
+        }
+        return toEpochDay(fourDigits(bytes, offset + 6), twoDigits(bytes, offset + 3), twoDigits(bytes, offset));
+    }
+
+    /**
+     * Parses {@param pattern} from {@param length} chars of {@param text} starting at {@param offset}
+     *
+     * @return epoch day, or {@link #UNPARSED}
+     */
+    static long parse( CharSequence text, int offset, int length, DateFormatPatternEnum pattern )
+    {
+        int end = offset + length;
+        if( length < 7 || text.charAt(offset + 2) != '-' )
+        {
+            return UNPARSED;
+        }
+        char[][] names = MONTH_NAMES[pattern.ordinal()];
+        int month = matchMonth(text, offset + 3, end, names);
+        if( month < 1 )
+        {
+            return UNPARSED;
+        }
+        int yearStart = offset + 3 + names[month - 1].length + 1;
+        if( text.charAt(yearStart - 1) != '-' )
+        {
+            return UNPARSED;
+        }
+        long year;
+        if( pattern == DateFormatPatternEnum.DD_MMM_YY )
+        {
+            year = end - yearStart == 2 ? reducedYear(twoDigits(text, yearStart)) : -1;
+        }
+        else
+        {
+            year = end - yearStart == 4 ? fourDigits(text, yearStart) : -1;
+        }
+        return toEpochDay(year, month, twoDigits(text, offset));
+    }
+
+    /**
+     * Parses {@param pattern} from {@param length} bytes of {@param bytes} starting at {@param offset}. Only month
+     * names written in ASCII are recognised.
+     *
+     * @return epoch day, or {@link #UNPARSED}
+     */
+    static long parse( byte[] bytes, int offset, int length, DateFormatPatternEnum pattern )
+    {
+        int end = offset + length;
+        if( length < 7 || bytes[offset + 2] != '-' )
+        {
+            return UNPARSED;
+        }
+        char[][] names = MONTH_NAMES[pattern.ordinal()];
+        int month = matchMonth(bytes, offset + 3, end, names);
+        if( month < 1 )
+        {
+            return UNPARSED;
+        }
+        int yearStart = offset + 3 + names[month - 1].length + 1;
+        if( bytes[yearStart - 1] != '-' )
+        {
+            return UNPARSED;
+        }
+        long year;
+        if( pattern == DateFormatPatternEnum.DD_MMM_YY )
+        {
+            year = end - yearStart == 2 ? reducedYear(twoDigits(bytes, yearStart)) : -1;
+        }
+        else
+        {
+            year = end - yearStart == 4 ? fourDigits(bytes, yearStart) : -1;
+        }
+        return toEpochDay(year, month, twoDigits(bytes, offset));
+    }
+
+    private static long reducedYear( int twoDigitYear )
+    {
+        return twoDigitYear < 0 ? -1 : REDUCED_YEAR_BASE + twoDigitYear;
+    }
+
+    /**
+     * Epoch day of a date with a day between 1 and 31, moved back to the end of shorter months, or {@link #UNPARSED}
+     * when a field is out of range
+     */
+    private static long toEpochDay( long year, int month, int day )
+    {
+        if( year < 1 || month < 1 || month > 12 || day < 1 || day > 31 )
+        {
+            return UNPARSED;
+        }
+        return EpochDayMath.toEpochDay(year, month, Math.min(day, EpochDayMath.lengthOfMonth(year, month)));
+    }
+
+    private static int matchMonth( CharSequence text, int start, int end, char[][] names )
+    {
+        for( int month = 0; month < names.length; month++ )
+        {
+            char[] name = names[month];
+            if( start + name.length < end && regionMatches(text, start, name) )
+            {
+                return month + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int matchMonth( byte[] bytes, int start, int end, char[][] names )
+    {
+        for( int month = 0; month < names.length; month++ )
+        {
+            char[] name = names[month];
+            if( start + name.length < end && regionMatches(bytes, start, name) )
+            {
+                return month + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches( CharSequence text, int start, char[] name )
+    {
+        for( int i = 0; i < name.length; i++ )
+        {
+            if( text.charAt(start + i) != name[i] )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionMatches( byte[] bytes, int start, char[] name )
+    {
+        for( int i = 0; i < name.length; i++ )
+        {
+            if( bytes[start + i] != name[i] )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int twoDigits( CharSequence text, int index )
+    {
+        return digits(text.charAt(index), text.charAt(index + 1));
+    }
+
+    private static int twoDigits( byte[] bytes, int index )
+    {
+        return digits((char) bytes[index], (char) bytes[index + 1]);
+    }
+
+    private static int fourDigits( CharSequence text, int index )
+    {
+        int high = digits(text.charAt(index), text.charAt(index + 1));
+        int low = digits(text.charAt(index + 2), text.charAt(index + 3));
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    private static int fourDigits( byte[] bytes, int index )
+    {
+        int high = digits((char) bytes[index], (char) bytes[index + 1]);
+        int low = digits((char) bytes[index + 2], (char) bytes[index + 3]);
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    private static int digits( char tens, char units )
+    {
+        if( tens < '0' || tens > '9' || units < '0' || units > '9' )
+        {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    /**
+     * Month names of {@link DateTextFormatter} for {@param locale}. When one name starts with another the
+     * formatter's longest match cannot be reproduced by a first match, so no names are returned and the month name
+     * formats always go through the formatter.
+     */
+    private static char[][] monthNames( Locale locale )
+    {
+        String[] names = DateTextFormatter.monthNames(locale);
+        for( String name : names )
+        {
+            if( name.isEmpty() || name.indexOf('-') >= 0 )
+            {
+                return new char[0][];
+            }
+            for( String other : names )
+            {
+                if( name != other && other.startsWith(name) )
+                {
+                    return new char[0][];
+                }
+            }
+        }
+        char[][] chars = new char[names.length][];
+        for( int i = 0; i < names.length; i++ )
+        {
+            chars[i] = names[i].toCharArray();
+        }
+        return chars;
+    }
+}
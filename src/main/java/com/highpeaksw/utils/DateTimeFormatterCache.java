@@ -0,0 +1,125 @@
+package com.highpeaksw.utils;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of {@link DateTimeFormatter}s keyed by pattern and locale, so that formatting with a
+ * caller-supplied pattern does not compile the pattern on every call.
+ *
+ * Lookups of cached formatters are lock-free. Once {@code maximumSize} formatters are cached, arbitrary entries are
+ * evicted to make room. The cache is meant for the handful of patterns an application uses, so with a reasonable
+ * size eviction only happens when patterns are built from untrusted input.
+ */
+public class DateTimeFormatterCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 128;
+
+    private final int maximumSize;
+
+    private final ConcurrentHashMap<FormatterKey, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public DateTimeFormatterCache()
+    {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public DateTimeFormatterCache( int maximumSize )
+    {
+        if( maximumSize < 1 )
+        {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the formatter for {@param pattern} in the default format locale, like
+     * {@link DateTimeFormatter#ofPattern(String)}
+     *
+     * @param pattern
+     *            pattern as documented by {@link DateTimeFormatter}
+     * @return cached formatter
+     * @throws IllegalArgumentException
+     *             if the pattern is invalid
+     */
+    public DateTimeFormatter get( String pattern )
+    {
+        return get(pattern, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Returns the formatter for {@param pattern} in {@param locale}, building and caching it on first use
+     *
+     * @param pattern
+     *            pattern as documented by {@link DateTimeFormatter}
+     * @param locale
+     *            locale used for text fields such as month names
+     * @return cached formatter
+     * @throws IllegalArgumentException
+     *             if the pattern is invalid
+     */
+    public DateTimeFormatter get( String pattern, Locale locale )
+    {
+        FormatterKey key = new FormatterKey(pattern, locale);
+        DateTimeFormatter formatter = formatters.get(key);
+        if( formatter != null )
+        {
+            hitCount.increment();
+            return formatter;
+        }
+        missCount.increment();
+        formatter = DateTimeFormatter.ofPattern(pattern, locale);
+        evictIfFull();
+        DateTimeFormatter cached = formatters.putIfAbsent(key, formatter);
+        return cached != null ? cached : formatter;
+    }
+
+    public void invalidateAll()
+    {
+        formatters.clear();
+    }
+
+    public int size()
+    {
+        return formatters.size();
+    }
+
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount.sum();
+    }
+
+    private void evictIfFull()
+    {
+        Iterator<FormatterKey> keys = formatters.keySet().iterator();
+        while( formatters.size() >= maximumSize && keys.hasNext() )
+        {
+            keys.next();
+            keys.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private record FormatterKey(String pattern, Locale locale) {
+    }
+}
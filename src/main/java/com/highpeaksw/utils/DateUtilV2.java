@@ -2,14 +2,19 @@ package com.highpeaksw.utils;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 
+import java.nio.BufferOverflowException;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 import org.springframework.http.HttpStatus;
 
 import com.highpeaksw.utils.constants.GeneralConstants;
 import com.highpeaksw.utils.enums.DateFormatPatternEnum;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
+import com.highpeaksw.utils.result.OperationResult;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,10 +33,49 @@ public class DateUtilV2 {
 
     private static final String DD_MM_YYYY = "dd-MM-yyyy";
 
+    private static final DateTimeFormatter DD_MM_YYYY_FORMATTER = DateTimeFormatter.ofPattern(DD_MM_YYYY);
+
+    private static final DateTimeFormatterCache FORMATTER_CACHE = new DateTimeFormatterCache();
+
+    private static final ZoneOffsetCache OFFSET_CACHE = new ZoneOffsetCache();
+
+    private static volatile Clock clock = Clock.systemUTC();
+
     private static final String START_DATE_NULL_ERROR = "Start date is required";
 
     private static final String START_DATE_TIME_NULL_ERROR = "Start date time is required";
 
+    private static final String INPUT_STRING_NULL_ERROR = "Input string is required";
+
+    private static final String DATE_PATTERN_NULL_ERROR = "Date format pattern is required";
+
+    private static final String OUTPUT_MISSING_ERROR = "Output is required";
+
+    private static final String OUTPUT_TOO_SMALL_ERROR = "Output is too small for the date";
+
+    private static final String ZONE_ID_ERROR = "Error while fetching zone id from short zone id";
+
+    private static final ValidationException DATE_OUT_OF_RANGE = new ValidationException(
+            "Date is outside the supported range");
+
+    private static final OperationResult<ZoneId> SHORT_ZONE_ID_REQUIRED_RESULT = OperationResult
+            .failure("Short zone ID is required", HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<ZoneId> UNKNOWN_SHORT_ZONE_ID_RESULT = OperationResult
+            .failure(ZONE_ID_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private static final OperationResult<LocalDate> INPUT_DATE_REQUIRED_RESULT = OperationResult
+            .failure(INPUT_STRING_NULL_ERROR, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<LocalDate> INVALID_DATE_RESULT = OperationResult
+            .failure("Error fetching date from a string", HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private static final OperationResult<Long> START_DATE_REQUIRED_RESULT = OperationResult
+            .failure(START_DATE_NULL_ERROR, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<Long> END_DATE_REQUIRED_RESULT = OperationResult
+            .failure("End date is required", HttpStatus.BAD_REQUEST);
+
     private DateUtilV2() throws DataException
     {
         throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
@@ -40,6 +84,8 @@ public class DateUtilV2 {
 
     /**
      * This method take the short Zone id as input and returns {@link ZoneId} instance for the same.
+     * Full region ids such as Asia/Kolkata and offsets such as +05:30 are accepted as well. Ids are resolved
+     * from a table built once, so a call costs a single hash lookup.
      *
      * @param shortZoneId
      *            Short zone id. {@link ZoneId#SHORT_IDS}
@@ -50,8 +96,12 @@ public class DateUtilV2 {
         try
         {
             NullEmptyUtils.throwExceptionIfInputIsNull(shortZoneId, "Short zone ID is required");
-            return (shortZoneId.equals("UTC") || shortZoneId.equals("GMT")) ? ZoneId.of("UTC")
-                    : ZoneId.of(ZoneId.SHORT_IDS.get(shortZoneId));
+            ZoneId zoneId = ZoneIdTable.resolve(shortZoneId);
+            if( zoneId == null )
+            {
+                throw new DataException(GeneralConstants.EXCEPTION, ZONE_ID_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            return zoneId;
         }
         catch( DataException e )
         {
@@ -61,8 +111,7 @@ public class DateUtilV2 {
         catch( Exception e )
         {
             log.error(GeneralConstants.ERROR, e);
-            throw new DataException(GeneralConstants.EXCEPTION, "Error while fetching zone id from short zone id",
-                    HttpStatus.INTERNAL_SERVER_ERROR);
+            throw new DataException(GeneralConstants.EXCEPTION, ZONE_ID_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
     }
@@ -72,13 +121,15 @@ public class DateUtilV2 {
      * zone as the parameter to do the conversion. For example, if the server is in IST, this method
      * returns the LocalDateTime in UTC by reducing the offset of 5 hour and 30 minutes
      *
+     * The time is read from the clock set with {@link #setClock(Clock)}, the system clock by default.
+     *
      * @return {@link LocalDateTime} in UTC/GMT
      */
     public static LocalDateTime getCurrentUTCLocalDateTimeInUTCOffsetBySystemTimeZone() throws DataException
     {
         try
         {
-            return LocalDateTime.now(ZoneOffset.UTC);
+            return nowInUtc();
         }
         catch( Exception e )
         {
@@ -105,7 +156,7 @@ public class DateUtilV2 {
     {
         try
         {
-            milliseconds = NullEmptyUtils.isNullOrEmpty(milliseconds) ? System.currentTimeMillis() : milliseconds;
+            milliseconds = NullEmptyUtils.isNullOrEmpty(milliseconds) ? clock.millis() : milliseconds;
             return LocalDateTime.ofInstant(Instant.ofEpochMilli(milliseconds), ZoneOffset.UTC);
         }
         catch( Exception e )
@@ -122,7 +173,8 @@ public class DateUtilV2 {
      * as IST and {@param timeRequiredInZoneShortId} as PST, the method converts DateTime in IST to
      * DateTime in PST and returns the {@link LocalDateTime} instance {@link LocalDateTime}.
      *
-     * NOTE: If {@param milliseconds} is null or empty, current time of the server will be used
+     * NOTE: If {@param milliseconds} is null or empty, current time of the clock set with {@link #setClock(Clock)}
+     * will be used, the system clock by default
      *
      * @param milliseconds
      *            Time of the day in milliseconds
@@ -147,12 +199,167 @@ public class DateUtilV2 {
             NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(timeRequiredInZoneShortId,
                     "Required zone id is required");
 
-            milliseconds = NullEmptyUtils.isNullOrEmpty(milliseconds) ? System.currentTimeMillis() : milliseconds;
+            milliseconds = NullEmptyUtils.isNullOrEmpty(milliseconds) ? clock.millis() : milliseconds;
+
+            ZoneId inputZoneId = getZoneIdFromShortZoneId(inputZoneShortId);
+            ZoneId requiredZoneId = getZoneIdFromShortZoneId(timeRequiredInZoneShortId);
+
+            LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(milliseconds), inputZoneId);
+            return localDateTime.atZone(inputZoneId).withZoneSameInstant(requiredZoneId).toLocalDateTime();
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while converting time zone",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #convertAndGetLocalDateTimeInAZoneForATimeToOtherZone(Long, String, String)} that
+     * writes the local date-times as local epoch milliseconds, the milliseconds since 1970-01-01T00:00 of the
+     * required zone, so that {@code LocalDateTime.ofEpochSecond(floorDiv(value, 1000), floorMod(value, 1000) * 1000000,
+     * ZoneOffset.UTC)} gives the same result as the single value method.
+     *
+     * Both zones are resolved once and their offset periods are taken from {@link #getZoneOffsetCache()}, so
+     * converting an element usually costs a comparison and an addition. Element {@code i} of {@param milliseconds}
+     * is written to element {@code i} of {@param localEpochMillis}, which may be the same array.
+     *
+     * @param milliseconds
+     *            epoch milliseconds to convert
+     * @param inputZoneShortId
+     *            Short Zone Ids of the zone from where the conversion should happen. For Short zone ids
+     *            refer {@link ZoneId#SHORT_IDS}. NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @param timeRequiredInZoneShortId
+     *            Short Zone Ids of the zone to which the conversion should happen. For Short zone ids
+     *            refer {@link ZoneId#SHORT_IDS}. NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @param localEpochMillis
+     *            receives the results, at least as long as {@param milliseconds}
+     * @throws DataException
+     *             If mandatory inputs are empty or the output array is too small
+     */
+    public static void convertEpochMillisToLocalEpochMillisInOtherZone( long[] milliseconds, String inputZoneShortId,
+            String timeRequiredInZoneShortId, long[] localEpochMillis ) throws DataException
+    {
+        convertEpochMillisToOtherZone(milliseconds, inputZoneShortId, timeRequiredInZoneShortId, localEpochMillis,
+                false);
+    }
+
+    /**
+     * Same as {@link #convertEpochMillisToLocalEpochMillisInOtherZone(long[], String, String, long[])} but writes
+     * every local date-time packed as the decimal digits {@code yyyyMMddHHmmssSSS}, for example 2021-11-30T13:30:00.184
+     * becomes 20211130133000184. Packed values sort in date-time order and can be split with plain division.
+     *
+     * @param milliseconds
+     *            epoch milliseconds to convert
+     * @param inputZoneShortId
+     *            Short Zone Ids of the zone from where the conversion should happen. For Short zone ids
+     *            refer {@link ZoneId#SHORT_IDS}. NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @param timeRequiredInZoneShortId
+     *            Short Zone Ids of the zone to which the conversion should happen. For Short zone ids
+     *            refer {@link ZoneId#SHORT_IDS}. NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @param packedDateTimes
+     *            receives the results, at least as long as {@param milliseconds}
+     * @throws DataException
+     *             If mandatory inputs are empty, the output array is too small or a converted year is outside
+     *             0000-9999
+     */
+    public static void convertEpochMillisToPackedDateTimeInOtherZone( long[] milliseconds, String inputZoneShortId,
+            String timeRequiredInZoneShortId, long[] packedDateTimes ) throws DataException
+    {
+        convertEpochMillisToOtherZone(milliseconds, inputZoneShortId, timeRequiredInZoneShortId, packedDateTimes,
+                true);
+    }
+
+    /**
+     * This method returns the local time of {@param milliseconds} in a zone as local epoch milliseconds, the
+     * milliseconds since 1970-01-01T00:00 in that zone. The offset of the zone is taken from
+     * {@link #getZoneOffsetCache()}, so repeated calls for instants in the same offset period cost a single addition.
+     *
+     * @param milliseconds
+     *            epoch milliseconds
+     * @param zoneShortId
+     *            Short Zone Id of the zone of the local time. For Short zone ids refer {@link ZoneId#SHORT_IDS}.
+     *            NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @return local epoch milliseconds in the zone
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long getLocalEpochMillisInZoneFromMilliseconds( long milliseconds, String zoneShortId )
+            throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(zoneShortId, "Zone id is required");
+            return OFFSET_CACHE.toLocalEpochMilli(getZoneIdFromShortZoneId(zoneShortId), milliseconds);
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while converting time zone",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Same as {@link #getLocalEpochMillisInZoneFromMilliseconds(long, String)} but returns the {@link LocalDateTime},
+     * equal to {@code LocalDateTime.ofInstant(Instant.ofEpochMilli(milliseconds), zoneId)}
+     *
+     * @param milliseconds
+     *            epoch milliseconds
+     * @param zoneShortId
+     *            Short Zone Id of the zone of the local time. For Short zone ids refer {@link ZoneId#SHORT_IDS}.
+     *            NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @return {@link LocalDateTime} in the zone
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static LocalDateTime getLocalDateTimeInZoneFromMilliseconds( long milliseconds, String zoneShortId )
+            throws DataException
+    {
+        return toLocalDateTime(getLocalEpochMillisInZoneFromMilliseconds(milliseconds, zoneShortId));
+    }
+
+    /**
+     * Same conversion as {@link #convertAndGetLocalDateTimeInAZoneForATimeToOtherZone(Long, String, String)} with the
+     * result as local epoch milliseconds of the required zone. Offsets of both zones are taken from
+     * {@link #getZoneOffsetCache()} instead of being searched in the zone rules on every call.
+     *
+     * @param milliseconds
+     *            Time of the day in milliseconds
+     * @param inputZoneShortId
+     *            Short Zone Ids of the zone from where the conversion should happen. For Short zone ids
+     *            refer {@link ZoneId#SHORT_IDS}. NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @param timeRequiredInZoneShortId
+     *            Short Zone Ids of the zone to which the conversion should happen. For Short zone ids
+     *            refer {@link ZoneId#SHORT_IDS}. NOTE: For UTC/GMT ZONE. Pass UTC or GMT as input
+     * @return local epoch milliseconds in zone {@param timeRequiredInZoneShortId}
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long convertAndGetLocalEpochMillisInAZoneForATimeToOtherZone( long milliseconds,
+            String inputZoneShortId, String timeRequiredInZoneShortId ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(inputZoneShortId, "Input zone id is required");
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(timeRequiredInZoneShortId,
+                    "Required zone id is required");
+            ZoneId inputZoneId = getZoneIdFromShortZoneId(inputZoneShortId);
+            ZoneId requiredZoneId = getZoneIdFromShortZoneId(timeRequiredInZoneShortId);
 
-            LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(milliseconds),
-                    getZoneIdFromShortZoneId(inputZoneShortId));
-            return localDateTime.atZone(getZoneIdFromShortZoneId(inputZoneShortId))
-                    .withZoneSameInstant(getZoneIdFromShortZoneId(timeRequiredInZoneShortId)).toLocalDateTime();
+            long instant = OFFSET_CACHE.window(inputZoneId, milliseconds).toEarlierOffsetInstant(milliseconds);
+            return OFFSET_CACHE.toLocalEpochMilli(requiredZoneId, instant);
         }
         catch( DataException e )
         {
@@ -438,6 +645,212 @@ public class DateUtilV2 {
         }
     }
 
+    /**
+     * Returns the epoch day, the number of days since 1970-01-01, of {@param localDate}. Together with
+     * {@link #getLocalDateFromEpochDay(long)} this converts between {@link LocalDate} and the primitive date API of
+     * this class, whose methods work on plain longs and neither allocate nor log.
+     *
+     * @param localDate
+     *            date to be converted
+     * @return epoch day of the date
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static long getEpochDayFromLocalDate( LocalDate localDate ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(localDate, "Input date is missing");
+        return localDate.toEpochDay();
+    }
+
+    /**
+     * Returns the {@link LocalDate} of an epoch day
+     *
+     * @param epochDay
+     *            number of days since 1970-01-01
+     * @return {@link LocalDate} of the epoch day
+     * @throws DataException
+     *             If the epoch day is outside the range of {@link LocalDate}
+     */
+    public static LocalDate getLocalDateFromEpochDay( long epochDay ) throws DataException
+    {
+        return LocalDate.ofEpochDay(checkEpochDay(epochDay));
+    }
+
+    /**
+     * Returns the epoch day of epoch milliseconds, rounding down so that every millisecond of a day belongs to it.
+     * Local epoch milliseconds, see {@link #getLocalEpochMillisInZoneFromMilliseconds(long, String)}, give the local
+     * date of the zone.
+     *
+     * @param epochMilli
+     *            UTC or local epoch milliseconds
+     * @return epoch day containing the milliseconds
+     */
+    public static long getEpochDayFromEpochMilli( long epochMilli )
+    {
+        return Math.floorDiv(epochMilli, EpochDayMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * Returns the epoch milliseconds of the start of an epoch day
+     *
+     * @param epochDay
+     *            number of days since 1970-01-01
+     * @return epoch milliseconds at midnight of the day
+     * @throws DataException
+     *             If the milliseconds do not fit in a long
+     */
+    public static long getEpochMilliFromEpochDay( long epochDay ) throws DataException
+    {
+        return multiplyExact(epochDay, EpochDayMath.MILLIS_PER_DAY);
+    }
+
+    /**
+     * Adds {@param numberOfDays} to an epoch day. Unlike
+     * {@link #getFutureLocalDateByNumberOfDays(LocalDate, int)} any number of days is accepted, a negative number
+     * moves the date back.
+     *
+     * @param epochDay
+     *            number of days since 1970-01-01
+     * @param numberOfDays
+     *            number of days to be added
+     * @return epoch day after adding the days
+     * @throws DataException
+     *             If the result is outside the range of {@link LocalDate}
+     */
+    public static long addDaysToEpochDay( long epochDay, long numberOfDays ) throws DataException
+    {
+        return checkEpochDay(addExact(epochDay, numberOfDays));
+    }
+
+    /**
+     * Subtracts {@param numberOfDays} from an epoch day, a negative number moves the date forward
+     *
+     * @param epochDay
+     *            number of days since 1970-01-01
+     * @param numberOfDays
+     *            number of days to be subtracted
+     * @return epoch day after subtracting the days
+     * @throws DataException
+     *             If the result is outside the range of {@link LocalDate}
+     */
+    public static long subtractDaysFromEpochDay( long epochDay, long numberOfDays ) throws DataException
+    {
+        return checkEpochDay(subtractExact(epochDay, numberOfDays));
+    }
+
+    /**
+     * Returns the number of days from {@param epochDayFrom} to {@param epochDayTo}, negative if the second is
+     * earlier, like {@link #getTheNumberOfDaysBetweenTwoLocalDates(LocalDate, LocalDate)}
+     *
+     * @param epochDayFrom
+     *            epoch day from which number of days are to be counted
+     * @param epochDayTo
+     *            epoch day till which number of days are to be counted
+     * @return number of days between the epoch days
+     * @throws DataException
+     *             If an epoch day is outside the range of {@link LocalDate}
+     */
+    public static long getTheNumberOfDaysBetweenTwoEpochDays( long epochDayFrom, long epochDayTo )
+            throws DataException
+    {
+        return checkEpochDay(epochDayTo) - checkEpochDay(epochDayFrom);
+    }
+
+    /**
+     * Returns the epoch day of the first day of the month of {@param epochDay}
+     *
+     * @param epochDay
+     *            number of days since 1970-01-01
+     * @return epoch day of the first day of the month
+     * @throws DataException
+     *             If the epoch day is outside the range of {@link LocalDate}
+     */
+    public static long getStartOfMonthEpochDay( long epochDay ) throws DataException
+    {
+        return EpochDayMath.startOfMonth(checkEpochDay(epochDay));
+    }
+
+    /**
+     * Adds {@param numberOfDays} days of 24 hours to epoch milliseconds, a negative number moves the time back. On
+     * local epoch milliseconds this keeps the time of day.
+     *
+     * @param epochMilli
+     *            UTC or local epoch milliseconds
+     * @param numberOfDays
+     *            number of days to be added
+     * @return epoch milliseconds after adding the days
+     * @throws DataException
+     *             If the result does not fit in a long
+     */
+    public static long addDaysToEpochMilli( long epochMilli, long numberOfDays ) throws DataException
+    {
+        return addExact(epochMilli, multiplyExact(numberOfDays, EpochDayMath.MILLIS_PER_DAY));
+    }
+
+    /**
+     * Subtracts {@param numberOfDays} days of 24 hours from epoch milliseconds, a negative number moves the time
+     * forward
+     *
+     * @param epochMilli
+     *            UTC or local epoch milliseconds
+     * @param numberOfDays
+     *            number of days to be subtracted
+     * @return epoch milliseconds after subtracting the days
+     * @throws DataException
+     *             If the result does not fit in a long
+     */
+    public static long subtractDaysFromEpochMilli( long epochMilli, long numberOfDays ) throws DataException
+    {
+        return subtractExact(epochMilli, multiplyExact(numberOfDays, EpochDayMath.MILLIS_PER_DAY));
+    }
+
+    /**
+     * Returns the number of complete days of 24 hours from {@param epochMilliFrom} to {@param epochMilliTo},
+     * negative if the second is earlier, like {@code ChronoUnit.DAYS.between} on two instants
+     *
+     * @param epochMilliFrom
+     *            epoch milliseconds from which number of days are to be counted
+     * @param epochMilliTo
+     *            epoch milliseconds till which number of days are to be counted
+     * @return number of complete days between the times
+     * @throws DataException
+     *             If the difference does not fit in a long
+     */
+    public static long getTheNumberOfDaysBetweenTwoEpochMillis( long epochMilliFrom, long epochMilliTo )
+            throws DataException
+    {
+        return subtractExact(epochMilliTo, epochMilliFrom) / EpochDayMath.MILLIS_PER_DAY;
+    }
+
+    /**
+     * Returns the epoch milliseconds of midnight at the start of the day of {@param epochMilli}. UTC epoch
+     * milliseconds give the start of the UTC day, local epoch milliseconds the start of the local day.
+     *
+     * @param epochMilli
+     *            UTC or local epoch milliseconds
+     * @return epoch milliseconds at the start of the day
+     * @throws DataException
+     *             If the result does not fit in a long
+     */
+    public static long getStartOfDayEpochMilli( long epochMilli ) throws DataException
+    {
+        return getEpochMilliFromEpochDay(getEpochDayFromEpochMilli(epochMilli));
+    }
+
+    /**
+     * Returns the epoch milliseconds of midnight at the start of the first day of the month of {@param epochMilli}
+     *
+     * @param epochMilli
+     *            UTC or local epoch milliseconds
+     * @return epoch milliseconds at the start of the month
+     * @throws DataException
+     *             If the result does not fit in a long
+     */
+    public static long getStartOfMonthEpochMilli( long epochMilli ) throws DataException
+    {
+        return getEpochMilliFromEpochDay(EpochDayMath.startOfMonth(getEpochDayFromEpochMilli(epochMilli)));
+    }
+
     /**
      * method to get the number of days in between two string dates.
      *
@@ -455,8 +868,7 @@ public class DateUtilV2 {
         {
             NullEmptyUtils.throwExceptionIfInputIsNull(dateFrom, START_DATE_NULL_ERROR);
             NullEmptyUtils.throwExceptionIfInputIsNull(dateTo, "End date is required");
-            return DAYS.between(getLocalDateFromHumanReadableStringDate(dateFrom),
-                    getLocalDateFromHumanReadableStringDate(dateTo));
+            return getEpochDayFromHumanReadableStringDate(dateTo) - getEpochDayFromHumanReadableStringDate(dateFrom);
         }
         catch( DataException e )
         {
@@ -484,8 +896,8 @@ public class DateUtilV2 {
     {
         try
         {
-            NullEmptyUtils.throwExceptionIfInputIsNull(inputDate, "Input string is required");
-            return LocalDate.parse(inputDate, DateTimeFormatter.ofPattern(DD_MM_YYYY));
+            NullEmptyUtils.throwExceptionIfInputIsNull(inputDate, INPUT_STRING_NULL_ERROR);
+            return LocalDate.ofEpochDay(parseEpochDay(inputDate, 0, inputDate.length(), null));
         }
         catch( DataException e )
         {
@@ -501,38 +913,636 @@ public class DateUtilV2 {
     }
 
     /**
-     * This method takes the {@link LocalDate} and {@link DateFormatPatternEnum} as inputs and returns
-     * the corresponding string date. If no pattern is passed as input the method uses
-     * {@link DateFormatPatternEnum#DD_MMM_YYYY} as the default one
-     * 
-     * @param localDate
-     *            Date to be converted
-     * @param stringPattern
-     *            Pattern in which the string date is needed
-     * @return String date
+     * Same as {@link #getLocalDateFromHumanReadableStringDate(String)} but returns the epoch day, the number of days
+     * since 1970-01-01, without creating a {@link LocalDate}. Plain dd-MM-yyyy dates are parsed without the
+     * formatter, anything else is handed to the formatter, so results and errors are identical.
+     *
+     * @param inputDate
+     *            string input date
+     * @return epoch day of the input date
      * @throws DataException
-     *             If input is null
+     *             If mandatory inputs are empty or the date is invalid
      */
-    public static String getHumanReadableStringDateFromLocalDate( LocalDate localDate,
-            DateFormatPatternEnum stringPattern ) throws DataException
+    public static long getEpochDayFromHumanReadableStringDate( CharSequence inputDate ) throws DataException
     {
-        try
-        {
-            NullEmptyUtils.throwExceptionIfInputIsNull(localDate, "Input date is missing");
-            stringPattern = NullEmptyUtils.isNull(stringPattern) ? DateFormatPatternEnum.DD_MMM_YYYY : stringPattern;
+        NullEmptyUtils.throwExceptionIfInputIsNull(inputDate, INPUT_STRING_NULL_ERROR);
+        return parseEpochDay(inputDate, 0, inputDate.length(), null);
+    }
 
-            return localDate.format(DateTimeFormatter.ofPattern(stringPattern.getPattern()));
-        }
-        catch( DataException e )
-        {
-            log.error(GeneralConstants.ERROR, e);
-            throw e;
-        }
-        catch( Exception e )
-        {
-            log.error(GeneralConstants.ERROR, e);
-            throw new DataException(GeneralConstants.EXCEPTION, "Error fetching date from a string",
-                    HttpStatus.INTERNAL_SERVER_ERROR);
+    /**
+     * Parses the dd-MM-yyyy date in {@param length} chars of {@param inputDate} starting at {@param offset}, for
+     * example a field of a CSV line, without copying it to a String
+     *
+     * @param inputDate
+     *            text holding the date
+     * @param offset
+     *            index of the first char of the date
+     * @param length
+     *            number of chars of the date
+     * @return epoch day of the date
+     * @throws DataException
+     *             If mandatory inputs are empty, the range is outside the input or the date is invalid
+     */
+    public static long getEpochDayFromHumanReadableStringDate( CharSequence inputDate, int offset, int length )
+            throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(inputDate, INPUT_STRING_NULL_ERROR);
+        return parseEpochDay(inputDate, offset, length, null);
+    }
+
+    /**
+     * Parses the dd-MM-yyyy date in {@param length} bytes of {@param inputDate} starting at {@param offset}. Dates
+     * the fast path does not handle are decoded as UTF-8 for the formatter.
+     *
+     * @param inputDate
+     *            bytes holding the date
+     * @param offset
+     *            index of the first byte of the date
+     * @param length
+     *            number of bytes of the date
+     * @return epoch day of the date
+     * @throws DataException
+     *             If mandatory inputs are empty, the range is outside the input or the date is invalid
+     */
+    public static long getEpochDayFromHumanReadableStringDate( byte[] inputDate, int offset, int length )
+            throws DataException
+    {
+        return parseEpochDay(inputDate, offset, length, null);
+    }
+
+    /**
+     * Parses the date in {@param length} chars of {@param inputDate} starting at {@param offset} in the format of
+     * {@param dateFormatPatternEnum}. Month names are matched like the formatter of the pattern does, case
+     * sensitive and in its locale.
+     *
+     * @param inputDate
+     *            text holding the date
+     * @param offset
+     *            index of the first char of the date
+     * @param length
+     *            number of chars of the date
+     * @param dateFormatPatternEnum
+     *            format of the date
+     * @return epoch day of the date
+     * @throws DataException
+     *             If mandatory inputs are empty, the range is outside the input or the date is invalid
+     */
+    public static long getEpochDayFromHumanReadableStringDate( CharSequence inputDate, int offset, int length,
+            DateFormatPatternEnum dateFormatPatternEnum ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(inputDate, INPUT_STRING_NULL_ERROR);
+        NullEmptyUtils.throwExceptionIfInputIsNull(dateFormatPatternEnum, DATE_PATTERN_NULL_ERROR);
+        return parseEpochDay(inputDate, offset, length, dateFormatPatternEnum);
+    }
+
+    /**
+     * Parses the date in {@param length} bytes of {@param inputDate} starting at {@param offset} in the format of
+     * {@param dateFormatPatternEnum}. Dates the fast path does not handle, including month names that are not
+     * ASCII, are decoded as UTF-8 for the formatter.
+     *
+     * @param inputDate
+     *            bytes holding the date
+     * @param offset
+     *            index of the first byte of the date
+     * @param length
+     *            number of bytes of the date
+     * @param dateFormatPatternEnum
+     *            format of the date
+     * @return epoch day of the date
+     * @throws DataException
+     *             If mandatory inputs are empty, the range is outside the input or the date is invalid
+     */
+    public static long getEpochDayFromHumanReadableStringDate( byte[] inputDate, int offset, int length,
+            DateFormatPatternEnum dateFormatPatternEnum ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(dateFormatPatternEnum, DATE_PATTERN_NULL_ERROR);
+        return parseEpochDay(inputDate, offset, length, dateFormatPatternEnum);
+    }
+
+    /**
+     * This method takes the {@link LocalDate} and {@link DateFormatPatternEnum} as inputs and returns
+     * the corresponding string date. If no pattern is passed as input the method uses
+     * {@link DateFormatPatternEnum#DD_MMM_YYYY} as the default one
+     * 
+     * @param localDate
+     *            Date to be converted
+     * @param stringPattern
+     *            Pattern in which the string date is needed
+     * @return String date
+     * @throws DataException
+     *             If input is null
+     */
+    public static String getHumanReadableStringDateFromLocalDate( LocalDate localDate,
+            DateFormatPatternEnum stringPattern ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(localDate, "Input date is missing");
+            stringPattern = NullEmptyUtils.isNull(stringPattern) ? DateFormatPatternEnum.DD_MMM_YYYY : stringPattern;
+
+            StringBuilder stringDate = new StringBuilder(16);
+            DateTextFormatter.append(stringDate, localDate, stringPattern);
+            return stringDate.toString();
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error fetching date from a string",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Appends the string date of {@param localDate} to {@param target}, for example a {@link StringBuilder}, a
+     * {@link java.nio.CharBuffer} or a {@link java.io.Writer}, without creating an intermediate String. The text is
+     * the same as {@link #getHumanReadableStringDateFromLocalDate(LocalDate, DateFormatPatternEnum)} returns and
+     * {@link DateFormatPatternEnum#DD_MMM_YYYY} is used if no pattern is passed.
+     *
+     * @param target
+     *            receives the string date
+     * @param localDate
+     *            Date to be converted
+     * @param stringPattern
+     *            Pattern in which the string date is needed
+     * @return {@param target}
+     * @throws DataException
+     *             If input is null, a {@link java.nio.CharBuffer} has no room for the date or writing fails
+     */
+    public static <A extends Appendable> A appendHumanReadableStringDate( A target, LocalDate localDate,
+            DateFormatPatternEnum stringPattern ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(target, OUTPUT_MISSING_ERROR);
+            NullEmptyUtils.throwExceptionIfInputIsNull(localDate, "Input date is missing");
+            DateTextFormatter.append(target, localDate,
+                    NullEmptyUtils.isNull(stringPattern) ? DateFormatPatternEnum.DD_MMM_YYYY : stringPattern);
+            return target;
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( BufferOverflowException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, OUTPUT_TOO_SMALL_ERROR, HttpStatus.BAD_REQUEST);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while writing the date",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Writes the string date of {@param localDate} into {@param target} from {@param offset}, as ASCII for the
+     * English month names and as UTF-8 in general. The text is the same as
+     * {@link #getHumanReadableStringDateFromLocalDate(LocalDate, DateFormatPatternEnum)} returns and
+     * {@link DateFormatPatternEnum#DD_MMM_YYYY} is used if no pattern is passed. Nothing is written if the date does
+     * not fit.
+     *
+     * @param target
+     *            receives the string date
+     * @param offset
+     *            index of the first byte to write
+     * @param localDate
+     *            Date to be converted
+     * @param stringPattern
+     *            Pattern in which the string date is needed
+     * @return number of bytes written
+     * @throws DataException
+     *             If input is null, the offset is outside the array or the date does not fit
+     */
+    public static int writeHumanReadableStringDate( byte[] target, int offset, LocalDate localDate,
+            DateFormatPatternEnum stringPattern ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(target, OUTPUT_MISSING_ERROR);
+            NullEmptyUtils.throwExceptionIfInputIsNull(localDate, "Input date is missing");
+            checkRange(target.length, offset, 0);
+            return DateTextFormatter.write(target, offset, localDate,
+                    NullEmptyUtils.isNull(stringPattern) ? DateFormatPatternEnum.DD_MMM_YYYY : stringPattern);
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( BufferOverflowException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, OUTPUT_TOO_SMALL_ERROR, HttpStatus.BAD_REQUEST);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while writing the date",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * This method formats the {@link LocalDate} with an arbitrary {@param pattern} in the given {@param locale}.
+     * Formatters are compiled once per pattern and locale and kept in a bounded cache, see
+     * {@link #getFormatterCache()}. If no locale is passed the default format locale is used
+     *
+     * @param localDate
+     *            Date to be converted
+     * @param pattern
+     *            Pattern as documented by {@link DateTimeFormatter}
+     * @param locale
+     *            Locale used for text fields such as month names
+     * @return String date
+     * @throws DataException
+     *             If input is null or the pattern is invalid
+     */
+    public static String getHumanReadableStringDateFromLocalDate( LocalDate localDate, String pattern,
+            Locale locale ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(localDate, "Input date is missing");
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(pattern, "Date pattern is missing");
+            locale = NullEmptyUtils.isNull(locale) ? Locale.getDefault(Locale.Category.FORMAT) : locale;
+
+            return localDate.format(FORMATTER_CACHE.get(pattern, locale));
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( IllegalArgumentException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Invalid date pattern", HttpStatus.BAD_REQUEST);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error fetching date from a string",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Returns the formatter cache used by {@link #getHumanReadableStringDateFromLocalDate(LocalDate, String, Locale)},
+     * mainly to read its hit, miss and eviction counters
+     *
+     * @return formatter cache of this class
+     */
+    public static DateTimeFormatterCache getFormatterCache()
+    {
+        return FORMATTER_CACHE;
+    }
+
+    /**
+     * Returns the zone offset cache used by the conversions working on epoch milliseconds, mainly to read its refresh
+     * and eviction counters
+     *
+     * @return zone offset cache of this class
+     */
+    public static ZoneOffsetCache getZoneOffsetCache()
+    {
+        return OFFSET_CACHE;
+    }
+
+    /**
+     * Replaces the clock that the methods of this class read the current time from. Tests can pass a fixed clock to
+     * make time-dependent code deterministic, and services that read "now" many times per request can pass a
+     * {@link TickingClock}, whose UTC {@link LocalDateTime} is created once per tick and shared.
+     *
+     * @param newClock
+     *            clock to read the current time from, owned by the caller
+     * @throws DataException
+     *             If mandatory inputs are empty
+     */
+    public static void setClock( Clock newClock ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(newClock, "Clock is required");
+        clock = newClock;
+    }
+
+    /**
+     * Goes back to the system clock. A {@link TickingClock} that was set before is not closed.
+     */
+    public static void resetClock()
+    {
+        clock = Clock.systemUTC();
+    }
+
+    public static Clock getClock()
+    {
+        return clock;
+    }
+
+    /**
+     * Non-throwing variant of {@link #getZoneIdFromShortZoneId(String)}. An unknown short zone id is reported in
+     * the result instead of raising and logging an exception.
+     *
+     * @param shortZoneId
+     *            Short zone id. {@link ZoneId#SHORT_IDS}
+     * @return {@link ZoneId} for the input short zone id, or the reason it could not be resolved
+     */
+    public static OperationResult<ZoneId> tryGetZoneIdFromShortZoneId( String shortZoneId )
+    {
+        if( shortZoneId == null )
+        {
+            return SHORT_ZONE_ID_REQUIRED_RESULT;
+        }
+        ZoneId zoneId = ZoneIdTable.resolve(shortZoneId);
+        return zoneId == null ? UNKNOWN_SHORT_ZONE_ID_RESULT : OperationResult.success(zoneId);
+    }
+
+    /**
+     * Non-throwing variant of {@link #getLocalDateFromHumanReadableStringDate(String)} for validating untrusted
+     * input. Values that cannot be a dd-MM-yyyy date are rejected without invoking the formatter, so the common
+     * failures neither create nor log an exception.
+     *
+     * @param inputDate
+     *            string input date
+     * @return {@link LocalDate} from the input string, or the reason it could not be parsed
+     */
+    public static OperationResult<LocalDate> tryGetLocalDateFromHumanReadableStringDate( String inputDate )
+    {
+        if( inputDate == null )
+        {
+            return INPUT_DATE_REQUIRED_RESULT;
+        }
+        long epochDay = DateTextParser.parseDayMonthYear(inputDate, 0, inputDate.length());
+        if( epochDay != DateTextParser.UNPARSED )
+        {
+            return OperationResult.success(LocalDate.ofEpochDay(epochDay));
+        }
+        if( !hasDayMonthYearShape(inputDate) )
+        {
+            return INVALID_DATE_RESULT;
+        }
+        try
+        {
+            return OperationResult.success(LocalDate.parse(inputDate, DD_MM_YYYY_FORMATTER));
+        }
+        catch( DateTimeException e )
+        {
+            return INVALID_DATE_RESULT;
+        }
+    }
+
+    /**
+     * Non-throwing variant of {@link #getTheNumberOfDaysBetweenTwoStringDates(String, String)}.
+     *
+     * @param dateFrom
+     *            {@link String} from which number of days are to be counted
+     * @param dateTo
+     *            {@link String} till which number of days are to be counted
+     * @return number of days between the input dates, or the reason it could not be computed
+     */
+    public static OperationResult<Long> tryGetTheNumberOfDaysBetweenTwoStringDates( String dateFrom, String dateTo )
+    {
+        if( dateFrom == null )
+        {
+            return START_DATE_REQUIRED_RESULT;
+        }
+        if( dateTo == null )
+        {
+            return END_DATE_REQUIRED_RESULT;
+        }
+        OperationResult<LocalDate> from = tryGetLocalDateFromHumanReadableStringDate(dateFrom);
+        if( from.isFailure() )
+        {
+            return from.asFailure();
+        }
+        OperationResult<LocalDate> to = tryGetLocalDateFromHumanReadableStringDate(dateTo);
+        if( to.isFailure() )
+        {
+            return to.asFailure();
+        }
+        return OperationResult.success(DAYS.between(from.getValue(), to.getValue()));
+    }
+
+    private static void convertEpochMillisToOtherZone( long[] milliseconds, String inputZoneShortId,
+            String timeRequiredInZoneShortId, long[] target, boolean packed ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(milliseconds, "Input milliseconds are required");
+            NullEmptyUtils.throwExceptionIfInputIsNull(target, "Output array is required");
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(inputZoneShortId, "Input zone id is required");
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(timeRequiredInZoneShortId,
+                    "Required zone id is required");
+            if( target.length < milliseconds.length )
+            {
+                throw new DataException(GeneralConstants.EXCEPTION, "Output array is smaller than the input",
+                        HttpStatus.BAD_REQUEST);
+            }
+
+            ZoneId inputZoneId = getZoneIdFromShortZoneId(inputZoneShortId);
+            ZoneId requiredZoneId = getZoneIdFromShortZoneId(timeRequiredInZoneShortId);
+            ZoneOffsetWindow inputWindow = null;
+            ZoneOffsetWindow requiredWindow = null;
+            for( int i = 0; i < milliseconds.length; i++ )
+            {
+                long epochMilli = milliseconds[i];
+                if( inputWindow == null || !inputWindow.contains(epochMilli) )
+                {
+                    inputWindow = OFFSET_CACHE.window(inputZoneId, epochMilli);
+                }
+                // the single value method goes through the local time of the input zone, which shifts instants
+                // in the second half of an overlap back by the overlap
+                long instant = inputWindow.toEarlierOffsetInstant(epochMilli);
+                if( requiredWindow == null || !requiredWindow.contains(instant) )
+                {
+                    requiredWindow = OFFSET_CACHE.window(requiredZoneId, instant);
+                }
+                long localEpochMilli = requiredWindow.toLocalEpochMilli(instant);
+                target[i] = packed ? EpochDayMath.toPackedDateTime(localEpochMilli) : localEpochMilli;
+            }
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( IllegalArgumentException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error while converting time zone",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Parses a date with {@link DateTextParser}, falling back to the formatter of the pattern, dd-MM-yyyy when
+     * {@param pattern} is null
+     */
+    private static long parseEpochDay( CharSequence inputDate, int offset, int length, DateFormatPatternEnum pattern )
+            throws DataException
+    {
+        try
+        {
+            checkRange(inputDate.length(), offset, length);
+            long epochDay = pattern == null ? DateTextParser.parseDayMonthYear(inputDate, offset, length)
+                    : DateTextParser.parse(inputDate, offset, length, pattern);
+            if( epochDay != DateTextParser.UNPARSED )
+            {
+                return epochDay;
+            }
+            return LocalDate.parse(inputDate.subSequence(offset, offset + length), formatterOf(pattern)).toEpochDay();
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error fetching date from a string",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static long parseEpochDay( byte[] inputDate, int offset, int length, DateFormatPatternEnum pattern )
+            throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNull(inputDate, INPUT_STRING_NULL_ERROR);
+            checkRange(inputDate.length, offset, length);
+            long epochDay = pattern == null ? DateTextParser.parseDayMonthYear(inputDate, offset, length)
+                    : DateTextParser.parse(inputDate, offset, length, pattern);
+            if( epochDay != DateTextParser.UNPARSED )
+            {
+                return epochDay;
+            }
+            return LocalDate.parse(new String(inputDate, offset, length, StandardCharsets.UTF_8), formatterOf(pattern))
+                    .toEpochDay();
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, "Error fetching date from a string",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static DateTimeFormatter formatterOf( DateFormatPatternEnum pattern )
+    {
+        return pattern == null ? DD_MM_YYYY_FORMATTER : pattern.getFormatter();
+    }
+
+    private static void checkRange( int size, int offset, int length ) throws DataException
+    {
+        if( offset < 0 || length < 0 || offset > size - length )
+        {
+            throw new DataException(GeneralConstants.EXCEPTION, "Offset and length are outside the input",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static long checkEpochDay( long epochDay ) throws ValidationException
+    {
+        if( epochDay < EpochDayMath.MIN_EPOCH_DAY || epochDay > EpochDayMath.MAX_EPOCH_DAY )
+        {
+            throw DATE_OUT_OF_RANGE;
+        }
+        return epochDay;
+    }
+
+    private static long addExact( long value, long amount ) throws ValidationException
+    {
+        try
+        {
+            return Math.addExact(value, amount);
+        }
+        catch( ArithmeticException e )
+        {
+            throw DATE_OUT_OF_RANGE;
+        }
+    }
+
+    private static long subtractExact( long value, long amount ) throws ValidationException
+    {
+        try
+        {
+            return Math.subtractExact(value, amount);
+        }
+        catch( ArithmeticException e )
+        {
+            throw DATE_OUT_OF_RANGE;
+        }
+    }
+
+    private static long multiplyExact( long value, long factor ) throws ValidationException
+    {
+        try
+        {
+            return Math.multiplyExact(value, factor);
+        }
+        catch( ArithmeticException e )
+        {
+            throw DATE_OUT_OF_RANGE;
+        }
+    }
+
+    private static LocalDateTime nowInUtc()
+    {
+        Clock current = clock;
+        if( current instanceof TickingClock tickingClock )
+        {
+            return tickingClock.getUtcLocalDateTime();
+        }
+        return LocalDateTime.ofInstant(current.instant(), ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime( long localEpochMilli )
+    {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localEpochMilli, 1000),
+                Math.floorMod(localEpochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Cheap check that rejects values which can never match dd-MM-yyyy: two digit day 01-31, two digit month 01-12
+     * and at least four more characters for the year. Values passing the check still go through the formatter.
+     */
+    private static boolean hasDayMonthYearShape( String value )
+    {
+        if( value.length() < DD_MM_YYYY.length() || value.charAt(2) != '-' || value.charAt(5) != '-' )
+        {
+            return false;
+        }
+        int day = twoDigits(value, 0);
+        int month = twoDigits(value, 3);
+        return day >= 1 && day <= 31 && month >= 1 && month <= 12;
+    }
+
+    private static int twoDigits( String value, int index )
+    {
+        char tens = value.charAt(index);
+        char units = value.charAt(index + 1);
+        if( tens < '0' || tens > '9' || units < '0' || units > '9' )
+        {
+            return -1;
         }
+        return (tens - '0') * 10 + (units - '0');
     }
 }
@@ -0,0 +1,139 @@
+package com.highpeaksw.utils;
+
+import java.time.LocalDate;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Proleptic Gregorian calendar arithmetic on primitive day and millisecond counts, matching {@link java.time}
+ * without creating any objects. Epoch days and local epoch milliseconds count from 1970-01-01 and 1970-01-01T00:00.
+ */
+final class EpochDayMath {
+
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+
+    static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    static final int MIN_PACKED_YEAR = 0;
+
+    static final int MAX_PACKED_YEAR = 9999;
+
+    private static final long DAYS_0000_TO_1970 = 719_468L;
+
+    private static final long DAYS_PER_400_YEARS = 146_097L;
+
+    private EpochDayMath() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Converts a date to its epoch day, like {@code LocalDate.of(year, month, day).toEpochDay()} for a valid date
+     */
+    static long toEpochDay( long year, int month, int day )
+    {
+        long marchBasedYear = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(marchBasedYear, 400);
+        long yearOfEra = marchBasedYear - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    static boolean isLeapYear( long year )
+    {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfMonth( long year, int month )
+    {
+        if( month == 2 )
+        {
+            return isLeapYear(year) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Converts an epoch day to its date packed as the decimal digits {@code yyyyMMdd}, for example 20210321
+     *
+     * @throws IllegalArgumentException
+     *             if the year is outside {@link #MIN_PACKED_YEAR} to {@link #MAX_PACKED_YEAR}
+     */
+    static int toPackedDate( long epochDay )
+    {
+        long yearMonthDay = toYearMonthDay(epochDay);
+        long year = year(yearMonthDay);
+        if( year < MIN_PACKED_YEAR || year > MAX_PACKED_YEAR )
+        {
+            throw new IllegalArgumentException("Year " + year + " is outside the range of the packed format");
+        }
+        return (int) (year * 10_000 + month(yearMonthDay) * 100 + day(yearMonthDay));
+    }
+
+    /**
+     * Epoch day of the first day of the month of {@param epochDay}
+     */
+    static long startOfMonth( long epochDay )
+    {
+        return epochDay - day(toYearMonthDay(epochDay)) + 1;
+    }
+
+    /**
+     * Splits an epoch day into year, month and day, packed into one long that {@link #year(long)},
+     * {@link #month(long)} and {@link #day(long)} take apart
+     */
+    static long toYearMonthDay( long epochDay )
+    {
+        // Days are counted from 0000-03-01 so that the leap day ends the year
+        long shiftedDay = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shiftedDay, DAYS_PER_400_YEARS);
+        long dayOfEra = shiftedDay - era * DAYS_PER_400_YEARS;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    static long year( long yearMonthDay )
+    {
+        return yearMonthDay >> 9;
+    }
+
+    static int month( long yearMonthDay )
+    {
+        return (int) (yearMonthDay >> 5) & 0xF;
+    }
+
+    static int day( long yearMonthDay )
+    {
+        return (int) yearMonthDay & 0x1F;
+    }
+
+    /**
+     * Converts local epoch milliseconds to the date-time packed as the decimal digits {@code yyyyMMddHHmmssSSS},
+     * for example 20210321133000184
+     *
+     * @throws IllegalArgumentException
+     *             if the year is outside {@link #MIN_PACKED_YEAR} to {@link #MAX_PACKED_YEAR}
+     */
+    static long toPackedDateTime( long localEpochMilli )
+    {
+        long epochDay = Math.floorDiv(localEpochMilli, MILLIS_PER_DAY);
+        long millisOfDay = localEpochMilli - epochDay * MILLIS_PER_DAY;
+        long hour = millisOfDay / 3_600_000;
+        long minute = millisOfDay / 60_000 % 60;
+        long second = millisOfDay / 1000 % 60;
+        long milli = millisOfDay % 1000;
+        return toPackedDate(epochDay) * 1_000_000_000L + hour * 10_000_000 + minute * 100_000 + second * 1000 + milli;
+    }
+}
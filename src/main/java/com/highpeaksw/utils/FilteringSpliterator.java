@@ -0,0 +1,83 @@
+package com.highpeaksw.utils;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Lazy view of the elements of a {@link Spliterator} that pass a predicate, used by the streaming difference of
+ * {@link CollectionUtils}. Splits whenever the source splits, so a parallel stream over it filters every part on its
+ * own thread. The predicate is shared by all parts and must be safe to call concurrently.
+ */
+final class FilteringSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<T> source;
+
+    private final Predicate<? super T> filter;
+
+    private final Consumer<T> holder = element -> current = element;
+
+    private T current;
+
+    FilteringSpliterator( Spliterator<T> source, Predicate<? super T> filter )
+    {
+        this.source = source;
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean tryAdvance( Consumer<? super T> action )
+    {
+        while( source.tryAdvance(holder) )
+        {
+            T element = current;
+            current = null;
+            if( filter.test(element) )
+            {
+                action.accept(element);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining( Consumer<? super T> action )
+    {
+        source.forEachRemaining(element -> {
+            if( filter.test(element) )
+            {
+                action.accept(element);
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        Spliterator<T> prefix = source.trySplit();
+        return prefix == null ? null : new FilteringSpliterator<>(prefix, filter);
+    }
+
+    /**
+     * @return size of the source, an upper bound since filtering only drops elements
+     */
+    @Override
+    public long estimateSize()
+    {
+        return source.estimateSize();
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return source.characteristics() & ~(SIZED | SUBSIZED);
+    }
+
+    @Override
+    public Comparator<? super T> getComparator()
+    {
+        return source.getComparator();
+    }
+}
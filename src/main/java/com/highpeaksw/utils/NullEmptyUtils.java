@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 
 import com.highpeaksw.utils.constants.GeneralConstants;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
 
 public class NullEmptyUtils {
 
@@ -61,8 +62,7 @@ public class NullEmptyUtils {
     {
         if( isNull(object) )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.NULL_INPUT_ERROR,
-                    HttpStatus.BAD_REQUEST);
+            throw ValidationException.NULL_INPUT;
         }
     }
 
@@ -70,7 +70,7 @@ public class NullEmptyUtils {
     {
         if( isNull(object) )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+            throw new ValidationException(message);
         }
     }
 
@@ -78,19 +78,15 @@ public class NullEmptyUtils {
     {
         if( isNull(object) )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.NULL_INPUT_ERROR,
-                    HttpStatus.BAD_REQUEST);
+            throw ValidationException.NULL_INPUT;
         }
         if( object instanceof String s && isNullOrEmpty(s) )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.NULL_INPUT_ERROR,
-                    HttpStatus.BAD_REQUEST);
+            throw ValidationException.NULL_INPUT;
         }
         if( object instanceof Collection c && c.isEmpty() )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.NULL_INPUT_ERROR,
-                    HttpStatus.BAD_REQUEST);
-
+            throw ValidationException.NULL_INPUT;
         }
     }
 
@@ -98,15 +94,15 @@ public class NullEmptyUtils {
     {
         if( isNull(object) )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+            throw new ValidationException(message);
         }
         if( object instanceof String s && isNullOrEmpty(s) )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+            throw new ValidationException(message);
         }
         if( object instanceof Collection c && c.isEmpty() )
         {
-            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+            throw new ValidationException(message);
         }
     }
 }
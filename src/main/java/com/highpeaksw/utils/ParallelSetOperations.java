@@ -0,0 +1,253 @@
+package com.highpeaksw.utils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Parallel set operations of {@link CollectionUtils} on a {@link ForkJoinPool}. Inputs below
+ * {@link #SEQUENTIAL_THRESHOLD} elements run in the calling thread. Larger ones are copied to arrays and cut into a
+ * few chunks per worker, which fork-join tasks process while sharing a {@link ConcurrentHashMap} index built by
+ * the same chunks, and the kept elements of every chunk are joined back in chunk order.
+ *
+ * Elements are compared with {@link Object#equals(Object)}. {@code null} elements are supported through a
+ * placeholder key, since the concurrent map does not accept them.
+ */
+final class ParallelSetOperations {
+
+    static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final int MIN_CHUNK_SIZE = 4096;
+
+    private static final Object NULL_KEY = new Object();
+
+    private ParallelSetOperations() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * @return new list of the elements of {@param left}, in order and with duplicates, that are in {@param right}
+     *         when {@param contained} is set and that are not otherwise
+     */
+    static <T> List<T> filter( Collection<? extends T> left, Collection<?> right, boolean contained,
+            ForkJoinPool pool )
+    {
+        if( (long) left.size() + right.size() < SEQUENTIAL_THRESHOLD )
+        {
+            if( !contained )
+            {
+                return CollectionDifference.subtract(left, right, SubtractSemanticsEnum.SET);
+            }
+            Predicate<Object> membership = CollectionDifference.membership(right);
+            List<T> result = new ArrayList<>(left.size());
+            for( T element : left )
+            {
+                if( membership.test(element) )
+                {
+                    result.add(element);
+                }
+            }
+            return result;
+        }
+
+        Predicate<Object> membership = right instanceof Set<?> set ? set::contains : index(right.toArray(), pool);
+        Object[] values = left.toArray();
+        int chunkSize = chunkSize(values.length, pool);
+        List<List<T>> chunks = chunkResults(values.length, chunkSize);
+        run(pool, chunks.size(), chunk -> {
+            List<T> kept = chunks.get(chunk);
+            int end = Math.min(values.length, (chunk + 1) * chunkSize);
+            for( int i = chunk * chunkSize; i < end; i++ )
+            {
+                if( membership.test(values[i]) == contained )
+                {
+                    kept.add(element(values[i]));
+                }
+            }
+        });
+        return join(chunks);
+    }
+
+    /**
+     * Distinct elements of {@param one} followed by {@param two}. When {@param ordered} is set every element is kept
+     * at its first occurrence, which takes a second pass over a map from element to first position. Otherwise every
+     * element is kept where it was first inserted into a concurrent set, in a single pass.
+     *
+     * @return new list of the distinct elements
+     */
+    static <T> List<T> union( Collection<? extends T> one, Collection<? extends T> two, boolean ordered,
+            ForkJoinPool pool )
+    {
+        if( (long) one.size() + two.size() < SEQUENTIAL_THRESHOLD )
+        {
+            Set<T> distinct = new LinkedHashSet<>(one);
+            distinct.addAll(two);
+            return new ArrayList<>(distinct);
+        }
+
+        Object[] values = concat(one.toArray(), two.toArray());
+        int chunkSize = chunkSize(values.length, pool);
+        List<List<T>> chunks = chunkResults(values.length, chunkSize);
+        if( ordered )
+        {
+            ConcurrentHashMap<Object, Integer> firstPositions = new ConcurrentHashMap<>(values.length);
+            run(pool, chunks.size(), chunk -> {
+                int end = Math.min(values.length, (chunk + 1) * chunkSize);
+                for( int i = chunk * chunkSize; i < end; i++ )
+                {
+                    firstPositions.merge(key(values[i]), i, Math::min);
+                }
+            });
+            run(pool, chunks.size(), chunk -> {
+                List<T> kept = chunks.get(chunk);
+                int end = Math.min(values.length, (chunk + 1) * chunkSize);
+                for( int i = chunk * chunkSize; i < end; i++ )
+                {
+                    if( firstPositions.get(key(values[i])) == i )
+                    {
+                        kept.add(element(values[i]));
+                    }
+                }
+            });
+        }
+        else
+        {
+            Set<Object> seen = ConcurrentHashMap.newKeySet(values.length);
+            run(pool, chunks.size(), chunk -> {
+                List<T> kept = chunks.get(chunk);
+                int end = Math.min(values.length, (chunk + 1) * chunkSize);
+                for( int i = chunk * chunkSize; i < end; i++ )
+                {
+                    if( seen.add(key(values[i])) )
+                    {
+                        kept.add(element(values[i]));
+                    }
+                }
+            });
+        }
+        return join(chunks);
+    }
+
+    private static Predicate<Object> index( Object[] values, ForkJoinPool pool )
+    {
+        Set<Object> index = ConcurrentHashMap.newKeySet(values.length);
+        int chunkSize = chunkSize(values.length, pool);
+        run(pool, (values.length + chunkSize - 1) / chunkSize, chunk -> {
+            int end = Math.min(values.length, (chunk + 1) * chunkSize);
+            for( int i = chunk * chunkSize; i < end; i++ )
+            {
+                index.add(key(values[i]));
+            }
+        });
+        return element -> index.contains(key(element));
+    }
+
+    /**
+     * Runs {@param body} for every chunk from 0 to {@param chunkCount} as a tree of fork-join tasks and waits for
+     * all of them
+     */
+    private static void run( ForkJoinPool pool, int chunkCount, IntConsumer body )
+    {
+        if( chunkCount > 0 )
+        {
+            pool.invoke(new ChunkAction(0, chunkCount, body));
+        }
+    }
+
+    /**
+     * Aims for a few chunks per worker so that uneven chunks even out, without making chunks so small that task
+     * overhead shows
+     */
+    private static int chunkSize( int size, ForkJoinPool pool )
+    {
+        int chunks = pool.getParallelism() * CHUNKS_PER_WORKER;
+        return Math.max(MIN_CHUNK_SIZE, (size + chunks - 1) / chunks);
+    }
+
+    private static <T> List<List<T>> chunkResults( int size, int chunkSize )
+    {
+        int chunkCount = (size + chunkSize - 1) / chunkSize;
+        List<List<T>> chunks = new ArrayList<>(chunkCount);
+        for( int i = 0; i < chunkCount; i++ )
+        {
+            chunks.add(new ArrayList<>());
+        }
+        return chunks;
+    }
+
+    private static <T> List<T> join( List<List<T>> chunks )
+    {
+        int size = 0;
+        for( List<T> chunk : chunks )
+        {
+            size += chunk.size();
+        }
+        List<T> result = new ArrayList<>(size);
+        for( List<T> chunk : chunks )
+        {
+            result.addAll(chunk);
+        }
+        return result;
+    }
+
+    private static Object[] concat( Object[] one, Object[] two )
+    {
+        Object[] values = Arrays.copyOf(one, one.length + two.length);
+        System.arraycopy(two, 0, values, one.length, two.length);
+        return values;
+    }
+
+    private static Object key( Object element )
+    {
+        return element == null ? NULL_KEY : element;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> T element( Object value )
+    {
+        return (T) value;
+    }
+
+    private static final class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final transient IntConsumer body;
+
+        private ChunkAction( int from, int to, IntConsumer body )
+        {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if( to - from == 1 )
+            {
+                body.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkAction(from, middle, body), new ChunkAction(middle, to, body));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.highpeaksw.utils;
+
+import java.util.Arrays;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.collection.IntHashSet;
+import com.highpeaksw.utils.collection.LongHashSet;
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Set operations of {@link CollectionUtils} on primitive arrays, keeping the order of the inputs. Subtract and
+ * intersect filter the first array like {@link java.util.Collection#removeAll} and
+ * {@link java.util.Collection#retainAll}: only the second array is hashed and duplicates of the first are kept.
+ * Union and symmetric difference return distinct values, the first array before the second, and use the result of
+ * {@code add} or {@code remove} on their sets both for the lookup and to drop repeated values.
+ */
+final class PrimitiveSetOperations {
+
+    private PrimitiveSetOperations() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * @return the values of {@param values} that are in {@param set} when {@param contained} is set, the others
+     *         otherwise
+     */
+    static long[] filter( long[] values, LongHashSet set, boolean contained )
+    {
+        long[] result = new long[values.length];
+        int size = 0;
+        for( long value : values )
+        {
+            if( set.contains(value) == contained )
+            {
+                result[size++] = value;
+            }
+        }
+        return trim(result, size);
+    }
+
+    static long[] union( long[] one, long[] two )
+    {
+        LongHashSet seen = new LongHashSet(Math.max(one.length, two.length));
+        long[] result = new long[one.length + two.length];
+        int size = 0;
+        for( long value : one )
+        {
+            if( seen.add(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        for( long value : two )
+        {
+            if( seen.add(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        return trim(result, size);
+    }
+
+    static long[] symmetricDifference( long[] one, long[] two )
+    {
+        LongHashSet first = LongHashSet.of(one);
+        LongHashSet second = LongHashSet.of(two);
+        long[] result = new long[one.length + two.length];
+        int size = 0;
+        // values of the first array only are removed from its set once written, shared values stay in it
+        for( long value : one )
+        {
+            if( !second.contains(value) && first.remove(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        for( long value : two )
+        {
+            if( !first.contains(value) && second.remove(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        return trim(result, size);
+    }
+
+    static int[] filter( int[] values, IntHashSet set, boolean contained )
+    {
+        int[] result = new int[values.length];
+        int size = 0;
+        for( int value : values )
+        {
+            if( set.contains(value) == contained )
+            {
+                result[size++] = value;
+            }
+        }
+        return trim(result, size);
+    }
+
+    static int[] union( int[] one, int[] two )
+    {
+        IntHashSet seen = new IntHashSet(Math.max(one.length, two.length));
+        int[] result = new int[one.length + two.length];
+        int size = 0;
+        for( int value : one )
+        {
+            if( seen.add(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        for( int value : two )
+        {
+            if( seen.add(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        return trim(result, size);
+    }
+
+    static int[] symmetricDifference( int[] one, int[] two )
+    {
+        IntHashSet first = IntHashSet.of(one);
+        IntHashSet second = IntHashSet.of(two);
+        int[] result = new int[one.length + two.length];
+        int size = 0;
+        for( int value : one )
+        {
+            if( !second.contains(value) && first.remove(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        for( int value : two )
+        {
+            if( !first.contains(value) && second.remove(value) )
+            {
+                result[size++] = value;
+            }
+        }
+        return trim(result, size);
+    }
+
+    private static long[] trim( long[] values, int size )
+    {
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static int[] trim( int[] values, int size )
+    {
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+}
@@ -1,14 +1,26 @@
 package com.highpeaksw.utils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
 
 import com.highpeaksw.utils.constants.GeneralConstants;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
 
 public class StringUtils {
 
+    private static final String NULL_TEXT = "null";
+
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final String TOO_LONG_ERROR = "Joined string is too long";
+
+    private static final String CHANGED_ERROR = "Values changed while they were joined";
+
     private StringUtils() throws DataException
     {
         throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
@@ -16,18 +28,135 @@ public class StringUtils {
     }
 
     public static String convertListOfStringToAStringWithDelimiter( List<String> stringList, String startPrefix,
-            String endPrefix, char delimiter )
+            String endPrefix, char delimiter ) throws DataException
+    {
+        return convertListOfStringToAStringWithDelimiter((Iterable<String>) stringList, startPrefix, endPrefix,
+                delimiter);
+    }
+
+    /**
+     * Joins {@param values}, each between {@param startPrefix} and {@param endPrefix}, with {@param delimiter}, for
+     * example into the quoted ids of a SQL {@code IN} list. A {@link Collection} is iterated twice, once to compute
+     * the exact length of the output and once to copy every value into a char array of that length, any other
+     * {@link Iterable} is copied into a list first. {@code null} values and prefixes are written as {@code "null"}.
+     *
+     * The result is that of appending a delimiter after every value and chopping the last one off with commons-lang,
+     * which returns an output of only whitespace with its trailing delimiter and chops a trailing {@code "\r\n"} as
+     * a whole.
+     *
+     * @return joined values, empty if there are none
+     * @throws DataException
+     *             If the output would be longer than a string can be
+     * @throws ConcurrentModificationException
+     *             If the collection changes while it is joined
+     */
+    public static String convertListOfStringToAStringWithDelimiter( Iterable<? extends CharSequence> iterable,
+            String startPrefix, String endPrefix, char delimiter ) throws DataException
+    {
+        Collection<? extends CharSequence> values = toCollection(iterable);
+        String start = String.valueOf(startPrefix);
+        String end = String.valueOf(endPrefix);
+        boolean blank = isBlank(start) && isBlank(end) && delimiter <= ' ';
+        long length = 0;
+        int count = 0;
+        for( CharSequence value : values )
+        {
+            CharSequence text = value == null ? NULL_TEXT : value;
+            length += text.length();
+            blank = blank && isBlank(text);
+            count++;
+        }
+        if( count == 0 )
+        {
+            return "";
+        }
+        length += (long) count * (start.length() + end.length() + 1) - (blank ? 0 : 1);
+        if( length > MAX_LENGTH )
+        {
+            throw new ValidationException(TOO_LONG_ERROR);
+        }
+
+        char[] output = new char[(int) length];
+        int written = blank ? output.length - 1 : output.length;
+        int position = 0;
+        boolean first = true;
+        for( CharSequence value : values )
+        {
+            CharSequence text = value == null ? NULL_TEXT : value;
+            if( (first ? 0 : 1) + start.length() + text.length() + end.length() > written - position )
+            {
+                throw new ConcurrentModificationException(CHANGED_ERROR);
+            }
+            if( !first )
+            {
+                output[position++] = delimiter;
+            }
+            first = false;
+            position = write(start, output, position);
+            position = write(text, output, position);
+            position = write(end, output, position);
+        }
+        if( position != written )
+        {
+            throw new ConcurrentModificationException(CHANGED_ERROR);
+        }
+        if( blank )
+        {
+            output[position] = delimiter;
+            return new String(output);
+        }
+        if( delimiter == '\n' && output[position - 1] == '\r' )
+        {
+            return new String(output, 0, position - 1);
+        }
+        return new String(output);
+    }
+
+    private static <T> Collection<T> toCollection( Iterable<T> values )
+    {
+        if( values instanceof Collection<T> collection )
+        {
+            return collection;
+        }
+        List<T> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list;
+    }
+
+    /**
+     * Copies {@param text} into {@param output} at {@param position}
+     *
+     * @return position after the copy
+     */
+    private static int write( CharSequence text, char[] output, int position )
     {
-        StringBuilder stringBuilder = new StringBuilder();
-        for( String s : stringList )
+        int length = text.length();
+        if( text instanceof String string )
+        {
+            string.getChars(0, length, output, position);
+        }
+        else
         {
-            stringBuilder.append(startPrefix);
-            stringBuilder.append(s);
-            stringBuilder.append(endPrefix);
-            stringBuilder.append(delimiter);
+            for( int i = 0; i < length; i++ )
+            {
+                output[position + i] = text.charAt(i);
+            }
         }
+        return position + length;
+    }
 
-        String output = stringBuilder.toString();
-        return NullEmptyUtils.isNullOrEmpty(output) ? output : org.apache.commons.lang3.StringUtils.chop(output);
+    /**
+     * @return whether {@link String#trim()} would leave nothing of {@param text}
+     */
+    private static boolean isBlank( CharSequence text )
+    {
+        for( int i = 0; i < text.length(); i++ )
+        {
+            if( text.charAt(i) > ' ' )
+            {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,163 @@
+package com.highpeaksw.utils;
+
+import java.time.*;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A coarse-grained UTC {@link Clock} for code that asks for the current time many times per request, such as audit
+ * stamps. A background daemon thread reads the system clock once per tick and publishes the time, together with
+ * its {@link Instant} and UTC {@link LocalDateTime}, through a volatile field. Reading the time is then a single
+ * volatile read, and the objects for "now" are created once per tick instead of once per call.
+ *
+ * The time lags the system clock by up to one tick and never goes backwards. The ticker runs until {@link #close()}
+ * is called.
+ */
+public class TickingClock extends Clock implements AutoCloseable {
+
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(10);
+
+    private final ScheduledExecutorService ticker;
+
+    private volatile Tick tick;
+
+    public TickingClock()
+    {
+        this(DEFAULT_TICK);
+    }
+
+    public TickingClock( Duration tickDuration )
+    {
+        if( tickDuration == null || tickDuration.toMillis() < 1 )
+        {
+            throw new IllegalArgumentException("Tick must be at least one millisecond");
+        }
+        this.tick = new Tick(System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "utils-ticking-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = tickDuration.toMillis();
+        ticker.scheduleAtFixedRate(this::advance, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ZoneId getZone()
+    {
+        return ZoneOffset.UTC;
+    }
+
+    /**
+     * Returns a clock reading the ticks of this one in {@param zone}
+     */
+    @Override
+    public Clock withZone( ZoneId zone )
+    {
+        return ZoneOffset.UTC.equals(Objects.requireNonNull(zone, "zone")) ? this : new ZonedView(this, zone);
+    }
+
+    @Override
+    public long millis()
+    {
+        return tick.epochMilli;
+    }
+
+    @Override
+    public Instant instant()
+    {
+        return tick.instant;
+    }
+
+    /**
+     * @return epoch seconds of the current tick
+     */
+    public long getEpochSecond()
+    {
+        return tick.epochSecond;
+    }
+
+    /**
+     * @return {@link LocalDateTime} in UTC of the current tick, shared by all callers within the tick
+     */
+    public LocalDateTime getUtcLocalDateTime()
+    {
+        return tick.utcLocalDateTime;
+    }
+
+    /**
+     * Stops the ticker, the time stays at the last tick
+     */
+    @Override
+    public void close()
+    {
+        ticker.shutdownNow();
+    }
+
+    private void advance()
+    {
+        long now = System.currentTimeMillis();
+        if( now > tick.epochMilli )
+        {
+            tick = new Tick(now);
+        }
+    }
+
+    private static final class Tick {
+
+        private final long epochMilli;
+
+        private final long epochSecond;
+
+        private final Instant instant;
+
+        private final LocalDateTime utcLocalDateTime;
+
+        private Tick( long epochMilli )
+        {
+            this.epochMilli = epochMilli;
+            this.epochSecond = Math.floorDiv(epochMilli, 1000);
+            this.instant = Instant.ofEpochMilli(epochMilli);
+            this.utcLocalDateTime = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+    }
+
+    private static final class ZonedView extends Clock {
+
+        private final TickingClock clock;
+
+        private final ZoneId zone;
+
+        private ZonedView( TickingClock clock, ZoneId zone )
+        {
+            this.clock = clock;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone( ZoneId zone )
+        {
+            return clock.withZone(zone);
+        }
+
+        @Override
+        public long millis()
+        {
+            return clock.millis();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return clock.instant();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.highpeaksw.utils;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Resolves zone ids for {@link DateUtilV2} with a single hash lookup. An immutable table built when the class is
+ * first used maps every region id of {@link ZoneId#getAvailableZoneIds()} and every short id of
+ * {@link ZoneId#SHORT_IDS} to a resolved {@link ZoneId}, whose rules are loaded along with it. Short ids take
+ * precedence over region ids of the same name, and UTC and GMT both resolve to UTC.
+ *
+ * Ids outside the table, such as offsets like {@code +05:30}, are parsed once and their outcome, including failure,
+ * is kept in a bounded cache so that a repeated unknown id does not trigger a parse each time.
+ */
+final class ZoneIdTable {
+
+    static final int MAX_DYNAMIC_ENTRIES = 1024;
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private static final Map<String, ZoneId> ZONES = buildTable();
+
+    private static final Map<String, Optional<ZoneId>> DYNAMIC_ZONES = new ConcurrentHashMap<>();
+
+    private ZoneIdTable() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Returns the zone for {@param zoneId}, or {@code null} if it is not a valid zone id
+     */
+    static ZoneId resolve( String zoneId )
+    {
+        ZoneId zone = ZONES.get(zoneId);
+        if( zone != null )
+        {
+            return zone;
+        }
+        Optional<ZoneId> dynamicZone = DYNAMIC_ZONES.get(zoneId);
+        if( dynamicZone == null )
+        {
+            dynamicZone = parse(zoneId);
+            if( DYNAMIC_ZONES.size() < MAX_DYNAMIC_ENTRIES )
+            {
+                DYNAMIC_ZONES.putIfAbsent(zoneId, dynamicZone);
+            }
+        }
+        return dynamicZone.orElse(null);
+    }
+
+    private static Optional<ZoneId> parse( String zoneId )
+    {
+        try
+        {
+            return Optional.of(ZoneId.of(zoneId));
+        }
+        catch( DateTimeException e )
+        {
+            return Optional.empty();
+        }
+    }
+
+    private static Map<String, ZoneId> buildTable()
+    {
+        Map<String, ZoneId> zones = new HashMap<>();
+        for( String regionId : ZoneId.getAvailableZoneIds() )
+        {
+            zones.put(regionId, ZoneId.of(regionId));
+        }
+        ZoneId.SHORT_IDS.forEach(( shortId, zoneId ) -> zones.put(shortId, zones.computeIfAbsent(zoneId, ZoneId::of)));
+        zones.put("UTC", UTC);
+        zones.put("GMT", UTC);
+        return Map.copyOf(zones);
+    }
+}
@@ -0,0 +1,131 @@
+package com.highpeaksw.utils;
+
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of the current offset period of every zone it has seen, so that converting an instant
+ * between UTC and local time does not search the transitions of the zone on every call.
+ *
+ * For each zone the cache remembers the period {@code [start, end)} between two transitions that the last lookup
+ * fell into, together with its offset. An instant inside that period converts with a comparison and an addition, an
+ * instant outside it is looked up in the full {@link ZoneRules} and its period replaces the remembered one. Events
+ * of an application mostly fall into the same period, so lookups outside it are rare and only counted as
+ * refreshes. Fixed offset zones have a single unbounded period.
+ */
+public class ZoneOffsetCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final int maximumSize;
+
+    private final ConcurrentHashMap<ZoneId, ZoneOffsetWindow> windows = new ConcurrentHashMap<>();
+
+    private final LongAdder refreshCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public ZoneOffsetCache()
+    {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ZoneOffsetCache( int maximumSize )
+    {
+        if( maximumSize < 1 )
+        {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the offset of {@param zoneId} at {@param epochMilli} in milliseconds, like
+     * {@code zoneId.getRules().getOffset(instant).getTotalSeconds() * 1000}
+     *
+     * @param zoneId
+     *            zone of the offset
+     * @param epochMilli
+     *            instant in epoch milliseconds
+     * @return offset from UTC in milliseconds
+     */
+    public long getOffsetMillis( ZoneId zoneId, long epochMilli )
+    {
+        return window(zoneId, epochMilli).getOffsetMillis();
+    }
+
+    /**
+     * Returns the local time of {@param epochMilli} in {@param zoneId} as milliseconds since 1970-01-01T00:00 local
+     * time
+     *
+     * @param zoneId
+     *            zone of the local time
+     * @param epochMilli
+     *            instant in epoch milliseconds
+     * @return local epoch milliseconds
+     * @throws ArithmeticException
+     *             if the result overflows a long
+     */
+    public long toLocalEpochMilli( ZoneId zoneId, long epochMilli )
+    {
+        return window(zoneId, epochMilli).toLocalEpochMilli(epochMilli);
+    }
+
+    public void invalidateAll()
+    {
+        windows.clear();
+    }
+
+    public int size()
+    {
+        return windows.size();
+    }
+
+    /**
+     * Number of lookups that fell outside the remembered period of their zone, including the first lookup of a zone
+     */
+    public long getRefreshCount()
+    {
+        return refreshCount.sum();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the period of {@param zoneId} containing {@param epochMilli}, replacing the remembered period when the
+     * instant falls outside it
+     */
+    ZoneOffsetWindow window( ZoneId zoneId, long epochMilli )
+    {
+        ZoneOffsetWindow window = windows.get(zoneId);
+        if( window != null && window.contains(epochMilli) )
+        {
+            return window;
+        }
+        refreshCount.increment();
+        window = ZoneOffsetWindow.of(zoneId.getRules(), epochMilli);
+        if( !windows.containsKey(zoneId) )
+        {
+            evictIfFull();
+        }
+        windows.put(zoneId, window);
+        return window;
+    }
+
+    private void evictIfFull()
+    {
+        Iterator<ZoneId> keys = windows.keySet().iterator();
+        while( windows.size() >= maximumSize && keys.hasNext() )
+        {
+            keys.next();
+            keys.remove();
+            evictionCount.increment();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.highpeaksw.utils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * The period between two offset transitions of a zone, {@code [start, end)} in epoch milliseconds, together with its
+ * offset. Converting an instant inside the window takes a comparison and an addition instead of a search through
+ * {@link ZoneRules}. Instances are immutable.
+ *
+ * The window also remembers the offset in force before its start. When that transition was an overlap, the first
+ * instants of the window map to local times that occur twice, which {@link #toEarlierOffsetInstant(long)} needs to
+ * reproduce {@code LocalDateTime.atZone} semantics.
+ */
+final class ZoneOffsetWindow {
+
+    private final long start;
+
+    private final long end;
+
+    private final long offsetMillis;
+
+    private final long previousOffsetMillis;
+
+    private final long overlapEnd;
+
+    private ZoneOffsetWindow( long start, long end, long offsetMillis, long previousOffsetMillis )
+    {
+        this.start = start;
+        this.end = end;
+        this.offsetMillis = offsetMillis;
+        this.previousOffsetMillis = previousOffsetMillis;
+        this.overlapEnd = start + Math.max(0, previousOffsetMillis - offsetMillis);
+    }
+
+    /**
+     * Builds the window of {@param rules} that contains {@param epochMilli}
+     */
+    static ZoneOffsetWindow of( ZoneRules rules, long epochMilli )
+    {
+        if( rules.isFixedOffset() )
+        {
+            long offset = rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000L;
+            return new ZoneOffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, offset, offset);
+        }
+        Instant instant = Instant.ofEpochMilli(epochMilli);
+        long offset = rules.getOffset(instant).getTotalSeconds() * 1000L;
+        // previousTransition is strictly before its argument, the extra milli includes a transition at epochMilli
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        return new ZoneOffsetWindow(previous == null ? Long.MIN_VALUE : previous.toEpochSecond() * 1000L,
+                next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L, offset,
+                previous == null ? offset : offsetMillis(previous.getOffsetBefore()));
+    }
+
+    boolean contains( long epochMilli )
+    {
+        return epochMilli >= start && epochMilli < end;
+    }
+
+    long getOffsetMillis()
+    {
+        return offsetMillis;
+    }
+
+    /**
+     * Local epoch milliseconds of {@param epochMilli}, which must be inside the window
+     */
+    long toLocalEpochMilli( long epochMilli )
+    {
+        return Math.addExact(epochMilli, offsetMillis);
+    }
+
+    /**
+     * Instant of the local time of {@param epochMilli} when that local time is resolved with the earlier offset of
+     * an overlap, as {@code LocalDateTime.ofInstant(instant, zone).atZone(zone)} does. Outside overlaps this is
+     * {@param epochMilli} itself. The instant must be inside the window.
+     */
+    long toEarlierOffsetInstant( long epochMilli )
+    {
+        return epochMilli < overlapEnd ? epochMilli + offsetMillis - previousOffsetMillis : epochMilli;
+    }
+
+    private static long offsetMillis( ZoneOffset offset )
+    {
+        return offset.getTotalSeconds() * 1000L;
+    }
+}
@@ -0,0 +1,293 @@
+package com.highpeaksw.utils.collection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted array of up to {@link Container#MAX_ARRAY_SIZE} values, two bytes per value
+ */
+final class ArrayContainer extends Container {
+
+    char[] values;
+
+    int cardinality;
+
+    ArrayContainer( char[] values, int cardinality )
+    {
+        this.values = values;
+        this.cardinality = cardinality;
+    }
+
+    static int sizeInBytes( int cardinality )
+    {
+        return Character.BYTES + cardinality * Character.BYTES;
+    }
+
+    static ArrayContainer fromWords( long[] words, int cardinality )
+    {
+        char[] values = new char[cardinality];
+        int position = 0;
+        for( int i = 0; i < words.length; i++ )
+        {
+            long word = words[i];
+            while( word != 0 )
+            {
+                values[position++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, cardinality);
+    }
+
+    static ArrayContainer deserialize( ByteBuffer buffer )
+    {
+        int cardinality = buffer.getChar() + 1;
+        if( cardinality > MAX_ARRAY_SIZE )
+        {
+            throw new IllegalArgumentException("Array container is too large: " + cardinality);
+        }
+        char[] values = new char[cardinality];
+        buffer.asCharBuffer().get(values);
+        buffer.position(buffer.position() + cardinality * Character.BYTES);
+        for( int i = 1; i < cardinality; i++ )
+        {
+            if( values[i] <= values[i - 1] )
+            {
+                throw new IllegalArgumentException("Array container is not sorted");
+            }
+        }
+        return new ArrayContainer(values, cardinality);
+    }
+
+    static ArrayContainer and( ArrayContainer one, ArrayContainer two )
+    {
+        char[] result = new char[Math.min(one.cardinality, two.cardinality)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while( i < one.cardinality && j < two.cardinality )
+        {
+            char value = one.values[i];
+            char other = two.values[j];
+            if( value < other )
+            {
+                i++;
+            }
+            else if( value > other )
+            {
+                j++;
+            }
+            else
+            {
+                result[size++] = value;
+                i++;
+                j++;
+            }
+        }
+        return size == 0 ? null : new ArrayContainer(result, size);
+    }
+
+    static Container or( ArrayContainer one, ArrayContainer two )
+    {
+        if( one.cardinality + two.cardinality > MAX_ARRAY_SIZE )
+        {
+            long[] words = new long[WORDS];
+            one.orInto(words);
+            two.orInto(words);
+            return fromWords(words);
+        }
+        char[] result = new char[one.cardinality + two.cardinality];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while( i < one.cardinality && j < two.cardinality )
+        {
+            char value = one.values[i];
+            char other = two.values[j];
+            if( value <= other )
+            {
+                result[size++] = value;
+                i++;
+                j += value == other ? 1 : 0;
+            }
+            else
+            {
+                result[size++] = other;
+                j++;
+            }
+        }
+        while( i < one.cardinality )
+        {
+            result[size++] = one.values[i++];
+        }
+        while( j < two.cardinality )
+        {
+            result[size++] = two.values[j++];
+        }
+        return new ArrayContainer(result, size).optimize();
+    }
+
+    static ArrayContainer andNot( ArrayContainer one, ArrayContainer two )
+    {
+        char[] result = new char[one.cardinality];
+        int size = 0;
+        int j = 0;
+        for( int i = 0; i < one.cardinality; i++ )
+        {
+            char value = one.values[i];
+            while( j < two.cardinality && two.values[j] < value )
+            {
+                j++;
+            }
+            if( j == two.cardinality || two.values[j] != value )
+            {
+                result[size++] = value;
+            }
+        }
+        return size == 0 ? null : new ArrayContainer(result, size);
+    }
+
+    /**
+     * @return new container of the values that are in {@param other} when {@param contained} is set and that are
+     *         not otherwise, {@code null} if there are none
+     */
+    ArrayContainer filter( Container other, boolean contained )
+    {
+        char[] result = new char[cardinality];
+        int size = 0;
+        for( int i = 0; i < cardinality; i++ )
+        {
+            if( other.contains(values[i]) == contained )
+            {
+                result[size++] = values[i];
+            }
+        }
+        return size == 0 ? null : new ArrayContainer(result, size);
+    }
+
+    @Override
+    byte type()
+    {
+        return ARRAY;
+    }
+
+    @Override
+    int cardinality()
+    {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains( char value )
+    {
+        return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    char first()
+    {
+        return values[0];
+    }
+
+    @Override
+    char last()
+    {
+        return values[cardinality - 1];
+    }
+
+    @Override
+    Container add( char value )
+    {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if( index >= 0 )
+        {
+            return this;
+        }
+        if( cardinality == MAX_ARRAY_SIZE )
+        {
+            long[] words = new long[WORDS];
+            orInto(words);
+            words[value >>> 6] |= 1L << value;
+            return new BitmapContainer(words, cardinality + 1);
+        }
+        index = -index - 1;
+        if( cardinality == values.length )
+        {
+            values = Arrays.copyOf(values, Math.min(MAX_ARRAY_SIZE, Math.max(4, cardinality * 2)));
+        }
+        System.arraycopy(values, index, values, index + 1, cardinality - index);
+        values[index] = value;
+        cardinality++;
+        return this;
+    }
+
+    @Override
+    Container remove( char value )
+    {
+        int index = Arrays.binarySearch(values, 0, cardinality, value);
+        if( index >= 0 )
+        {
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+        }
+        return this;
+    }
+
+    @Override
+    void forEach( int high, IntConsumer action )
+    {
+        for( int i = 0; i < cardinality; i++ )
+        {
+            action.accept(high | values[i]);
+        }
+    }
+
+    @Override
+    void orInto( long[] words )
+    {
+        for( int i = 0; i < cardinality; i++ )
+        {
+            char value = values[i];
+            words[value >>> 6] |= 1L << value;
+        }
+    }
+
+    @Override
+    Container optimize()
+    {
+        int runs = 0;
+        for( int i = 0; i < cardinality; i++ )
+        {
+            if( i == 0 || values[i] != values[i - 1] + 1 )
+            {
+                runs++;
+            }
+        }
+        if( RunContainer.sizeInBytes(runs) < sizeInBytes(cardinality) )
+        {
+            return RunContainer.fromArray(this, runs);
+        }
+        return this;
+    }
+
+    @Override
+    Container copy()
+    {
+        return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+    }
+
+    @Override
+    int serializedSizeInBytes()
+    {
+        return sizeInBytes(cardinality);
+    }
+
+    @Override
+    void serialize( ByteBuffer buffer )
+    {
+        buffer.putChar((char) (cardinality - 1));
+        buffer.asCharBuffer().put(values, 0, cardinality);
+        buffer.position(buffer.position() + cardinality * Character.BYTES);
+    }
+}
@@ -0,0 +1,153 @@
+package com.highpeaksw.utils.collection;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Bitmap of all 65536 values of a chunk in 8 KB, for chunks with more than {@link Container#MAX_ARRAY_SIZE} values
+ */
+final class BitmapContainer extends Container {
+
+    final long[] words;
+
+    private int cardinality;
+
+    BitmapContainer( long[] words, int cardinality )
+    {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    static BitmapContainer deserialize( ByteBuffer buffer )
+    {
+        long[] words = new long[WORDS];
+        buffer.asLongBuffer().get(words);
+        buffer.position(buffer.position() + BITMAP_BYTES);
+        int cardinality = 0;
+        for( long word : words )
+        {
+            cardinality += Long.bitCount(word);
+        }
+        if( cardinality == 0 )
+        {
+            throw new IllegalArgumentException("Bitmap container is empty");
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    @Override
+    byte type()
+    {
+        return BITMAP;
+    }
+
+    @Override
+    int cardinality()
+    {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains( char value )
+    {
+        return (words[value >>> 6] & 1L << value) != 0;
+    }
+
+    @Override
+    char first()
+    {
+        int i = 0;
+        while( words[i] == 0 )
+        {
+            i++;
+        }
+        return (char) (i << 6 | Long.numberOfTrailingZeros(words[i]));
+    }
+
+    @Override
+    char last()
+    {
+        int i = WORDS - 1;
+        while( words[i] == 0 )
+        {
+            i--;
+        }
+        return (char) (i << 6 | 63 - Long.numberOfLeadingZeros(words[i]));
+    }
+
+    @Override
+    Container add( char value )
+    {
+        long word = words[value >>> 6];
+        long bit = 1L << value;
+        if( (word & bit) == 0 )
+        {
+            words[value >>> 6] = word | bit;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove( char value )
+    {
+        long word = words[value >>> 6];
+        long bit = 1L << value;
+        if( (word & bit) == 0 )
+        {
+            return this;
+        }
+        words[value >>> 6] = word & ~bit;
+        cardinality--;
+        return cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.fromWords(words, cardinality) : this;
+    }
+
+    @Override
+    void forEach( int high, IntConsumer action )
+    {
+        for( int i = 0; i < WORDS; i++ )
+        {
+            long word = words[i];
+            while( word != 0 )
+            {
+                action.accept(high | i << 6 | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    void orInto( long[] target )
+    {
+        for( int i = 0; i < WORDS; i++ )
+        {
+            target[i] |= words[i];
+        }
+    }
+
+    @Override
+    Container optimize()
+    {
+        Container optimized = fromWords(words.clone());
+        return optimized instanceof BitmapContainer ? this : optimized;
+    }
+
+    @Override
+    Container copy()
+    {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    int serializedSizeInBytes()
+    {
+        return BITMAP_BYTES;
+    }
+
+    @Override
+    void serialize( ByteBuffer buffer )
+    {
+        buffer.asLongBuffer().put(words);
+        buffer.position(buffer.position() + BITMAP_BYTES);
+    }
+}
@@ -0,0 +1,296 @@
+package com.highpeaksw.utils.collection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+import lombok.Getter;
+
+/**
+ * Bloom filter for exclusion sets too large for a hash index in the heap. The bits live off-heap in direct buffers of
+ * up to 1 GB each, so a filter for hundreds of millions of keys neither counts against the heap nor is copied by
+ * the garbage collector. At a false positive rate of 1% a key takes about 1.2 bytes, at 5% about 0.8 bytes.
+ *
+ * The filter answers "maybe in the set" or "certainly not in the set". Keys are hashed to 64 bits, longs and ints
+ * by value and {@link CharSequence}s by their chars, so that {@code mightContain(42L)} and {@code mightContain(42)}
+ * agree. Other objects go through {@link Object#hashCode()}, whose 32 bits add collisions once a filter holds
+ * hundreds of millions of keys.
+ *
+ * The buffers count against {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size, so a filter
+ * larger than the heap needs the limit raised, for example {@code -XX:MaxDirectMemorySize=64g}. {@link #close()}
+ * releases the memory right away, an unclosed filter keeps it until the garbage collector finds it unreachable.
+ *
+ * Adding keys is not thread-safe. Once filled and safely published, the filter can be queried by any number of
+ * threads, but must only be closed once no thread uses it any more.
+ */
+public final class BloomFilter implements AutoCloseable {
+
+    private static final int SEGMENT_SHIFT = 27;
+
+    private static final int SEGMENT_WORDS = 1 << SEGMENT_SHIFT;
+
+    private static final long MAX_BIT_COUNT = 1L << 40;
+
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private ByteBuffer[] buffers;
+
+    private LongBuffer[] segments;
+
+    @Getter
+    private final long bitCount;
+
+    @Getter
+    private final int hashCount;
+
+    @Getter
+    private long insertions;
+
+    private BloomFilter( long bitCount, int hashCount )
+    {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        long words = bitCount >>> 6;
+        int segmentCount = (int) ((words + SEGMENT_WORDS - 1) >>> SEGMENT_SHIFT);
+        this.buffers = new ByteBuffer[segmentCount];
+        this.segments = new LongBuffer[segmentCount];
+        try
+        {
+            for( int i = 0; i < segmentCount; i++ )
+            {
+                int segmentWords = (int) Math.min(SEGMENT_WORDS, words - ((long) i << SEGMENT_SHIFT));
+                buffers[i] = ByteBuffer.allocateDirect(segmentWords * Long.BYTES);
+                segments[i] = buffers[i].asLongBuffer();
+            }
+        }
+        catch( OutOfMemoryError e )
+        {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sizes a filter for {@param expectedInsertions} keys at {@param falsePositiveRate}. Adding more keys than
+     * expected raises the rate, see {@link #getExpectedFalsePositiveRate()}.
+     *
+     * @param expectedInsertions
+     *            number of keys that will be added
+     * @param falsePositiveRate
+     *            share of absent keys that may be reported as present, between 0 and 1 exclusive
+     * @return empty filter
+     */
+    public static BloomFilter create( long expectedInsertions, double falsePositiveRate )
+    {
+        if( expectedInsertions < 1 )
+        {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if( !(falsePositiveRate > 0 && falsePositiveRate < 1) )
+        {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        double optimalBits = -expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2);
+        if( optimalBits > MAX_BIT_COUNT )
+        {
+            throw new IllegalArgumentException("Filter would need more than " + MAX_BIT_COUNT + " bits");
+        }
+        long bitCount = Math.max(Long.SIZE, ((long) Math.ceil(optimalBits) + Long.SIZE - 1) & -Long.SIZE);
+        int hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * ln2));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void put( long key )
+    {
+        LongBuffer[] segments = segments();
+        long first = mix(key);
+        long second = mix(key + SECOND_HASH_SEED);
+        for( int i = 0; i < hashCount; i++ )
+        {
+            long bit = reduce(first + i * second);
+            LongBuffer segment = segments[(int) (bit >>> (SEGMENT_SHIFT + 6))];
+            int word = (int) ((bit >>> 6) & (SEGMENT_WORDS - 1));
+            segment.put(word, segment.get(word) | 1L << bit);
+        }
+        insertions++;
+    }
+
+    /**
+     * @param key
+     *            key to add, {@code null} included
+     */
+    public void put( Object key )
+    {
+        put(hash(key));
+    }
+
+    public void putAll( long[] keys )
+    {
+        for( long key : keys )
+        {
+            put(key);
+        }
+    }
+
+    public void putAll( Iterable<?> keys )
+    {
+        for( Object key : keys )
+        {
+            put(key);
+        }
+    }
+
+    /**
+     * @return false if {@param key} was certainly never added, true if it probably was
+     */
+    public boolean mightContain( long key )
+    {
+        LongBuffer[] segments = segments();
+        long first = mix(key);
+        long second = mix(key + SECOND_HASH_SEED);
+        for( int i = 0; i < hashCount; i++ )
+        {
+            long bit = reduce(first + i * second);
+            LongBuffer segment = segments[(int) (bit >>> (SEGMENT_SHIFT + 6))];
+            if( (segment.get((int) ((bit >>> 6) & (SEGMENT_WORDS - 1))) & 1L << bit) == 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false if {@param key} was certainly never added, true if it probably was
+     */
+    public boolean mightContain( Object key )
+    {
+        return mightContain(hash(key));
+    }
+
+    /**
+     * @return false positive rate for the keys added so far
+     */
+    public double getExpectedFalsePositiveRate()
+    {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    /**
+     * @return off-heap bytes held by the filter
+     */
+    public long getSizeInBytes()
+    {
+        return bitCount >>> 3;
+    }
+
+    /**
+     * Frees the off-heap bits. The filter cannot be used afterwards, closing it again does nothing.
+     */
+    @Override
+    public void close()
+    {
+        ByteBuffer[] released = buffers;
+        buffers = null;
+        segments = null;
+        if( released == null || INVOKE_CLEANER == null )
+        {
+            return;
+        }
+        for( ByteBuffer buffer : released )
+        {
+            if( buffer != null )
+            {
+                try
+                {
+                    INVOKE_CLEANER.invokeExact(buffer);
+                }
+                catch( Throwable e )
+                {
+                    // the garbage collector frees the buffer instead
+                    return;
+                }
+            }
+        }
+    }
+
+    private LongBuffer[] segments()
+    {
+        LongBuffer[] current = segments;
+        if( current == null )
+        {
+            throw new IllegalStateException("Bloom filter is closed");
+        }
+        return current;
+    }
+
+    /**
+     * @return handle of {@code sun.misc.Unsafe.invokeCleaner}, which frees a direct buffer at once, or {@code null}
+     *         if the runtime does not offer it
+     */
+    private static MethodHandle invokeCleaner()
+    {
+        try
+        {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        }
+        catch( ReflectiveOperationException | RuntimeException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Maps {@param hash} onto a bit index with a multiplication instead of a division: the high bits of the 63 bit
+     * hash times the bit count
+     */
+    private long reduce( long hash )
+    {
+        long value = hash & Long.MAX_VALUE;
+        return Math.multiplyHigh(value, bitCount) << 1 | (value * bitCount) >>> 63;
+    }
+
+    /**
+     * 64 bit hash of a key that is the same for every integral box of a value
+     */
+    private static long hash( Object key )
+    {
+        if( key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte )
+        {
+            return ((Number) key).longValue();
+        }
+        if( key instanceof CharSequence chars )
+        {
+            // FNV-1a over the chars, spread by the mix of put and mightContain
+            long hash = 0xCBF29CE484222325L;
+            for( int i = 0; i < chars.length(); i++ )
+            {
+                hash = (hash ^ chars.charAt(i)) * 0x100000001B3L;
+            }
+            return hash;
+        }
+        return key == null ? 0 : key.hashCode();
+    }
+
+    /**
+     * Finalizer of SplitMix64, spreads every input bit over the whole output
+     */
+    private static long mix( long value )
+    {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,471 @@
+package com.highpeaksw.utils.collection;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of ints in the layout of Roaring bitmaps, for ids that come in dense ranges. The values are split
+ * into chunks of 65536 by their high 16 bits, and each chunk holds its low 16 bits in a sorted array, a bitmap or a
+ * list of runs, whichever is smallest. A range of ids takes a few bytes per chunk, a dense chunk 8 KB and a sparse
+ * one two bytes per id.
+ *
+ * {@link #and}, {@link #or} and {@link #andNot} combine the chunks pairwise, as word operations on bitmaps or merges
+ * of arrays and runs, and return new sets that share nothing with their inputs. The values are kept and iterated in
+ * ascending order. {@link #toByteArray()} gives a compact form for caches and for other nodes.
+ *
+ * Not thread-safe. A set that is no longer modified can be read by any number of threads.
+ */
+public final class CompressedBitmap {
+
+    private static final int SERIAL_COOKIE = 0x43424D01;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int CONTAINER_HEADER_BYTES = Character.BYTES + Byte.BYTES;
+
+    private char[] keys;
+
+    private Container[] containers;
+
+    private int size;
+
+    public CompressedBitmap()
+    {
+        this(4);
+    }
+
+    private CompressedBitmap( int capacity )
+    {
+        keys = new char[Math.max(1, capacity)];
+        containers = new Container[keys.length];
+    }
+
+    /**
+     * @return set of the distinct {@param values}
+     */
+    public static CompressedBitmap of( int... values )
+    {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        char[] chunk = new char[1 << 16];
+        int i = 0;
+        while( i < sorted.length )
+        {
+            char key = key(sorted[i]);
+            int count = 0;
+            for( ; i < sorted.length && key(sorted[i]) == key; i++ )
+            {
+                char low = (char) sorted[i];
+                if( count == 0 || chunk[count - 1] != low )
+                {
+                    chunk[count++] = low;
+                }
+            }
+            Container container;
+            if( count <= Container.MAX_ARRAY_SIZE )
+            {
+                container = new ArrayContainer(Arrays.copyOf(chunk, count), count).optimize();
+            }
+            else
+            {
+                long[] words = new long[Container.WORDS];
+                new ArrayContainer(chunk, count).orInto(words);
+                container = Container.fromWords(words);
+            }
+            bitmap.append(key, container);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return set of the values from {@param fromInclusive} to {@param toExclusive}, empty if the range is
+     */
+    public static CompressedBitmap range( int fromInclusive, int toExclusive )
+    {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        if( fromInclusive >= toExclusive )
+        {
+            return bitmap;
+        }
+        int last = toExclusive - 1;
+        for( int value = fromInclusive;; value = (value | 0xFFFF) + 1 )
+        {
+            int chunkLast = Math.min(last, value | 0xFFFF);
+            bitmap.append(key(value), RunContainer.of(value & 0xFFFF, chunkLast & 0xFFFF));
+            if( chunkLast == last )
+            {
+                return bitmap;
+            }
+        }
+    }
+
+    /**
+     * Reads the form written by {@link #toByteArray()}
+     *
+     * @return new set
+     * @throws IllegalArgumentException
+     *             If {@param bytes} is not a complete serialised set
+     */
+    public static CompressedBitmap fromByteArray( byte[] bytes )
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try
+        {
+            if( buffer.getInt() != SERIAL_COOKIE )
+            {
+                throw new IllegalArgumentException("Not a serialised compressed bitmap");
+            }
+            int count = buffer.getInt();
+            if( count < 0 || count > 1 << 16 )
+            {
+                throw new IllegalArgumentException("Invalid container count: " + count);
+            }
+            CompressedBitmap bitmap = new CompressedBitmap(count);
+            for( int i = 0; i < count; i++ )
+            {
+                char key = buffer.getChar();
+                if( i > 0 && key <= bitmap.keys[i - 1] )
+                {
+                    throw new IllegalArgumentException("Container keys are not sorted");
+                }
+                bitmap.append(key, Container.deserialize(buffer.get(), buffer));
+            }
+            if( buffer.hasRemaining() )
+            {
+                throw new IllegalArgumentException("Trailing bytes after the compressed bitmap");
+            }
+            return bitmap;
+        }
+        catch( BufferUnderflowException e )
+        {
+            throw new IllegalArgumentException("Truncated compressed bitmap", e);
+        }
+    }
+
+    /**
+     * @return whether {@param value} was added, false if it was already in the set
+     */
+    public boolean add( int value )
+    {
+        char key = key(value);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if( index < 0 )
+        {
+            insert(-index - 1, key, new ArrayContainer(new char[] { (char) value }, 1));
+            return true;
+        }
+        Container container = containers[index];
+        int cardinality = container.cardinality();
+        containers[index] = container.add((char) value);
+        return containers[index].cardinality() != cardinality;
+    }
+
+    public void addAll( int... values )
+    {
+        for( int value : values )
+        {
+            add(value);
+        }
+    }
+
+    /**
+     * @return whether {@param value} was removed, false if it was not in the set
+     */
+    public boolean remove( int value )
+    {
+        int index = Arrays.binarySearch(keys, 0, size, key(value));
+        if( index < 0 )
+        {
+            return false;
+        }
+        Container container = containers[index];
+        int cardinality = container.cardinality();
+        Container updated = container.remove((char) value);
+        if( updated.cardinality() == 0 )
+        {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+            return true;
+        }
+        containers[index] = updated;
+        return updated.cardinality() != cardinality;
+    }
+
+    public boolean contains( int value )
+    {
+        int index = Arrays.binarySearch(keys, 0, size, key(value));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * @return number of values in the set, up to 2^32
+     */
+    public long getCardinality()
+    {
+        long cardinality = 0;
+        for( int i = 0; i < size; i++ )
+        {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @return new set of the values in both this set and {@param other}
+     */
+    public CompressedBitmap and( CompressedBitmap other )
+    {
+        CompressedBitmap result = new CompressedBitmap(Math.min(size, other.size));
+        int i = 0;
+        int j = 0;
+        while( i < size && j < other.size )
+        {
+            if( keys[i] < other.keys[j] )
+            {
+                i++;
+            }
+            else if( keys[i] > other.keys[j] )
+            {
+                j++;
+            }
+            else
+            {
+                result.appendIfPresent(keys[i], Container.and(containers[i++], other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return new set of the values in this set, {@param other} or both
+     */
+    public CompressedBitmap or( CompressedBitmap other )
+    {
+        CompressedBitmap result = new CompressedBitmap(size + other.size);
+        int i = 0;
+        int j = 0;
+        while( i < size || j < other.size )
+        {
+            if( j == other.size || i < size && keys[i] < other.keys[j] )
+            {
+                result.append(keys[i], containers[i++].copy());
+            }
+            else if( i == size || keys[i] > other.keys[j] )
+            {
+                result.append(other.keys[j], other.containers[j++].copy());
+            }
+            else
+            {
+                result.append(keys[i], Container.or(containers[i++], other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return new set of the values in this set that are not in {@param other}
+     */
+    public CompressedBitmap andNot( CompressedBitmap other )
+    {
+        CompressedBitmap result = new CompressedBitmap(size);
+        int j = 0;
+        for( int i = 0; i < size; i++ )
+        {
+            while( j < other.size && other.keys[j] < keys[i] )
+            {
+                j++;
+            }
+            if( j < other.size && other.keys[j] == keys[i] )
+            {
+                result.appendIfPresent(keys[i], Container.andNot(containers[i], other.containers[j]));
+            }
+            else
+            {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts every chunk to its smallest representation. Sets built by this class already are, sets changed by
+     * {@link #add(int)} and {@link #remove(int)} may have grown arrays or bitmaps where runs would be smaller.
+     */
+    public void runOptimize()
+    {
+        for( int i = 0; i < size; i++ )
+        {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    /**
+     * Passes every value to {@param action} in ascending order
+     */
+    public void forEach( IntConsumer action )
+    {
+        for( int i = 0; i < size; i++ )
+        {
+            containers[i].forEach(high(keys[i]), action);
+        }
+    }
+
+    /**
+     * @return new array of the values in ascending order
+     * @throws IllegalStateException
+     *             If the set has more values than an array can hold
+     */
+    public int[] toArray()
+    {
+        long cardinality = getCardinality();
+        if( cardinality > Integer.MAX_VALUE - 8 )
+        {
+            throw new IllegalStateException("Too many values for an array: " + cardinality);
+        }
+        int[] values = new int[(int) cardinality];
+        int[] position = new int[1];
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    /**
+     * @return new list of the values in ascending order
+     */
+    public List<Integer> toList()
+    {
+        int[] values = toArray();
+        List<Integer> list = new ArrayList<>(values.length);
+        for( int value : values )
+        {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * @return size of the form written by {@link #toByteArray()}
+     */
+    public long getSerializedSizeInBytes()
+    {
+        long bytes = HEADER_BYTES;
+        for( int i = 0; i < size; i++ )
+        {
+            bytes += CONTAINER_HEADER_BYTES + containers[i].serializedSizeInBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the set in a compact big-endian form, a header followed by the key, type and values of every chunk,
+     * which {@link #fromByteArray(byte[])} reads back
+     *
+     * @return new array holding the set
+     */
+    public byte[] toByteArray()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(getSerializedSizeInBytes()));
+        buffer.putInt(SERIAL_COOKIE);
+        buffer.putInt(size);
+        for( int i = 0; i < size; i++ )
+        {
+            buffer.putChar(keys[i]);
+            buffer.put(containers[i].type());
+            containers[i].serialize(buffer);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public boolean equals( Object object )
+    {
+        if( this == object )
+        {
+            return true;
+        }
+        if( !(object instanceof CompressedBitmap other) || size != other.size
+                || !Arrays.equals(keys, 0, size, other.keys, 0, size) )
+        {
+            return false;
+        }
+        for( int i = 0; i < size; i++ )
+        {
+            if( containers[i].cardinality() != other.containers[i].cardinality()
+                    || Container.andNot(containers[i], other.containers[i]) != null )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the key, cardinality and smallest and largest value of every chunk, which do not depend on the
+     * representation of the chunk, so that the cost grows with the number of chunks rather than of values
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = 1;
+        for( int i = 0; i < size; i++ )
+        {
+            Container container = containers[i];
+            hash = 31 * hash + keys[i];
+            hash = 31 * hash + container.cardinality();
+            hash = 31 * hash + container.first();
+            hash = 31 * hash + container.last();
+        }
+        return hash;
+    }
+
+    /**
+     * High 16 bits of {@param value} with the sign bit flipped, so that chunks sort in the signed order of ints
+     */
+    private static char key( int value )
+    {
+        return (char) (value >>> 16 ^ 0x8000);
+    }
+
+    private static int high( char key )
+    {
+        return (key ^ 0x8000) << 16;
+    }
+
+    private void appendIfPresent( char key, Container container )
+    {
+        if( container != null )
+        {
+            append(key, container);
+        }
+    }
+
+    private void append( char key, Container container )
+    {
+        insert(size, key, container);
+    }
+
+    private void insert( int index, char key, Container container )
+    {
+        if( size == keys.length )
+        {
+            int capacity = Math.min(1 << 16, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+}
@@ -0,0 +1,228 @@
+package com.highpeaksw.utils.collection;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Low 16 bits of the values of one 64K chunk of a {@link CompressedBitmap}. A chunk is held in whichever of the three
+ * representations is smallest: a sorted array for sparse chunks, a bitmap for dense ones and runs of consecutive
+ * values for ranges.
+ *
+ * Containers are never empty. The set operations return new containers, or {@code null} for an empty result, and
+ * never share state with their inputs.
+ */
+abstract class Container {
+
+    static final int MAX_ARRAY_SIZE = 4096;
+
+    static final int WORDS = 1 << 10;
+
+    static final int BITMAP_BYTES = WORDS * Long.BYTES;
+
+    static final byte ARRAY = 0;
+
+    static final byte BITMAP = 1;
+
+    static final byte RUN = 2;
+
+    abstract byte type();
+
+    abstract int cardinality();
+
+    abstract boolean contains( char value );
+
+    abstract char first();
+
+    abstract char last();
+
+    /**
+     * @return this container, or a new one when {@param value} does not fit the current representation
+     */
+    abstract Container add( char value );
+
+    /**
+     * @return this container, or a new one when the current representation is no longer the best fit, possibly
+     *         empty
+     */
+    abstract Container remove( char value );
+
+    /**
+     * Passes every value, combined with the {@param high} bits of the chunk, to {@param action} in ascending order
+     */
+    abstract void forEach( int high, IntConsumer action );
+
+    /**
+     * Sets the bits of the values of this container in {@param words}
+     */
+    abstract void orInto( long[] words );
+
+    /**
+     * @return the smallest representation of the values, this container if it already is
+     */
+    abstract Container optimize();
+
+    abstract Container copy();
+
+    /**
+     * @return size of the payload written by {@link #serialize(ByteBuffer)}
+     */
+    abstract int serializedSizeInBytes();
+
+    abstract void serialize( ByteBuffer buffer );
+
+    static Container deserialize( byte type, ByteBuffer buffer )
+    {
+        switch( type )
+        {
+        case ARRAY:
+            return ArrayContainer.deserialize(buffer);
+        case BITMAP:
+            return BitmapContainer.deserialize(buffer);
+        case RUN:
+            return RunContainer.deserialize(buffer);
+        default:
+            throw new IllegalArgumentException("Unknown container type: " + type);
+        }
+    }
+
+    static Container and( Container one, Container two )
+    {
+        if( one instanceof ArrayContainer array && two instanceof ArrayContainer other )
+        {
+            return ArrayContainer.and(array, other);
+        }
+        if( one instanceof ArrayContainer array )
+        {
+            return array.filter(two, true);
+        }
+        if( two instanceof ArrayContainer array )
+        {
+            return array.filter(one, true);
+        }
+        if( one instanceof RunContainer run && two instanceof RunContainer other )
+        {
+            return RunContainer.and(run, other);
+        }
+        long[] words = words(one);
+        long[] otherWords = words(two);
+        long[] result = new long[WORDS];
+        for( int i = 0; i < WORDS; i++ )
+        {
+            result[i] = words[i] & otherWords[i];
+        }
+        return fromWords(result);
+    }
+
+    static Container or( Container one, Container two )
+    {
+        if( one instanceof ArrayContainer array && two instanceof ArrayContainer other )
+        {
+            return ArrayContainer.or(array, other);
+        }
+        if( one instanceof RunContainer run && two instanceof RunContainer other )
+        {
+            return RunContainer.or(run, other);
+        }
+        long[] result = new long[WORDS];
+        one.orInto(result);
+        two.orInto(result);
+        return fromWords(result);
+    }
+
+    static Container andNot( Container one, Container two )
+    {
+        if( one instanceof ArrayContainer array && two instanceof ArrayContainer other )
+        {
+            return ArrayContainer.andNot(array, other);
+        }
+        if( one instanceof ArrayContainer array )
+        {
+            return array.filter(two, false);
+        }
+        if( one instanceof RunContainer run && two instanceof RunContainer other )
+        {
+            return RunContainer.andNot(run, other);
+        }
+        long[] result = new long[WORDS];
+        one.orInto(result);
+        if( two instanceof ArrayContainer array )
+        {
+            for( int i = 0; i < array.cardinality; i++ )
+            {
+                char value = array.values[i];
+                result[value >>> 6] &= ~(1L << value);
+            }
+        }
+        else
+        {
+            long[] otherWords = words(two);
+            for( int i = 0; i < WORDS; i++ )
+            {
+                result[i] &= ~otherWords[i];
+            }
+        }
+        return fromWords(result);
+    }
+
+    /**
+     * @return container of the bits of {@param words}, which it may keep, or {@code null} if no bit is set
+     */
+    static Container fromWords( long[] words )
+    {
+        int cardinality = 0;
+        int runs = 0;
+        long carry = 0;
+        for( long word : words )
+        {
+            cardinality += Long.bitCount(word);
+            runs += Long.bitCount(word & ~(word << 1 | carry));
+            carry = word >>> 63;
+        }
+        if( cardinality == 0 )
+        {
+            return null;
+        }
+        if( RunContainer.sizeInBytes(runs) < Math.min(ArrayContainer.sizeInBytes(cardinality), BITMAP_BYTES) )
+        {
+            return RunContainer.fromWords(words, runs, cardinality);
+        }
+        if( cardinality <= MAX_ARRAY_SIZE )
+        {
+            return ArrayContainer.fromWords(words, cardinality);
+        }
+        return new BitmapContainer(words, cardinality);
+    }
+
+    /**
+     * Sets the bits from {@param from} inclusive to {@param to} exclusive
+     */
+    static void setRange( long[] words, int from, int to )
+    {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if( first == last )
+        {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for( int i = first + 1; i < last; i++ )
+        {
+            words[i] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    private static long[] words( Container container )
+    {
+        if( container instanceof BitmapContainer bitmap )
+        {
+            return bitmap.words;
+        }
+        long[] words = new long[WORDS];
+        container.orInto(words);
+        return words;
+    }
+}
@@ -0,0 +1,252 @@
+package com.highpeaksw.utils.collection;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of primitive ints with open addressing, the int counterpart of {@link LongHashSet}. An element takes 4 to 16
+ * bytes depending on the fill of the table. The table is kept at most half full.
+ *
+ * Zero marks an empty slot, the value zero itself is tracked by a flag. Not thread-safe.
+ */
+public final class IntHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] table;
+
+    private int mask;
+
+    private int shift;
+
+    private int size;
+
+    private boolean containsZero;
+
+    public IntHashSet()
+    {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize
+     *            number of elements the set holds without growing
+     */
+    public IntHashSet( int expectedSize )
+    {
+        if( expectedSize < 0 )
+        {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return set of the distinct {@param values}
+     */
+    public static IntHashSet of( int... values )
+    {
+        IntHashSet set = new IntHashSet(values.length);
+        set.addAll(values);
+        return set;
+    }
+
+    /**
+     * @return whether {@param value} was added, false if it was already in the set
+     */
+    public boolean add( int value )
+    {
+        if( value == 0 )
+        {
+            if( containsZero )
+            {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = indexOf(value);
+        int current;
+        while( (current = table[index]) != 0 )
+        {
+            if( current == value )
+            {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        if( ++size > (mask + 1) >>> 1 )
+        {
+            grow();
+        }
+        return true;
+    }
+
+    public void addAll( int[] values )
+    {
+        for( int value : values )
+        {
+            add(value);
+        }
+    }
+
+    public boolean contains( int value )
+    {
+        if( value == 0 )
+        {
+            return containsZero;
+        }
+        int index = indexOf(value);
+        int current;
+        while( (current = table[index]) != 0 )
+        {
+            if( current == value )
+            {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return whether {@param value} was in the set
+     */
+    public boolean remove( int value )
+    {
+        if( value == 0 )
+        {
+            if( !containsZero )
+            {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int index = indexOf(value);
+        int current;
+        while( (current = table[index]) != value )
+        {
+            if( current == 0 )
+            {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        // shift the following entries of the probe run back so that no lookup stops at the freed slot
+        int free = index;
+        index = (index + 1) & mask;
+        while( (current = table[index]) != 0 )
+        {
+            int home = indexOf(current);
+            if( ((index - home) & mask) >= ((index - free) & mask) )
+            {
+                table[free] = current;
+                free = index;
+            }
+            index = (index + 1) & mask;
+        }
+        table[free] = 0;
+        size--;
+        return true;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(table, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public void forEach( IntConsumer action )
+    {
+        if( containsZero )
+        {
+            action.accept(0);
+        }
+        for( int value : table )
+        {
+            if( value != 0 )
+            {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * @return the elements in no particular order
+     */
+    public int[] toArray()
+    {
+        int[] values = new int[size];
+        int position = 0;
+        if( containsZero )
+        {
+            values[position++] = 0;
+        }
+        for( int value : table )
+        {
+            if( value != 0 )
+            {
+                values[position++] = value;
+            }
+        }
+        return values;
+    }
+
+    private int indexOf( int value )
+    {
+        // Fibonacci hashing spreads sequential ids over the whole table
+        return (value * 0x9E3779B9) >>> shift;
+    }
+
+    private void grow()
+    {
+        if( mask + 1 == MAX_CAPACITY )
+        {
+            throw new IllegalStateException("Set is full at " + size + " elements");
+        }
+        int[] old = table;
+        allocate(old.length << 1);
+        for( int value : old )
+        {
+            if( value != 0 )
+            {
+                int index = indexOf(value);
+                while( table[index] != 0 )
+                {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    private void allocate( int capacity )
+    {
+        table = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    private static int capacityFor( int expectedSize )
+    {
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, (long) expectedSize * 2 - 1)) << 1);
+        return (int) Math.min(MAX_CAPACITY, capacity);
+    }
+}
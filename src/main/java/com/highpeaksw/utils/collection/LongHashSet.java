@@ -0,0 +1,253 @@
+package com.highpeaksw.utils.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of primitive longs with open addressing: the values sit directly in a {@code long[]} probed linearly, so an
+ * element takes 8 to 32 bytes depending on the fill of the table instead of the 48 or more of a boxed
+ * {@link java.util.HashSet}, and lookups do not chase pointers. The table is kept at most half full.
+ *
+ * Zero marks an empty slot, the value zero itself is tracked by a flag. Not thread-safe.
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table;
+
+    private int mask;
+
+    private int shift;
+
+    private int size;
+
+    private boolean containsZero;
+
+    public LongHashSet()
+    {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize
+     *            number of elements the set holds without growing
+     */
+    public LongHashSet( int expectedSize )
+    {
+        if( expectedSize < 0 )
+        {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return set of the distinct {@param values}
+     */
+    public static LongHashSet of( long... values )
+    {
+        LongHashSet set = new LongHashSet(values.length);
+        set.addAll(values);
+        return set;
+    }
+
+    /**
+     * @return whether {@param value} was added, false if it was already in the set
+     */
+    public boolean add( long value )
+    {
+        if( value == 0 )
+        {
+            if( containsZero )
+            {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = indexOf(value);
+        long current;
+        while( (current = table[index]) != 0 )
+        {
+            if( current == value )
+            {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        table[index] = value;
+        if( ++size > (mask + 1) >>> 1 )
+        {
+            grow();
+        }
+        return true;
+    }
+
+    public void addAll( long[] values )
+    {
+        for( long value : values )
+        {
+            add(value);
+        }
+    }
+
+    public boolean contains( long value )
+    {
+        if( value == 0 )
+        {
+            return containsZero;
+        }
+        int index = indexOf(value);
+        long current;
+        while( (current = table[index]) != 0 )
+        {
+            if( current == value )
+            {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return whether {@param value} was in the set
+     */
+    public boolean remove( long value )
+    {
+        if( value == 0 )
+        {
+            if( !containsZero )
+            {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int index = indexOf(value);
+        long current;
+        while( (current = table[index]) != value )
+        {
+            if( current == 0 )
+            {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        // shift the following entries of the probe run back so that no lookup stops at the freed slot
+        int free = index;
+        index = (index + 1) & mask;
+        while( (current = table[index]) != 0 )
+        {
+            int home = indexOf(current);
+            if( ((index - home) & mask) >= ((index - free) & mask) )
+            {
+                table[free] = current;
+                free = index;
+            }
+            index = (index + 1) & mask;
+        }
+        table[free] = 0;
+        size--;
+        return true;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(table, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public void forEach( LongConsumer action )
+    {
+        if( containsZero )
+        {
+            action.accept(0);
+        }
+        for( long value : table )
+        {
+            if( value != 0 )
+            {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * @return the elements in no particular order
+     */
+    public long[] toArray()
+    {
+        long[] values = new long[size];
+        int position = 0;
+        if( containsZero )
+        {
+            values[position++] = 0;
+        }
+        for( long value : table )
+        {
+            if( value != 0 )
+            {
+                values[position++] = value;
+            }
+        }
+        return values;
+    }
+
+    private int indexOf( long value )
+    {
+        // Fibonacci hashing spreads sequential ids over the whole table
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void grow()
+    {
+        if( mask + 1 == MAX_CAPACITY )
+        {
+            throw new IllegalStateException("Set is full at " + size + " elements");
+        }
+        long[] old = table;
+        allocate(old.length << 1);
+        for( long value : old )
+        {
+            if( value != 0 )
+            {
+                int index = indexOf(value);
+                while( table[index] != 0 )
+                {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    private void allocate( int capacity )
+    {
+        table = new long[capacity];
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(mask);
+    }
+
+    private static int capacityFor( int expectedSize )
+    {
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, (long) expectedSize * 2 - 1)) << 1);
+        return (int) Math.min(MAX_CAPACITY, capacity);
+    }
+}
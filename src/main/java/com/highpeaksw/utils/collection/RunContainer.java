@@ -0,0 +1,413 @@
+package com.highpeaksw.utils.collection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs of consecutive values, four bytes per run, so that a dense range of ids takes a few bytes per chunk. The runs
+ * are sorted, and neither overlap nor touch.
+ */
+final class RunContainer extends Container {
+
+    /**
+     * Start and length minus one of every run, in pairs
+     */
+    private char[] runs;
+
+    private int runCount;
+
+    private int cardinality;
+
+    private RunContainer( char[] runs, int runCount, int cardinality )
+    {
+        this.runs = runs;
+        this.runCount = runCount;
+        this.cardinality = cardinality;
+    }
+
+    private RunContainer( int capacity )
+    {
+        this(new char[2 * Math.max(1, capacity)], 0, 0);
+    }
+
+    static int sizeInBytes( int runCount )
+    {
+        return Character.BYTES + runCount * 2 * Character.BYTES;
+    }
+
+    /**
+     * @return container of the single run from {@param start} to {@param end} inclusive
+     */
+    static RunContainer of( int start, int end )
+    {
+        return new RunContainer(new char[] { (char) start, (char) (end - start) }, 1, end - start + 1);
+    }
+
+    static RunContainer fromArray( ArrayContainer array, int runCount )
+    {
+        RunContainer container = new RunContainer(runCount);
+        for( int i = 0; i < array.cardinality; i++ )
+        {
+            container.append(array.values[i], array.values[i]);
+        }
+        return container;
+    }
+
+    static RunContainer fromWords( long[] words, int runCount, int cardinality )
+    {
+        RunContainer container = new RunContainer(runCount);
+        int i = 0;
+        long word = words[0];
+        while( true )
+        {
+            while( word == 0 && i < WORDS - 1 )
+            {
+                word = words[++i];
+            }
+            if( word == 0 )
+            {
+                break;
+            }
+            int start = i << 6 | Long.numberOfTrailingZeros(word);
+            // set the bits below the run, so that the run ends at the first clear bit
+            word |= word - 1;
+            while( word == -1L && i < WORDS - 1 )
+            {
+                word = words[++i];
+            }
+            if( word == -1L )
+            {
+                container.append(start, (WORDS << 6) - 1);
+                break;
+            }
+            container.append(start, (i << 6 | Long.numberOfTrailingZeros(~word)) - 1);
+            word &= word + 1;
+        }
+        return container;
+    }
+
+    static RunContainer deserialize( ByteBuffer buffer )
+    {
+        int runCount = buffer.getChar() + 1;
+        char[] runs = new char[2 * runCount];
+        buffer.asCharBuffer().get(runs);
+        buffer.position(buffer.position() + runs.length * Character.BYTES);
+        int cardinality = 0;
+        int previousEnd = -2;
+        for( int i = 0; i < runCount; i++ )
+        {
+            int start = runs[2 * i];
+            int end = start + runs[2 * i + 1];
+            if( start <= previousEnd + 1 || end > Character.MAX_VALUE )
+            {
+                throw new IllegalArgumentException("Run container runs are not sorted or overlap");
+            }
+            cardinality += end - start + 1;
+            previousEnd = end;
+        }
+        return new RunContainer(runs, runCount, cardinality);
+    }
+
+    static Container and( RunContainer one, RunContainer two )
+    {
+        RunContainer result = new RunContainer(one.runCount + two.runCount);
+        int i = 0;
+        int j = 0;
+        while( i < one.runCount && j < two.runCount )
+        {
+            int start = Math.max(one.start(i), two.start(j));
+            int end = Math.min(one.end(i), two.end(j));
+            if( start <= end )
+            {
+                result.append(start, end);
+            }
+            if( one.end(i) < two.end(j) )
+            {
+                i++;
+            }
+            else
+            {
+                j++;
+            }
+        }
+        return result.cardinality == 0 ? null : result.optimize();
+    }
+
+    static Container or( RunContainer one, RunContainer two )
+    {
+        RunContainer result = new RunContainer(one.runCount + two.runCount);
+        int i = 0;
+        int j = 0;
+        while( i < one.runCount || j < two.runCount )
+        {
+            if( j == two.runCount || i < one.runCount && one.start(i) <= two.start(j) )
+            {
+                result.append(one.start(i), one.end(i));
+                i++;
+            }
+            else
+            {
+                result.append(two.start(j), two.end(j));
+                j++;
+            }
+        }
+        return result.optimize();
+    }
+
+    static Container andNot( RunContainer one, RunContainer two )
+    {
+        RunContainer result = new RunContainer(one.runCount + two.runCount);
+        int j = 0;
+        for( int i = 0; i < one.runCount; i++ )
+        {
+            int current = one.start(i);
+            int end = one.end(i);
+            while( j < two.runCount && two.end(j) < current )
+            {
+                j++;
+            }
+            for( int k = j; k < two.runCount && two.start(k) <= end && current <= end; k++ )
+            {
+                if( two.start(k) > current )
+                {
+                    result.append(current, two.start(k) - 1);
+                }
+                current = Math.max(current, two.end(k) + 1);
+            }
+            if( current <= end )
+            {
+                result.append(current, end);
+            }
+        }
+        return result.cardinality == 0 ? null : result.optimize();
+    }
+
+    private int start( int run )
+    {
+        return runs[2 * run];
+    }
+
+    private int end( int run )
+    {
+        return runs[2 * run] + runs[2 * run + 1];
+    }
+
+    /**
+     * Adds the run from {@param start} to {@param end} inclusive, which must not start before the last run, and
+     * merges it into the last run when they overlap or touch
+     */
+    private void append( int start, int end )
+    {
+        if( runCount > 0 && start <= end(runCount - 1) + 1 )
+        {
+            int last = runCount - 1;
+            int lastEnd = end(last);
+            if( end > lastEnd )
+            {
+                runs[2 * last + 1] = (char) (end - start(last));
+                cardinality += end - lastEnd;
+            }
+            return;
+        }
+        insertRun(runCount, start, end);
+    }
+
+    private void insertRun( int run, int start, int end )
+    {
+        if( 2 * (runCount + 1) > runs.length )
+        {
+            runs = Arrays.copyOf(runs, Math.max(4, runs.length * 2));
+        }
+        System.arraycopy(runs, 2 * run, runs, 2 * run + 2, 2 * (runCount - run));
+        runs[2 * run] = (char) start;
+        runs[2 * run + 1] = (char) (end - start);
+        runCount++;
+        cardinality += end - start + 1;
+    }
+
+    private void deleteRun( int run )
+    {
+        cardinality -= end(run) - start(run) + 1;
+        System.arraycopy(runs, 2 * run + 2, runs, 2 * run, 2 * (runCount - run - 1));
+        runCount--;
+    }
+
+    /**
+     * @return index of the last run starting at or before {@param value}, -1 if there is none
+     */
+    private int floorRun( char value )
+    {
+        int low = 0;
+        int high = runCount - 1;
+        while( low <= high )
+        {
+            int middle = (low + high) >>> 1;
+            if( runs[2 * middle] <= value )
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    @Override
+    byte type()
+    {
+        return RUN;
+    }
+
+    @Override
+    int cardinality()
+    {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains( char value )
+    {
+        int run = floorRun(value);
+        return run >= 0 && value <= end(run);
+    }
+
+    @Override
+    char first()
+    {
+        return runs[0];
+    }
+
+    @Override
+    char last()
+    {
+        return (char) end(runCount - 1);
+    }
+
+    @Override
+    Container add( char value )
+    {
+        int run = floorRun(value);
+        if( run >= 0 && value <= end(run) )
+        {
+            return this;
+        }
+        boolean extendsPrevious = run >= 0 && end(run) + 1 == value;
+        boolean extendsNext = run + 1 < runCount && start(run + 1) == value + 1;
+        if( extendsPrevious && extendsNext )
+        {
+            int end = end(run + 1);
+            deleteRun(run + 1);
+            runs[2 * run + 1] = (char) (end - start(run));
+            cardinality += end - value + 1;
+        }
+        else if( extendsPrevious )
+        {
+            runs[2 * run + 1]++;
+            cardinality++;
+        }
+        else if( extendsNext )
+        {
+            runs[2 * run + 2] = value;
+            runs[2 * run + 3]++;
+            cardinality++;
+        }
+        else
+        {
+            insertRun(run + 1, value, value);
+        }
+        return sizeInBytes(runCount) > BITMAP_BYTES ? optimize() : this;
+    }
+
+    @Override
+    Container remove( char value )
+    {
+        int run = floorRun(value);
+        if( run < 0 || value > end(run) )
+        {
+            return this;
+        }
+        int start = start(run);
+        int end = end(run);
+        if( start == end )
+        {
+            deleteRun(run);
+            return this;
+        }
+        cardinality--;
+        if( value == start )
+        {
+            runs[2 * run] = (char) (start + 1);
+            runs[2 * run + 1]--;
+        }
+        else if( value == end )
+        {
+            runs[2 * run + 1]--;
+        }
+        else
+        {
+            runs[2 * run + 1] = (char) (value - 1 - start);
+            cardinality -= end - value;
+            insertRun(run + 1, value + 1, end);
+        }
+        return sizeInBytes(runCount) > BITMAP_BYTES ? optimize() : this;
+    }
+
+    @Override
+    void forEach( int high, IntConsumer action )
+    {
+        for( int i = 0; i < runCount; i++ )
+        {
+            int end = end(i);
+            for( int value = start(i); value <= end; value++ )
+            {
+                action.accept(high | value);
+            }
+        }
+    }
+
+    @Override
+    void orInto( long[] words )
+    {
+        for( int i = 0; i < runCount; i++ )
+        {
+            setRange(words, start(i), end(i) + 1);
+        }
+    }
+
+    @Override
+    Container optimize()
+    {
+        int arrayBytes = cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.sizeInBytes(cardinality) : Integer.MAX_VALUE;
+        if( sizeInBytes(runCount) <= Math.min(arrayBytes, BITMAP_BYTES) )
+        {
+            return this;
+        }
+        long[] words = new long[WORDS];
+        orInto(words);
+        return cardinality <= MAX_ARRAY_SIZE ? ArrayContainer.fromWords(words, cardinality)
+                : new BitmapContainer(words, cardinality);
+    }
+
+    @Override
+    Container copy()
+    {
+        return new RunContainer(Arrays.copyOf(runs, 2 * runCount), runCount, cardinality);
+    }
+
+    @Override
+    int serializedSizeInBytes()
+    {
+        return sizeInBytes(runCount);
+    }
+
+    @Override
+    void serialize( ByteBuffer buffer )
+    {
+        buffer.putChar((char) (runCount - 1));
+        buffer.asCharBuffer().put(runs, 0, 2 * runCount);
+        buffer.position(buffer.position() + 2 * runCount * Character.BYTES);
+    }
+}
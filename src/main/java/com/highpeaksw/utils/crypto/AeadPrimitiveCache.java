@@ -0,0 +1,232 @@
+package com.highpeaksw.utils.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded, thread-safe cache of crypto primitives (for example {@link com.google.crypto.tink.subtle.AesGcmJce})
+ * keyed by the SHA-256 digest of the key material. The raw key is never stored in the cache, only its digest.
+ *
+ * Entries are evicted in least-recently-used order once {@code maximumSize} is reached and expire
+ * {@code expireAfterWrite} after they were created. On eviction the cached digest is zeroed and the primitive is
+ * released. Primitives are not destroyed on eviction because callers may still be using an instance they fetched
+ * earlier.
+ *
+ * @param <P>
+ *            type of the cached primitive
+ */
+@Slf4j
+public class AeadPrimitiveCache<P> {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+    public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(30);
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try
+        {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        }
+        catch( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    });
+
+    private final int maximumSize;
+
+    private final long expireAfterWriteNanos;
+
+    private final PrimitiveFactory<P> factory;
+
+    private final LinkedHashMap<ByteBuffer, CacheEntry<P>> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a primitive from the raw key material. Implementations must not keep a reference to the passed
+     * array, the cache wipes it once the primitive is built.
+     *
+     * @param <P>
+     *            type of the primitive
+     */
+    @FunctionalInterface
+    public interface PrimitiveFactory<P> {
+
+        P create( byte[] keyMaterial ) throws GeneralSecurityException;
+    }
+
+    public AeadPrimitiveCache( PrimitiveFactory<P> factory )
+    {
+        this(factory, DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRE_AFTER_WRITE);
+    }
+
+    public AeadPrimitiveCache( PrimitiveFactory<P> factory, int maximumSize, Duration expireAfterWrite )
+    {
+        if( maximumSize < 1 )
+        {
+            throw new IllegalArgumentException("Maximum cache size must be at least 1");
+        }
+        if( expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero() )
+        {
+            throw new IllegalArgumentException("Expiry duration must be positive");
+        }
+        this.factory = factory;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached primitive for the key material, creating and caching it on a miss. The caller keeps
+     * ownership of {@param keyMaterial} and should wipe it once this method returns.
+     *
+     * @param keyMaterial
+     *            raw key bytes
+     * @return primitive for the key
+     * @throws GeneralSecurityException
+     *             if the primitive could not be created for the key
+     */
+    public P get( byte[] keyMaterial ) throws GeneralSecurityException
+    {
+        ByteBuffer digest = ByteBuffer.wrap(DIGEST.get().digest(keyMaterial));
+        long now = System.nanoTime();
+        synchronized( entries )
+        {
+            CacheEntry<P> entry = entries.get(digest);
+            if( entry != null && !isExpired(entry, now) )
+            {
+                hitCount.increment();
+                return entry.primitive;
+            }
+        }
+
+        missCount.increment();
+        byte[] factoryInput = keyMaterial.clone();
+        P primitive;
+        try
+        {
+            primitive = factory.create(factoryInput);
+        }
+        finally
+        {
+            Arrays.fill(factoryInput, (byte) 0);
+        }
+
+        synchronized( entries )
+        {
+            removeExpired(now);
+            CacheEntry<P> existing = entries.get(digest);
+            if( existing != null )
+            {
+                // Another thread built the same primitive meanwhile, keep the one already shared
+                Arrays.fill(digest.array(), (byte) 0);
+                return existing.primitive;
+            }
+            entries.put(digest, new CacheEntry<>(primitive, now));
+            removeLeastRecentlyUsed();
+            return primitive;
+        }
+    }
+
+    /**
+     * Removes every entry from the cache, wiping each one as if it had been evicted.
+     */
+    public void invalidateAll()
+    {
+        synchronized( entries )
+        {
+            entries.keySet().forEach(this::evict);
+            entries.clear();
+        }
+    }
+
+    public int size()
+    {
+        synchronized( entries )
+        {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount.sum();
+    }
+
+    private boolean isExpired( CacheEntry<P> entry, long now )
+    {
+        return now - entry.createdAtNanos >= expireAfterWriteNanos;
+    }
+
+    private void removeExpired( long now )
+    {
+        Iterator<Map.Entry<ByteBuffer, CacheEntry<P>>> iterator = entries.entrySet().iterator();
+        while( iterator.hasNext() )
+        {
+            Map.Entry<ByteBuffer, CacheEntry<P>> entry = iterator.next();
+            if( isExpired(entry.getValue(), now) )
+            {
+                iterator.remove();
+                evict(entry.getKey());
+            }
+        }
+    }
+
+    private void removeLeastRecentlyUsed()
+    {
+        Iterator<Map.Entry<ByteBuffer, CacheEntry<P>>> iterator = entries.entrySet().iterator();
+        while( entries.size() > maximumSize && iterator.hasNext() )
+        {
+            Map.Entry<ByteBuffer, CacheEntry<P>> eldest = iterator.next();
+            iterator.remove();
+            evict(eldest.getKey());
+        }
+    }
+
+    private void evict( ByteBuffer digest )
+    {
+        evictionCount.increment();
+        Arrays.fill(digest.array(), (byte) 0);
+        log.debug("Evicted cached crypto primitive, {} entries left", entries.size());
+    }
+
+    private static final class CacheEntry<P> {
+
+        private final P primitive;
+
+        private final long createdAtNanos;
+
+        private CacheEntry( P primitive, long createdAtNanos )
+        {
+            this.primitive = primitive;
+            this.createdAtNanos = createdAtNanos;
+        }
+    }
+}
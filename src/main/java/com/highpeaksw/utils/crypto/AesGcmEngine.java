@@ -0,0 +1,123 @@
+package com.highpeaksw.utils.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.SecureRandom;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AES-GCM over {@link ByteBuffer}s using the JCE cipher directly. The ciphertext layout is the one of Tink's
+ * {@link com.google.crypto.tink.subtle.AesGcmJce}: a random 12 byte IV, the ciphertext and a 16 byte tag, so
+ * values produced by either implementation can be decrypted by the other.
+ *
+ * Instances are immutable and thread-safe, every thread keeps its own {@link Cipher}. Instances are obtained through
+ * the services of this package, which resolve them from a String key.
+ */
+public final class AesGcmEngine {
+
+    static final int IV_SIZE = 12;
+
+    static final int TAG_SIZE = 16;
+
+    static final int OVERHEAD = IV_SIZE + TAG_SIZE;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try
+        {
+            return Cipher.getInstance(TRANSFORMATION);
+        }
+        catch( GeneralSecurityException e )
+        {
+            throw new IllegalStateException(TRANSFORMATION + " is not available", e);
+        }
+    });
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final SecretKeySpec keySpec;
+
+    AesGcmEngine( byte[] key ) throws GeneralSecurityException
+    {
+        if( key.length != 16 && key.length != 32 )
+        {
+            throw new InvalidKeyException("invalid key size; only 128-bit and 256-bit AES keys are supported");
+        }
+        this.keySpec = new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Encrypts the remaining bytes of {@param plainText} into {@param cipherText}, advancing both buffers.
+     *
+     * @return number of bytes written, always {@code plainText.remaining() + OVERHEAD}
+     */
+    int encrypt( ByteBuffer plainText, ByteBuffer cipherText, byte[] associatedData ) throws GeneralSecurityException
+    {
+        if( cipherText.remaining() < plainText.remaining() + OVERHEAD )
+        {
+            throw new ShortBufferException("Output buffer too small for the ciphertext");
+        }
+        byte[] iv = new byte[IV_SIZE];
+        RANDOM.get().nextBytes(iv);
+        Cipher cipher = CIPHER.get();
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, new GCMParameterSpec(TAG_SIZE * 8, iv));
+        if( associatedData != null )
+        {
+            cipher.updateAAD(associatedData);
+        }
+        cipherText.put(iv);
+        return IV_SIZE + cipher.doFinal(plainText, cipherText);
+    }
+
+    /**
+     * Decrypts and authenticates the remaining bytes of {@param cipherText} into {@param plainText}, advancing
+     * both buffers.
+     *
+     * @return number of plain text bytes written
+     */
+    int decrypt( ByteBuffer cipherText, ByteBuffer plainText, byte[] associatedData ) throws GeneralSecurityException
+    {
+        if( cipherText.remaining() < OVERHEAD )
+        {
+            throw new AEADBadTagException("ciphertext too short");
+        }
+        if( plainText.remaining() < cipherText.remaining() - OVERHEAD )
+        {
+            throw new ShortBufferException("Output buffer too small for the plain text");
+        }
+        byte[] iv = new byte[IV_SIZE];
+        cipherText.get(iv);
+        Cipher cipher = CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, new GCMParameterSpec(TAG_SIZE * 8, iv));
+        if( associatedData != null )
+        {
+            cipher.updateAAD(associatedData);
+        }
+        return cipher.doFinal(cipherText, plainText);
+    }
+
+    byte[] encrypt( byte[] plainText, byte[] associatedData ) throws GeneralSecurityException
+    {
+        byte[] cipherText = new byte[plainText.length + OVERHEAD];
+        encrypt(ByteBuffer.wrap(plainText), ByteBuffer.wrap(cipherText), associatedData);
+        return cipherText;
+    }
+
+    byte[] decrypt( byte[] cipherText, byte[] associatedData ) throws GeneralSecurityException
+    {
+        if( cipherText.length < OVERHEAD )
+        {
+            throw new AEADBadTagException("ciphertext too short");
+        }
+        byte[] plainText = new byte[cipherText.length - OVERHEAD];
+        decrypt(ByteBuffer.wrap(cipherText), ByteBuffer.wrap(plainText), associatedData);
+        return plainText;
+    }
+}
@@ -0,0 +1,107 @@
+package com.highpeaksw.utils.crypto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle of a batch submitted to {@link BulkEncryptionService}. The batch is split into chunks that run
+ * independently; {@link #get()} joins them and stitches the chunk results back together in input order.
+ *
+ * Cancelling the task stops chunks that have not started yet and interrupts the ones in progress, a running chunk
+ * checks for cancellation between slices of a few hundred values.
+ */
+public class BulkCryptoTask implements Future<CryptoBatchResult<Integer, List<String>>> {
+
+    private final int size;
+
+    private final int[] chunkOffsets;
+
+    private final List<Future<CryptoBatchResult<Integer, List<String>>>> chunks;
+
+    private final AtomicBoolean cancelled;
+
+    BulkCryptoTask( int size, int[] chunkOffsets, List<Future<CryptoBatchResult<Integer, List<String>>>> chunks,
+            AtomicBoolean cancelled )
+    {
+        this.size = size;
+        this.chunkOffsets = chunkOffsets;
+        this.chunks = chunks;
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public boolean cancel( boolean mayInterruptIfRunning )
+    {
+        if( isDone() )
+        {
+            return false;
+        }
+        cancelled.set(true);
+        chunks.forEach(chunk -> chunk.cancel(mayInterruptIfRunning));
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled()
+    {
+        return cancelled.get();
+    }
+
+    @Override
+    public boolean isDone()
+    {
+        return chunks.stream().allMatch(Future::isDone);
+    }
+
+    @Override
+    public CryptoBatchResult<Integer, List<String>> get() throws InterruptedException, ExecutionException
+    {
+        List<String> values = new ArrayList<>(size);
+        Map<Integer, String> failures = new HashMap<>();
+        for( int i = 0; i < chunks.size(); i++ )
+        {
+            merge(checkNotCancelled(chunks.get(i)).get(), chunkOffsets[i], values, failures);
+        }
+        return new CryptoBatchResult<>(values, failures);
+    }
+
+    @Override
+    public CryptoBatchResult<Integer, List<String>> get( long timeout, TimeUnit unit )
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<String> values = new ArrayList<>(size);
+        Map<Integer, String> failures = new HashMap<>();
+        for( int i = 0; i < chunks.size(); i++ )
+        {
+            long remaining = deadline - System.nanoTime();
+            merge(checkNotCancelled(chunks.get(i)).get(Math.max(0, remaining), TimeUnit.NANOSECONDS),
+                    chunkOffsets[i], values, failures);
+        }
+        return new CryptoBatchResult<>(values, failures);
+    }
+
+    private <T> Future<T> checkNotCancelled( Future<T> chunk )
+    {
+        if( cancelled.get() )
+        {
+            throw new CancellationException("Bulk crypto task was cancelled");
+        }
+        return chunk;
+    }
+
+    private static void merge( CryptoBatchResult<Integer, List<String>> chunkResult, int offset, List<String> values,
+            Map<Integer, String> failures )
+    {
+        values.addAll(chunkResult.getValues());
+        chunkResult.getFailures().forEach(( index, message ) -> failures.put(offset + index, message));
+    }
+}
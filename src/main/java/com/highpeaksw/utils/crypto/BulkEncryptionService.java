@@ -0,0 +1,17 @@
+package com.highpeaksw.utils.crypto;
+
+import java.util.List;
+
+import com.highpeaksw.utils.exception.DataException;
+
+public interface BulkEncryptionService {
+
+    CryptoBatchResult<Integer, List<String>> aesEncryptAll( List<String> plainTexts, String key ) throws DataException;
+
+    CryptoBatchResult<Integer, List<String>> aesDecryptAll( List<String> encryptedTexts, String key )
+            throws DataException;
+
+    BulkCryptoTask submitAesEncryptAll( List<String> plainTexts, String key ) throws DataException;
+
+    BulkCryptoTask submitAesDecryptAll( List<String> encryptedTexts, String key ) throws DataException;
+}
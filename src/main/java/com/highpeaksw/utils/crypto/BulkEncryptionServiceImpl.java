@@ -0,0 +1,274 @@
+package com.highpeaksw.utils.crypto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.highpeaksw.utils.NullEmptyUtils;
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.enums.BulkExecutorTypeEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits large encrypt and decrypt batches across cores on top of {@link EncryptionService}. Batches below the
+ * sequential threshold run in the calling thread, larger ones are cut into chunks that run on the configured
+ * executor and are joined back in input order.
+ *
+ * The executor is configured in {@code application.properties}:
+ * <ul>
+ * <li>{@code utils.crypto.bulk.executor} - {@link BulkExecutorTypeEnum}, defaults to FORK_JOIN</li>
+ * <li>{@code utils.crypto.bulk.parallelism} - worker count, 0 uses the number of available processors</li>
+ * <li>{@code utils.crypto.bulk.sequential-threshold} - batch size below which no chunking happens</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class BulkEncryptionServiceImpl implements BulkEncryptionService {
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private static final int MAX_CHUNK_SIZE = 8192;
+
+    private static final int CANCELLATION_CHECK_INTERVAL = 256;
+
+    private final EncryptionService encryptionService;
+
+    private final int parallelism;
+
+    private final int sequentialThreshold;
+
+    private final ExecutorService executor;
+
+    public BulkEncryptionServiceImpl( EncryptionService encryptionService,
+            @Value( "${utils.crypto.bulk.executor:FORK_JOIN}" ) BulkExecutorTypeEnum executorType,
+            @Value( "${utils.crypto.bulk.parallelism:0}" ) int parallelism,
+            @Value( "${utils.crypto.bulk.sequential-threshold:2048}" ) int sequentialThreshold )
+    {
+        this.encryptionService = encryptionService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.sequentialThreshold = Math.max(1, sequentialThreshold);
+        this.executor = executorType == BulkExecutorTypeEnum.THREAD_PER_CHUNK
+                ? Executors.newFixedThreadPool(this.parallelism, daemonThreadFactory())
+                : new ForkJoinPool(this.parallelism);
+        log.info("Bulk encryption uses {} with parallelism {}", executorType, this.parallelism);
+    }
+
+    /**
+     * Encrypts every value of {@param plainTexts} like {@link EncryptionService#aesEncryptAll(List, String)},
+     * spreading large batches across the configured executor. The output keeps the input order.
+     *
+     * @param plainTexts
+     *            Texts to be AES encrypted
+     * @param key
+     *            Key to be used for encryption
+     * @return Base64 Encoded AES encrypted strings along with the per-element failures
+     * @throws DataException
+     *             if the list or the key is missing or invalid, or the batch was interrupted
+     */
+    @Override
+    public CryptoBatchResult<Integer, List<String>> aesEncryptAll( List<String> plainTexts, String key )
+            throws DataException
+    {
+        return await(submitAesEncryptAll(plainTexts, key));
+    }
+
+    /**
+     * Decrypts every value of {@param encryptedTexts} like {@link EncryptionService#aesDecryptAll(List, String)},
+     * spreading large batches across the configured executor. The output keeps the input order.
+     *
+     * @param encryptedTexts
+     *            Base64 Encoded AES encrypted texts
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypted strings along with the per-element failures
+     * @throws DataException
+     *             if the list or the key is missing or invalid, or the batch was interrupted
+     */
+    @Override
+    public CryptoBatchResult<Integer, List<String>> aesDecryptAll( List<String> encryptedTexts, String key )
+            throws DataException
+    {
+        return await(submitAesDecryptAll(encryptedTexts, key));
+    }
+
+    /**
+     * Asynchronous variant of {@link #aesEncryptAll(List, String)}. The key is validated before any chunk is
+     * scheduled, the returned task can be cancelled.
+     *
+     * @param plainTexts
+     *            Texts to be AES encrypted
+     * @param key
+     *            Key to be used for encryption
+     * @return handle of the running batch
+     * @throws DataException
+     *             if the list or the key is missing or invalid
+     */
+    @Override
+    public BulkCryptoTask submitAesEncryptAll( List<String> plainTexts, String key ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(plainTexts, "Plain texts are missing");
+        return submit(plainTexts, slice -> encryptionService.aesEncryptAll(slice, key));
+    }
+
+    /**
+     * Asynchronous variant of {@link #aesDecryptAll(List, String)}.
+     *
+     * @param encryptedTexts
+     *            Base64 Encoded AES encrypted texts
+     * @param key
+     *            Key to be used for decryption
+     * @return handle of the running batch
+     * @throws DataException
+     *             if the list or the key is missing or invalid
+     */
+    @Override
+    public BulkCryptoTask submitAesDecryptAll( List<String> encryptedTexts, String key ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(encryptedTexts, "Encrypted texts are missing");
+        return submit(encryptedTexts, slice -> encryptionService.aesDecryptAll(slice, key));
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        executor.shutdownNow();
+    }
+
+    private BulkCryptoTask submit( List<String> values, SliceOperation operation ) throws DataException
+    {
+        // An empty slice validates the key and warms the primitive cache before any chunk is scheduled
+        operation.apply(Collections.emptyList());
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        if( values.size() < sequentialThreshold )
+        {
+            return new BulkCryptoTask(values.size(), new int[] { 0 },
+                    List.of(runInCallingThread(() -> runChunk(values, operation, cancelled))), cancelled);
+        }
+
+        int chunkSize = chunkSize(values.size());
+        int chunkCount = (values.size() + chunkSize - 1) / chunkSize;
+        int[] chunkOffsets = new int[chunkCount];
+        List<Future<CryptoBatchResult<Integer, List<String>>>> chunks = new ArrayList<>(chunkCount);
+        for( int i = 0; i < chunkCount; i++ )
+        {
+            int from = i * chunkSize;
+            List<String> chunk = values.subList(from, Math.min(values.size(), from + chunkSize));
+            chunkOffsets[i] = from;
+            chunks.add(executor.submit(() -> runChunk(chunk, operation, cancelled)));
+        }
+        return new BulkCryptoTask(values.size(), chunkOffsets, chunks, cancelled);
+    }
+
+    /**
+     * Aims for a few chunks per worker so that uneven chunks even out, bounded so that chunks neither drown in
+     * scheduling overhead nor delay cancellation for long
+     */
+    private int chunkSize( int size )
+    {
+        int target = (size + parallelism * CHUNKS_PER_WORKER - 1) / (parallelism * CHUNKS_PER_WORKER);
+        return Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, target));
+    }
+
+    private static CryptoBatchResult<Integer, List<String>> runChunk( List<String> chunk, SliceOperation operation,
+            AtomicBoolean cancelled ) throws DataException
+    {
+        List<String> values = new ArrayList<>(chunk.size());
+        Map<Integer, String> failures = new HashMap<>();
+        for( int from = 0; from < chunk.size(); from += CANCELLATION_CHECK_INTERVAL )
+        {
+            if( cancelled.get() || Thread.currentThread().isInterrupted() )
+            {
+                throw new CancellationException("Bulk crypto task was cancelled");
+            }
+            int offset = from;
+            CryptoBatchResult<Integer, List<String>> slice = operation
+                    .apply(chunk.subList(from, Math.min(chunk.size(), from + CANCELLATION_CHECK_INTERVAL)));
+            values.addAll(slice.getValues());
+            slice.getFailures().forEach(( index, message ) -> failures.put(offset + index, message));
+        }
+        return new CryptoBatchResult<>(values, failures);
+    }
+
+    private static Future<CryptoBatchResult<Integer, List<String>>> runInCallingThread( ChunkCall call )
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(call.run());
+        }
+        catch( Exception e )
+        {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static CryptoBatchResult<Integer, List<String>> await( BulkCryptoTask task ) throws DataException
+    {
+        try
+        {
+            return task.get();
+        }
+        catch( InterruptedException e )
+        {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DataException(GeneralConstants.EXCEPTION, "Bulk crypto operation was interrupted",
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        catch( ExecutionException e )
+        {
+            task.cancel(true);
+            if( e.getCause() instanceof DataException dataException )
+            {
+                throw dataException;
+            }
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.SOMETHING_WENT_WRONG,
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory()
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "bulk-crypto-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @FunctionalInterface
+    private interface SliceOperation {
+
+        CryptoBatchResult<Integer, List<String>> apply( List<String> slice ) throws DataException;
+    }
+
+    @FunctionalInterface
+    private interface ChunkCall {
+
+        CryptoBatchResult<Integer, List<String>> run() throws DataException;
+    }
+}
@@ -0,0 +1,314 @@
+package com.highpeaksw.utils.crypto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.AEADBadTagException;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Text layer of {@link EncryptionServiceImpl}: UTF-8 plain text in, Base-64 ciphertext out and back. The UTF-8
+ * bytes, the ciphertext and the Base-64 bytes are all written into per-thread scratch arrays, so a call only
+ * allocates the resulting String, which is built from the scratch array in a single copy.
+ *
+ * Scratch arrays grow with the largest value seen by the thread up to {@link #MAX_RETAINED_SIZE}, larger values use
+ * one-off arrays so that a single huge value does not stay pinned to the thread. The plain text part of the scratch
+ * is wiped after every call.
+ *
+ * The decoder accepts the same input as {@link java.util.Base64#getDecoder()}: the basic alphabet with optional
+ * padding, no line separators.
+ */
+final class CipherTextCodec {
+
+    static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+    static final String INVALID_BASE64 = "Encrypted text is not valid Base64";
+
+    /**
+     * Largest array the JVM reliably allocates
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final int[] DECODE_TABLE = new int[128];
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    static
+    {
+        Arrays.fill(DECODE_TABLE, -1);
+        for( int i = 0; i < ALPHABET.length; i++ )
+        {
+            DECODE_TABLE[ALPHABET[i]] = i;
+        }
+    }
+
+    private CipherTextCodec() throws DataException
+    {
+        throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.CONSTRUCTOR_CREATION_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Encrypts the UTF-8 form of {@param plainText} and returns it Base-64 encoded
+     *
+     * @throws ArithmeticException
+     *             if the Base-64 form is too long for a String
+     */
+    static String encrypt( AesGcmEngine engine, CharSequence plainText ) throws GeneralSecurityException
+    {
+        Scratch scratch = SCRATCH.get();
+        byte[] plain;
+        int plainLength;
+        if( plainText.length() * 3L > MAX_ARRAY_SIZE )
+        {
+            // too long for a worst case buffer, encode into an array of the exact size instead
+            plain = plainText.toString().getBytes(StandardCharsets.UTF_8);
+            plainLength = plain.length;
+        }
+        else
+        {
+            plain = scratch.plain(plainText.length() * 3);
+            plainLength = encodeUtf8(plainText, plain);
+        }
+        try
+        {
+            byte[] cipher = scratch.cipher(Math.addExact(plainLength, AesGcmEngine.OVERHEAD));
+            int cipherLength = engine.encrypt(ByteBuffer.wrap(plain, 0, plainLength), ByteBuffer.wrap(cipher),
+                    null);
+            byte[] text = scratch.text(Math.multiplyExact((cipherLength + 2) / 3, 4));
+            int textLength = encodeBase64(cipher, cipherLength, text);
+            return new String(text, 0, textLength, StandardCharsets.ISO_8859_1);
+        }
+        finally
+        {
+            Arrays.fill(plain, 0, plainLength, (byte) 0);
+        }
+    }
+
+    /**
+     * Decodes the Base-64 {@param encryptedText}, decrypts it and returns the UTF-8 plain text
+     *
+     * @throws IllegalArgumentException
+     *             if the text is not valid Base-64
+     */
+    static String decrypt( AesGcmEngine engine, CharSequence encryptedText ) throws GeneralSecurityException
+    {
+        String plainText = decryptOrNull(engine, encryptedText);
+        if( plainText == null )
+        {
+            throw new IllegalArgumentException(INVALID_BASE64);
+        }
+        return plainText;
+    }
+
+    /**
+     * Same as {@link #decrypt(AesGcmEngine, CharSequence)} but returns {@code null} instead of throwing when the text
+     * is not valid Base-64
+     */
+    static String decryptOrNull( AesGcmEngine engine, CharSequence encryptedText ) throws GeneralSecurityException
+    {
+        Scratch scratch = SCRATCH.get();
+        byte[] cipher = scratch.cipher(encryptedText.length() / 4 * 3 + 3);
+        int cipherLength = decodeBase64(encryptedText, cipher);
+        if( cipherLength < 0 )
+        {
+            return null;
+        }
+        if( cipherLength < AesGcmEngine.OVERHEAD )
+        {
+            throw new AEADBadTagException("ciphertext too short");
+        }
+        byte[] plain = scratch.plain(cipherLength - AesGcmEngine.OVERHEAD);
+        int plainLength = 0;
+        try
+        {
+            plainLength = engine.decrypt(ByteBuffer.wrap(cipher, 0, cipherLength), ByteBuffer.wrap(plain), null);
+            return new String(plain, 0, plainLength, StandardCharsets.UTF_8);
+        }
+        finally
+        {
+            Arrays.fill(plain, 0, plainLength, (byte) 0);
+        }
+    }
+
+    /**
+     * Writes the UTF-8 form of {@param value} into {@param target}, which must hold three bytes per char. Unpaired
+     * surrogates are replaced by {@code '?'} like {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @return number of bytes written
+     */
+    static int encodeUtf8( CharSequence value, byte[] target )
+    {
+        int position = 0;
+        int length = value.length();
+        for( int i = 0; i < length; i++ )
+        {
+            char c = value.charAt(i);
+            if( c < 0x80 )
+            {
+                target[position++] = (byte) c;
+            }
+            else if( c < 0x800 )
+            {
+                target[position++] = (byte) (0xC0 | (c >> 6));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+            else if( Character.isSurrogate(c) )
+            {
+                if( Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1)) )
+                {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    target[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    target[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    target[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    target[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                }
+                else
+                {
+                    target[position++] = '?';
+                }
+            }
+            else
+            {
+                target[position++] = (byte) (0xE0 | (c >> 12));
+                target[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Writes the padded Base-64 form of the first {@param length} bytes of {@param source} into {@param target}
+     *
+     * @return number of bytes written
+     */
+    static int encodeBase64( byte[] source, int length, byte[] target )
+    {
+        int position = 0;
+        int fullGroupsEnd = length - length % 3;
+        for( int i = 0; i < fullGroupsEnd; i += 3 )
+        {
+            int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | (source[i + 2] & 0xFF);
+            target[position++] = ALPHABET[bits >>> 18];
+            target[position++] = ALPHABET[(bits >>> 12) & 0x3F];
+            target[position++] = ALPHABET[(bits >>> 6) & 0x3F];
+            target[position++] = ALPHABET[bits & 0x3F];
+        }
+        if( fullGroupsEnd < length )
+        {
+            int bits = (source[fullGroupsEnd] & 0xFF) << 16;
+            boolean twoBytes = fullGroupsEnd + 1 < length;
+            if( twoBytes )
+            {
+                bits |= (source[fullGroupsEnd + 1] & 0xFF) << 8;
+            }
+            target[position++] = ALPHABET[bits >>> 18];
+            target[position++] = ALPHABET[(bits >>> 12) & 0x3F];
+            target[position++] = twoBytes ? ALPHABET[(bits >>> 6) & 0x3F] : (byte) '=';
+            target[position++] = '=';
+        }
+        return position;
+    }
+
+    /**
+     * Decodes the Base-64 {@param value} into {@param target}, which must hold {@code value.length() / 4 * 3 + 3}
+     * bytes
+     *
+     * @return number of bytes written, or -1 if the value is not valid Base-64
+     */
+    static int decodeBase64( CharSequence value, byte[] target )
+    {
+        int length = value.length();
+        int end = length;
+        if( end > 0 && value.charAt(end - 1) == '=' )
+        {
+            end--;
+            if( end > 0 && value.charAt(end - 1) == '=' )
+            {
+                end--;
+            }
+            if( length % 4 != 0 )
+            {
+                return -1;
+            }
+        }
+        if( end % 4 == 1 )
+        {
+            return -1;
+        }
+
+        int position = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for( int i = 0; i < end; i++ )
+        {
+            char c = value.charAt(i);
+            int digit = c < DECODE_TABLE.length ? DECODE_TABLE[c] : -1;
+            if( digit < 0 )
+            {
+                return -1;
+            }
+            bits = bits << 6 | digit;
+            bitCount += 6;
+            if( bitCount >= 8 )
+            {
+                bitCount -= 8;
+                target[position++] = (byte) (bits >> bitCount);
+                bits &= (1 << bitCount) - 1;
+            }
+        }
+        return position;
+    }
+
+    private static final class Scratch {
+
+        private static final int PLAIN = 0;
+
+        private static final int CIPHER = 1;
+
+        private static final int TEXT = 2;
+
+        private final byte[][] buffers = { new byte[256], new byte[256], new byte[512] };
+
+        byte[] plain( int size )
+        {
+            return get(PLAIN, size);
+        }
+
+        byte[] cipher( int size )
+        {
+            return get(CIPHER, size);
+        }
+
+        byte[] text( int size )
+        {
+            return get(TEXT, size);
+        }
+
+        private byte[] get( int slot, int size )
+        {
+            byte[] buffer = buffers[slot];
+            if( size <= buffer.length )
+            {
+                return buffer;
+            }
+            if( size > MAX_RETAINED_SIZE )
+            {
+                return new byte[size];
+            }
+            Arrays.fill(buffer, (byte) 0);
+            buffers[slot] = new byte[Math.min(MAX_RETAINED_SIZE, Math.max(size, buffer.length * 2))];
+            return buffers[slot];
+        }
+    }
+}
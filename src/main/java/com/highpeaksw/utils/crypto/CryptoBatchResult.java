@@ -0,0 +1,34 @@
+package com.highpeaksw.utils.crypto;
+
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a batch encrypt or decrypt call. A failing element does not abort the batch: its slot in
+ * {@link #getValues()} is left {@code null} and the reason is recorded in {@link #getFailures()} against the
+ * element's index (for lists) or column name (for maps).
+ *
+ * @param <K>
+ *            type used to identify an element, the list index or the column name
+ * @param <V>
+ *            type of the transformed values, a {@link java.util.List} or a {@link Map}
+ */
+@Getter
+public class CryptoBatchResult<K, V> {
+
+    private final V values;
+
+    private final Map<K, String> failures;
+
+    public CryptoBatchResult( V values, Map<K, String> failures )
+    {
+        this.values = values;
+        this.failures = failures;
+    }
+
+    public boolean hasFailures()
+    {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,186 @@
+package com.highpeaksw.utils.crypto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Header of a file written by {@link FileEncryptionService}. Layout, big-endian:
+ *
+ * <pre>
+ * magic "HPSF" (4) | version (1) | plain text segment size (4) | plain text length (8) | segment count (4)
+ * | file id (16) | segment table: segment count x (ciphertext offset (8) | ciphertext length (4))
+ * </pre>
+ *
+ * Every segment is encrypted on its own as {@code IV | ciphertext | tag} with the fixed part of the header, the
+ * segment index and a last-segment flag as associated data. Segments therefore cannot be reordered, truncated or
+ * moved between files, and any single segment can be located through the table and decrypted without reading the
+ * rest of the file.
+ */
+@Getter
+public final class EncryptedFileHeader {
+
+    static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final byte[] MAGIC = { 'H', 'P', 'S', 'F' };
+
+    private static final byte VERSION = 1;
+
+    private static final int FILE_ID_SIZE = 16;
+
+    private static final int FIXED_SIZE = MAGIC.length + 1 + Integer.BYTES + Long.BYTES + Integer.BYTES + FILE_ID_SIZE;
+
+    private static final int TABLE_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int segmentSize;
+
+    private final long plainTextLength;
+
+    private final int segmentCount;
+
+    @Getter( AccessLevel.NONE )
+    private final byte[] fixedPart;
+
+    private EncryptedFileHeader( int segmentSize, long plainTextLength, int segmentCount, byte[] fixedPart )
+    {
+        this.segmentSize = segmentSize;
+        this.plainTextLength = plainTextLength;
+        this.segmentCount = segmentCount;
+        this.fixedPart = fixedPart;
+    }
+
+    static EncryptedFileHeader create( int segmentSize, long plainTextLength ) throws GeneralSecurityException
+    {
+        if( segmentSize < 1 || segmentSize > MAX_SEGMENT_SIZE )
+        {
+            throw new GeneralSecurityException("Segment size must be between 1 and " + MAX_SEGMENT_SIZE);
+        }
+        long segmentCount = Math.max(1, (plainTextLength + segmentSize - 1) / segmentSize);
+        if( segmentCount > Integer.MAX_VALUE / TABLE_ENTRY_SIZE )
+        {
+            throw new GeneralSecurityException("File too large for the segment size");
+        }
+        byte[] fileId = new byte[FILE_ID_SIZE];
+        RANDOM.nextBytes(fileId);
+        ByteBuffer fixedPart = ByteBuffer.allocate(FIXED_SIZE);
+        fixedPart.put(MAGIC).put(VERSION).putInt(segmentSize).putLong(plainTextLength).putInt((int) segmentCount)
+                .put(fileId);
+        return new EncryptedFileHeader(segmentSize, plainTextLength, (int) segmentCount, fixedPart.array());
+    }
+
+    /**
+     * Reads and validates the header at the start of {@param channel}
+     */
+    static EncryptedFileHeader read( FileChannel channel ) throws IOException, GeneralSecurityException
+    {
+        ByteBuffer fixedPart = ByteBuffer.allocate(FIXED_SIZE);
+        readFully(channel, fixedPart, 0);
+        fixedPart.flip();
+        byte[] magic = new byte[MAGIC.length];
+        fixedPart.get(magic);
+        if( !Arrays.equals(MAGIC, magic) || fixedPart.get() != VERSION )
+        {
+            throw new GeneralSecurityException("Not an encrypted file of a supported version");
+        }
+        int segmentSize = fixedPart.getInt();
+        long plainTextLength = fixedPart.getLong();
+        int segmentCount = fixedPart.getInt();
+        if( segmentSize < 1 || segmentSize > MAX_SEGMENT_SIZE || plainTextLength < 0
+                || segmentCount > Integer.MAX_VALUE / TABLE_ENTRY_SIZE
+                || segmentCount != Math.max(1, (plainTextLength + segmentSize - 1) / segmentSize) )
+        {
+            throw new GeneralSecurityException("Corrupted encrypted file header");
+        }
+        EncryptedFileHeader header = new EncryptedFileHeader(segmentSize, plainTextLength, segmentCount,
+                fixedPart.array());
+
+        ByteBuffer table = ByteBuffer.allocate(segmentCount * TABLE_ENTRY_SIZE);
+        readFully(channel, table, FIXED_SIZE);
+        table.flip();
+        for( int i = 0; i < segmentCount; i++ )
+        {
+            if( table.getLong() != header.cipherTextOffset(i) || table.getInt() != header.cipherTextLength(i) )
+            {
+                throw new GeneralSecurityException("Corrupted encrypted file segment table");
+            }
+        }
+        if( channel.size() != header.cipherTextFileLength() )
+        {
+            throw new GeneralSecurityException("Encrypted file has been truncated or extended");
+        }
+        return header;
+    }
+
+    void write( FileChannel channel ) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length());
+        buffer.put(fixedPart);
+        for( int i = 0; i < segmentCount; i++ )
+        {
+            buffer.putLong(cipherTextOffset(i)).putInt(cipherTextLength(i));
+        }
+        buffer.flip();
+        long position = 0;
+        while( buffer.hasRemaining() )
+        {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    int length()
+    {
+        return FIXED_SIZE + segmentCount * TABLE_ENTRY_SIZE;
+    }
+
+    long plainTextOffset( int segmentIndex )
+    {
+        return (long) segmentIndex * segmentSize;
+    }
+
+    int plainTextLength( int segmentIndex )
+    {
+        return (int) Math.min(segmentSize, plainTextLength - plainTextOffset(segmentIndex));
+    }
+
+    long cipherTextOffset( int segmentIndex )
+    {
+        return length() + (long) segmentIndex * (segmentSize + AesGcmEngine.OVERHEAD);
+    }
+
+    int cipherTextLength( int segmentIndex )
+    {
+        return plainTextLength(segmentIndex) + AesGcmEngine.OVERHEAD;
+    }
+
+    long cipherTextFileLength()
+    {
+        return cipherTextOffset(segmentCount - 1) + cipherTextLength(segmentCount - 1);
+    }
+
+    byte[] associatedData( int segmentIndex )
+    {
+        return ByteBuffer.allocate(FIXED_SIZE + Integer.BYTES + 1).put(fixedPart).putInt(segmentIndex)
+                .put((byte) (segmentIndex == segmentCount - 1 ? 1 : 0)).array();
+    }
+
+    private static void readFully( FileChannel channel, ByteBuffer buffer, long position ) throws IOException
+    {
+        while( buffer.hasRemaining() )
+        {
+            int read = channel.read(buffer, position);
+            if( read < 0 )
+            {
+                throw new IOException("Unexpected end of encrypted file header");
+            }
+            position += read;
+        }
+    }
+}
@@ -1,15 +1,57 @@
 package com.highpeaksw.utils.crypto;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
 import com.google.crypto.tink.subtle.AesGcmJce;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.OperationResult;
 
 public interface EncryptionService {
 
+    /**
+     * Bytes added to every encrypted value, a 12 byte IV and a 16 byte tag. Output buffers passed to the
+     * {@link ByteBuffer} overloads must have this much room on top of the plain text.
+     */
+    int AES_GCM_OVERHEAD = AesGcmEngine.OVERHEAD;
+
     String aesEncrypt( String plainText, String key ) throws DataException;
 
     String aesEncrypt(String plainText, AesGcmJce keyInstance) throws DataException;
 
+    String aesEncrypt( CharSequence plainText, String key ) throws DataException;
+
     String aesDecrypt(String encryptedText, String key ) throws DataException;
 
     String aesDecrypt(String encryptedText, AesGcmJce keyInstance) throws DataException;
+
+    String aesDecrypt( CharSequence encryptedText, String key ) throws DataException;
+
+    OperationResult<String> tryAesEncrypt( CharSequence plainText, String key );
+
+    OperationResult<String> tryAesDecrypt( CharSequence encryptedText, String key );
+
+    byte[] aesEncryptBytes( byte[] plainText, String key ) throws DataException;
+
+    byte[] aesEncryptBytes( byte[] plainText, AesGcmJce keyInstance ) throws DataException;
+
+    byte[] aesDecryptBytes( byte[] encryptedBytes, String key ) throws DataException;
+
+    byte[] aesDecryptBytes( byte[] encryptedBytes, AesGcmJce keyInstance ) throws DataException;
+
+    int aesEncrypt( ByteBuffer plainText, ByteBuffer cipherText, String key ) throws DataException;
+
+    int aesDecrypt( ByteBuffer cipherText, ByteBuffer plainText, String key ) throws DataException;
+
+    CryptoBatchResult<Integer, List<String>> aesEncryptAll( List<String> plainTexts, String key ) throws DataException;
+
+    CryptoBatchResult<Integer, List<String>> aesDecryptAll( List<String> encryptedTexts, String key )
+            throws DataException;
+
+    CryptoBatchResult<String, Map<String, String>> aesEncryptAll( Map<String, String> plainColumns, String key )
+            throws DataException;
+
+    CryptoBatchResult<String, Map<String, String>> aesDecryptAll( Map<String, String> encryptedColumns, String key )
+            throws DataException;
 }
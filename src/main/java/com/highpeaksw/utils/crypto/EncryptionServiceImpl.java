@@ -1,8 +1,15 @@
 package com.highpeaksw.utils.crypto;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -11,6 +18,7 @@ import com.google.crypto.tink.subtle.AesGcmJce;
 import com.highpeaksw.utils.NullEmptyUtils;
 import com.highpeaksw.utils.constants.GeneralConstants;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.OperationResult;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,11 +26,73 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class EncryptionServiceImpl implements EncryptionService {
 
+    static final String ENCRYPTION_KEY_MISSING = "Encryption key is missing";
+
+    private static final String PLAIN_TEXT_MISSING = "Plain text is missing";
+
+    private static final String ENCRYPTED_TEXT_MISSING = "Encrypted text is missing";
+
+    private static final String OUTPUT_BUFFER_MISSING = "A writable output buffer is required";
+
+    static final String ENCRYPTION_KEY_SIZE_ERROR = "AES key size must be 16 characters for 128-bit enc and "
+            + "32 characters for 256-bit enc";
+
+    static final String DECRYPTION_KEY_SIZE_ERROR = "AES key size must be 16 characters for 128-bit dec and "
+            + "32 characters for 256-bit dec";
+
+    private static final OperationResult<String> KEY_MISSING_RESULT = OperationResult
+            .failure(ENCRYPTION_KEY_MISSING, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<String> PLAIN_TEXT_MISSING_RESULT = OperationResult
+            .failure(PLAIN_TEXT_MISSING, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<String> ENCRYPTED_TEXT_MISSING_RESULT = OperationResult
+            .failure(ENCRYPTED_TEXT_MISSING, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<String> ENCRYPTION_KEY_SIZE_RESULT = OperationResult
+            .failure(ENCRYPTION_KEY_SIZE_ERROR, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<String> DECRYPTION_KEY_SIZE_RESULT = OperationResult
+            .failure(DECRYPTION_KEY_SIZE_ERROR, HttpStatus.BAD_REQUEST);
+
+    private static final OperationResult<String> SOMETHING_WENT_WRONG_RESULT = OperationResult
+            .failure(GeneralConstants.SOMETHING_WENT_WRONG, HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final AeadPrimitiveCache<AesGcmEngine> primitiveCache;
+
+    public EncryptionServiceImpl()
+    {
+        this(new AeadPrimitiveCache<>(AesGcmEngine::new));
+    }
+
+    /**
+     * Creates the service with a caller-supplied primitive cache, for example one with a different size or expiry
+     *
+     * @param primitiveCache
+     *            cache used to resolve {@link AesGcmEngine} instances for the String key overloads
+     */
+    public EncryptionServiceImpl( AeadPrimitiveCache<AesGcmEngine> primitiveCache )
+    {
+        this.primitiveCache = primitiveCache;
+    }
+
+    /**
+     * Returns the primitive cache backing the String key overloads, mainly to read its hit, miss and eviction
+     * counters
+     *
+     * @return primitive cache of this service
+     */
+    public AeadPrimitiveCache<AesGcmEngine> getPrimitiveCache()
+    {
+        return primitiveCache;
+    }
+
     /**
      * This method uses the popular google crypto API {@link com.google.crypto.tink} to encrypt the
      * {@param plainText} using the key {@param key}. The key size must be 16 characters for 128-bit
      * encryption and 32 characters for 256-bit encryption. The method returns the encrypted value
-     * encoding in Base-64 format
+     * encoding in Base-64 format. The text is encoded as UTF-8, use {@link #aesEncryptBytes(byte[], String)} to
+     * skip the String and Base-64 conversions for binary values.
      * 
      * @param plainText
      *            Text to be AES encrypted
@@ -34,22 +104,32 @@ public class EncryptionServiceImpl implements EncryptionService {
      */
     @Override
     public String aesEncrypt( String plainText, String key ) throws DataException
+    {
+        return aesEncrypt((CharSequence) plainText, key);
+    }
+
+    /**
+     * Variant of {@link #aesEncrypt(String, String)} for text held in a {@link StringBuilder}, a
+     * {@link java.nio.CharBuffer} or any other {@link CharSequence}, encoded without an intermediate String. The
+     * UTF-8 bytes, the ciphertext and its Base-64 form go through per-thread scratch buffers, only the returned String
+     * is allocated.
+     *
+     * @param plainText
+     *            Text to be AES encrypted
+     * @param key
+     *            Key to be used for encryption
+     * @return Base64 Encoded AES encrypted string
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public String aesEncrypt( CharSequence plainText, String key ) throws DataException
     {
         try
         {
-            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, "Encryption key is missing");
-            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(plainText, "Plain text is missing");
-
-            if( key.length() == 16 || key.length() == 32 )
-            {
-                AesGcmJce agjEncryption = new AesGcmJce(key.getBytes());
-                byte[] encrypted = agjEncryption.encrypt(plainText.getBytes(), null);
-                return Base64.getEncoder().encodeToString((encrypted));
-            }
-            log.info("Key Size is {}", key.length());
-            throw new DataException(GeneralConstants.EXCEPTION,
-                    "AES key size must be 16 characters for 128-bit enc and 32 characters for 256-bit enc",
-                    HttpStatus.BAD_REQUEST);
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+            throwExceptionIfBlank(plainText, PLAIN_TEXT_MISSING);
+            return CipherTextCodec.encrypt(getPrimitive(key, ENCRYPTION_KEY_SIZE_ERROR), plainText);
         }
         catch( DataException e )
         {
@@ -71,21 +151,30 @@ public class EncryptionServiceImpl implements EncryptionService {
 
     @Override
     public String aesDecrypt( String encryptedText, String key ) throws DataException
+    {
+        return aesDecrypt((CharSequence) encryptedText, key);
+    }
+
+    /**
+     * Variant of {@link #aesDecrypt(String, String)} for Base-64 text held in any {@link CharSequence}. The text is
+     * decoded straight into a per-thread scratch buffer.
+     *
+     * @param encryptedText
+     *            Base64 Encoded AES encrypted text
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypted string
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public String aesDecrypt( CharSequence encryptedText, String key ) throws DataException
     {
         try
         {
-            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, "Encryption key is missing");
-            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(encryptedText, "Encrypted text is missing");
-            if( key.length() == 16 || key.length() == 32 )
-            {
-                AesGcmJce agjDecryption = new AesGcmJce(key.getBytes());
-                return new String(agjDecryption.decrypt(Base64.getDecoder().decode(encryptedText), null),
-                        StandardCharsets.UTF_8);
-            }
-            log.info("Key Size is {}", key.length());
-            throw new DataException(GeneralConstants.EXCEPTION,
-                    "AES key size must be 16 characters for 128-bit dec and 32 characters for 256-bit dec",
-                    HttpStatus.BAD_REQUEST);
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+            throwExceptionIfBlank(encryptedText, ENCRYPTED_TEXT_MISSING);
+            return CipherTextCodec.decrypt(getPrimitive(key, DECRYPTION_KEY_SIZE_ERROR), encryptedText);
         }
         catch( DataException e )
         {
@@ -105,6 +194,89 @@ public class EncryptionServiceImpl implements EncryptionService {
         }
     }
 
+    /**
+     * Non-throwing variant of {@link #aesEncrypt(CharSequence, String)} for untrusted bulk input. Invalid input is
+     * reported in the result with the message and status the throwing variant would use, without creating or
+     * logging an exception.
+     *
+     * @param plainText
+     *            Text to be AES encrypted
+     * @param key
+     *            Key to be used for encryption
+     * @return Base64 Encoded AES encrypted string, or the reason it could not be produced
+     */
+    @Override
+    public OperationResult<String> tryAesEncrypt( CharSequence plainText, String key )
+    {
+        if( NullEmptyUtils.isNullOrEmpty(key) )
+        {
+            return KEY_MISSING_RESULT;
+        }
+        if( isBlank(plainText) )
+        {
+            return PLAIN_TEXT_MISSING_RESULT;
+        }
+        if( key.length() != 16 && key.length() != 32 )
+        {
+            return ENCRYPTION_KEY_SIZE_RESULT;
+        }
+        try
+        {
+            return OperationResult.success(CipherTextCodec.encrypt(getPrimitive(key, ENCRYPTION_KEY_SIZE_ERROR),
+                    plainText));
+        }
+        catch( DataException | GeneralSecurityException e )
+        {
+            return OperationResult.failure(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        catch( RuntimeException e )
+        {
+            return SOMETHING_WENT_WRONG_RESULT;
+        }
+    }
+
+    /**
+     * Non-throwing variant of {@link #aesDecrypt(CharSequence, String)} for untrusted bulk input. Text that is not
+     * valid Base-64 is rejected without an exception, a value that fails authentication is reported with the
+     * cipher's message.
+     *
+     * @param encryptedText
+     *            Base64 Encoded AES encrypted text
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypted string, or the reason it could not be produced
+     */
+    @Override
+    public OperationResult<String> tryAesDecrypt( CharSequence encryptedText, String key )
+    {
+        if( NullEmptyUtils.isNullOrEmpty(key) )
+        {
+            return KEY_MISSING_RESULT;
+        }
+        if( isBlank(encryptedText) )
+        {
+            return ENCRYPTED_TEXT_MISSING_RESULT;
+        }
+        if( key.length() != 16 && key.length() != 32 )
+        {
+            return DECRYPTION_KEY_SIZE_RESULT;
+        }
+        try
+        {
+            String plainText = CipherTextCodec.decryptOrNull(getPrimitive(key, DECRYPTION_KEY_SIZE_ERROR),
+                    encryptedText);
+            return plainText == null ? SOMETHING_WENT_WRONG_RESULT : OperationResult.success(plainText);
+        }
+        catch( DataException | GeneralSecurityException e )
+        {
+            return OperationResult.failure(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        catch( RuntimeException e )
+        {
+            return SOMETHING_WENT_WRONG_RESULT;
+        }
+    }
+
     /**
      * This method uses the popular google crypto API {@link com.google.crypto.tink} to encrypt the
      * {@param plainText} using the key {@param key}. The key size must be 16 characters for 128-bit
@@ -125,8 +297,8 @@ public class EncryptionServiceImpl implements EncryptionService {
         try
         {
             NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(keyInstance, "Encryption key instance is missing");
-            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(plainText, "Plain text is missing");
-            byte[] encrypted = keyInstance.encrypt(plainText.getBytes(), null);
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(plainText, PLAIN_TEXT_MISSING);
+            byte[] encrypted = keyInstance.encrypt(plainText.getBytes(StandardCharsets.UTF_8), null);
             return Base64.getEncoder().encodeToString((encrypted));
         }
         catch( DataException e )
@@ -153,7 +325,7 @@ public class EncryptionServiceImpl implements EncryptionService {
         try
         {
             NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(keyInstance, "Encryption key instance is missing");
-            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(encryptedText, "Encrypted text is missing");
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(encryptedText, ENCRYPTED_TEXT_MISSING);
             return new String(keyInstance.decrypt(Base64.getDecoder().decode(encryptedText), null),
                     StandardCharsets.UTF_8);
         }
@@ -175,4 +347,411 @@ public class EncryptionServiceImpl implements EncryptionService {
         }
     }
 
+    /**
+     * Encrypts {@param plainText} with the key {@param key} without any String or Base-64 conversion. The result is
+     * laid out as {@code IV | ciphertext | tag} and is {@link #AES_GCM_OVERHEAD} bytes longer than the input, it is
+     * the Base-64 decoded form of what {@link #aesEncrypt(String, String)} returns.
+     *
+     * @param plainText
+     *            bytes to be AES encrypted
+     * @param key
+     *            Key to be used for encryption
+     * @return AES encrypted bytes
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public byte[] aesEncryptBytes( byte[] plainText, String key ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+            throwExceptionIfEmpty(plainText, PLAIN_TEXT_MISSING);
+            return getPrimitive(key, ENCRYPTION_KEY_SIZE_ERROR).encrypt(plainText, null);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    @Override
+    public byte[] aesEncryptBytes( byte[] plainText, AesGcmJce keyInstance ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(keyInstance, "Encryption key instance is missing");
+            throwExceptionIfEmpty(plainText, PLAIN_TEXT_MISSING);
+            return keyInstance.encrypt(plainText, null);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    /**
+     * Decrypts bytes produced by {@link #aesEncryptBytes(byte[], String)}, or the Base-64 decoded output of
+     * {@link #aesEncrypt(String, String)}.
+     *
+     * @param encryptedBytes
+     *            AES encrypted bytes
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypted bytes
+     * @throws DataException
+     *             missing any validation or if the value was tampered with
+     */
+    @Override
+    public byte[] aesDecryptBytes( byte[] encryptedBytes, String key ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+            throwExceptionIfEmpty(encryptedBytes, ENCRYPTED_TEXT_MISSING);
+            return getPrimitive(key, DECRYPTION_KEY_SIZE_ERROR).decrypt(encryptedBytes, null);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    @Override
+    public byte[] aesDecryptBytes( byte[] encryptedBytes, AesGcmJce keyInstance ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(keyInstance, "Encryption key instance is missing");
+            throwExceptionIfEmpty(encryptedBytes, ENCRYPTED_TEXT_MISSING);
+            return keyInstance.decrypt(encryptedBytes, null);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    /**
+     * Encrypts the remaining bytes of {@param plainText} into {@param cipherText}, which may be a direct buffer.
+     * Nothing is allocated besides the IV, both buffers are advanced past the bytes read and written. The output
+     * must have room for {@code plainText.remaining() + AES_GCM_OVERHEAD} bytes.
+     *
+     * @param plainText
+     *            buffer holding the bytes to be AES encrypted
+     * @param cipherText
+     *            buffer receiving {@code IV | ciphertext | tag}
+     * @param key
+     *            Key to be used for encryption
+     * @return number of bytes written to {@param cipherText}
+     * @throws DataException
+     *             missing any validation or if the output buffer is too small
+     */
+    @Override
+    public int aesEncrypt( ByteBuffer plainText, ByteBuffer cipherText, String key ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+            throwExceptionIfEmpty(plainText, PLAIN_TEXT_MISSING);
+            throwExceptionIfNotWritable(cipherText);
+            return getPrimitive(key, ENCRYPTION_KEY_SIZE_ERROR).encrypt(plainText, cipherText, null);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    /**
+     * Decrypts the remaining bytes of {@param cipherText} into {@param plainText}, which may be a direct buffer.
+     * The output must have room for {@code cipherText.remaining() - AES_GCM_OVERHEAD} bytes. Note that the cipher
+     * only releases the plain text once the tag is verified.
+     *
+     * @param cipherText
+     *            buffer holding {@code IV | ciphertext | tag}
+     * @param plainText
+     *            buffer receiving the decrypted bytes
+     * @param key
+     *            Key to be used for decryption
+     * @return number of bytes written to {@param plainText}
+     * @throws DataException
+     *             missing any validation, if the output buffer is too small or the value was tampered with
+     */
+    @Override
+    public int aesDecrypt( ByteBuffer cipherText, ByteBuffer plainText, String key ) throws DataException
+    {
+        try
+        {
+            NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+            throwExceptionIfEmpty(cipherText, ENCRYPTED_TEXT_MISSING);
+            throwExceptionIfNotWritable(plainText);
+            return getPrimitive(key, DECRYPTION_KEY_SIZE_ERROR).decrypt(cipherText, plainText, null);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    /**
+     * Encrypts every value of {@param plainTexts} with the key {@param key}. The key is validated and its
+     * primitive resolved once for the whole batch, and a value that fails to encrypt does not abort the batch. The
+     * output list keeps the input order, failed positions hold {@code null} and are reported in
+     * {@link CryptoBatchResult#getFailures()} by index.
+     *
+     * @param plainTexts
+     *            Texts to be AES encrypted
+     * @param key
+     *            Key to be used for encryption
+     * @return Base64 Encoded AES encrypted strings along with the per-element failures
+     * @throws DataException
+     *             if the list or the key is missing or invalid
+     */
+    @Override
+    public CryptoBatchResult<Integer, List<String>> aesEncryptAll( List<String> plainTexts, String key )
+            throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(plainTexts, PLAIN_TEXT_MISSING);
+        return transformAll(plainTexts, resolveBatchPrimitive(key, ENCRYPTION_KEY_SIZE_ERROR),
+                EncryptionServiceImpl::encryptValue, PLAIN_TEXT_MISSING);
+    }
+
+    /**
+     * Decrypts every value of {@param encryptedTexts} with the key {@param key}. Behaves like
+     * {@link #aesEncryptAll(List, String)}: the key is resolved once and failures are reported per index.
+     *
+     * @param encryptedTexts
+     *            Base64 Encoded AES encrypted texts
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypted strings along with the per-element failures
+     * @throws DataException
+     *             if the list or the key is missing or invalid
+     */
+    @Override
+    public CryptoBatchResult<Integer, List<String>> aesDecryptAll( List<String> encryptedTexts, String key )
+            throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(encryptedTexts, ENCRYPTED_TEXT_MISSING);
+        return transformAll(encryptedTexts, resolveBatchPrimitive(key, DECRYPTION_KEY_SIZE_ERROR),
+                EncryptionServiceImpl::decryptValue, ENCRYPTED_TEXT_MISSING);
+    }
+
+    /**
+     * Column variant of {@link #aesEncryptAll(List, String)}. Encrypts the value of every column of a row and
+     * returns them under the same column names, in the iteration order of {@param plainColumns}. Failures are
+     * reported by column name.
+     *
+     * @param plainColumns
+     *            column name to plain text
+     * @param key
+     *            Key to be used for encryption
+     * @return column name to Base64 Encoded AES encrypted string, along with the per-column failures
+     * @throws DataException
+     *             if the map or the key is missing or invalid
+     */
+    @Override
+    public CryptoBatchResult<String, Map<String, String>> aesEncryptAll( Map<String, String> plainColumns,
+            String key ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(plainColumns, PLAIN_TEXT_MISSING);
+        return transformAll(plainColumns, resolveBatchPrimitive(key, ENCRYPTION_KEY_SIZE_ERROR),
+                EncryptionServiceImpl::encryptValue, PLAIN_TEXT_MISSING);
+    }
+
+    /**
+     * Column variant of {@link #aesDecryptAll(List, String)}.
+     *
+     * @param encryptedColumns
+     *            column name to Base64 Encoded AES encrypted text
+     * @param key
+     *            Key to be used for decryption
+     * @return column name to decrypted string, along with the per-column failures
+     * @throws DataException
+     *             if the map or the key is missing or invalid
+     */
+    @Override
+    public CryptoBatchResult<String, Map<String, String>> aesDecryptAll( Map<String, String> encryptedColumns,
+            String key ) throws DataException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNull(encryptedColumns, ENCRYPTED_TEXT_MISSING);
+        return transformAll(encryptedColumns, resolveBatchPrimitive(key, DECRYPTION_KEY_SIZE_ERROR),
+                EncryptionServiceImpl::decryptValue, ENCRYPTED_TEXT_MISSING);
+    }
+
+    private AesGcmEngine resolveBatchPrimitive( String key, String keySizeError ) throws DataException
+    {
+        try
+        {
+            return getPrimitive(key, keySizeError);
+        }
+        catch( Exception e )
+        {
+            throw toDataException(e);
+        }
+    }
+
+    private static CryptoBatchResult<Integer, List<String>> transformAll( List<String> values, AesGcmEngine primitive,
+            ValueTransformer transformer, String missingValueError )
+    {
+        List<String> output = new ArrayList<>(values.size());
+        Map<Integer, String> failures = new HashMap<>();
+        int index = 0;
+        for( String value : values )
+        {
+            output.add(transformValue(value, primitive, transformer, missingValueError, index, failures));
+            index++;
+        }
+        logFailures(failures.size(), values.size());
+        return new CryptoBatchResult<>(output, failures);
+    }
+
+    private static CryptoBatchResult<String, Map<String, String>> transformAll( Map<String, String> columns,
+            AesGcmEngine primitive, ValueTransformer transformer, String missingValueError )
+    {
+        Map<String, String> output = new LinkedHashMap<>((int) (columns.size() / 0.75f) + 1);
+        Map<String, String> failures = new HashMap<>();
+        for( Map.Entry<String, String> column : columns.entrySet() )
+        {
+            output.put(column.getKey(), transformValue(column.getValue(), primitive, transformer, missingValueError,
+                    column.getKey(), failures));
+        }
+        logFailures(failures.size(), columns.size());
+        return new CryptoBatchResult<>(output, failures);
+    }
+
+    private static <K> String transformValue( String value, AesGcmEngine primitive, ValueTransformer transformer,
+            String missingValueError, K position, Map<K, String> failures )
+    {
+        if( NullEmptyUtils.isNullOrEmpty(value) )
+        {
+            failures.put(position, missingValueError);
+            return null;
+        }
+        try
+        {
+            return transformer.transform(primitive, value);
+        }
+        catch( GeneralSecurityException | IllegalArgumentException e )
+        {
+            failures.put(position, e.getMessage());
+        }
+        catch( Exception e )
+        {
+            failures.put(position, GeneralConstants.SOMETHING_WENT_WRONG);
+        }
+        return null;
+    }
+
+    private static void logFailures( int failureCount, int totalCount )
+    {
+        if( failureCount > 0 )
+        {
+            log.warn("{} of {} values could not be processed in the batch", failureCount, totalCount);
+        }
+    }
+
+    private static String encryptValue( AesGcmEngine primitive, String plainText ) throws GeneralSecurityException
+    {
+        return CipherTextCodec.encrypt(primitive, plainText);
+    }
+
+    private static String decryptValue( AesGcmEngine primitive, String encryptedText ) throws GeneralSecurityException
+    {
+        return CipherTextCodec.decrypt(primitive, encryptedText);
+    }
+
+    @FunctionalInterface
+    private interface ValueTransformer {
+
+        String transform( AesGcmEngine primitive, String value ) throws GeneralSecurityException;
+    }
+
+    private AesGcmEngine getPrimitive( String key, String keySizeError )
+            throws DataException, GeneralSecurityException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, ENCRYPTION_KEY_MISSING);
+        if( key.length() != 16 && key.length() != 32 )
+        {
+            log.info("Key Size is {}", key.length());
+            throw new DataException(GeneralConstants.EXCEPTION, keySizeError, HttpStatus.BAD_REQUEST);
+        }
+        byte[] keyBytes = key.getBytes();
+        try
+        {
+            return primitiveCache.get(keyBytes);
+        }
+        finally
+        {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    private static void throwExceptionIfBlank( CharSequence value, String message ) throws DataException
+    {
+        if( isBlank(value) )
+        {
+            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * @return whether {@param value} is null or {@link String#trim()} would leave nothing of it, the check of
+     *         {@link NullEmptyUtils#isNullOrEmpty(String)} without copying the text
+     */
+    private static boolean isBlank( CharSequence value )
+    {
+        if( value == null )
+        {
+            return true;
+        }
+        for( int i = 0; i < value.length(); i++ )
+        {
+            if( value.charAt(i) > ' ' )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void throwExceptionIfEmpty( byte[] value, String message ) throws DataException
+    {
+        if( value == null || value.length == 0 )
+        {
+            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static void throwExceptionIfEmpty( ByteBuffer value, String message ) throws DataException
+    {
+        if( value == null || !value.hasRemaining() )
+        {
+            throw new DataException(GeneralConstants.EXCEPTION, message, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static void throwExceptionIfNotWritable( ByteBuffer output ) throws DataException
+    {
+        if( output == null || output.isReadOnly() )
+        {
+            throw new DataException(GeneralConstants.EXCEPTION, OUTPUT_BUFFER_MISSING, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static DataException toDataException( Exception e )
+    {
+        log.error(GeneralConstants.ERROR, e);
+        if( e instanceof DataException dataException )
+        {
+            return dataException;
+        }
+        if( e instanceof GeneralSecurityException )
+        {
+            return new DataException(GeneralConstants.EXCEPTION, e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        return new DataException(GeneralConstants.EXCEPTION, GeneralConstants.SOMETHING_WENT_WRONG,
+                HttpStatus.INTERNAL_SERVER_ERROR);
+    }
 }
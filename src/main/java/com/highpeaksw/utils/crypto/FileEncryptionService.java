@@ -0,0 +1,16 @@
+package com.highpeaksw.utils.crypto;
+
+import java.nio.file.Path;
+
+import com.highpeaksw.utils.exception.DataException;
+
+public interface FileEncryptionService {
+
+    void aesEncryptFile( Path plainTextFile, Path cipherTextFile, String key ) throws DataException;
+
+    void aesDecryptFile( Path cipherTextFile, Path plainTextFile, String key ) throws DataException;
+
+    EncryptedFileHeader readHeader( Path cipherTextFile ) throws DataException;
+
+    byte[] aesDecryptSegment( Path cipherTextFile, int segmentIndex, String key ) throws DataException;
+}
@@ -0,0 +1,381 @@
+package com.highpeaksw.utils.crypto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.highpeaksw.utils.NullEmptyUtils;
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Encrypts large files segment by segment through memory-mapped {@link FileChannel}s. Both files are mapped per
+ * segment and segments are encrypted in parallel on the common fork-join pool, each with its own random IV and
+ * bound to its index, see {@link EncryptedFileHeader} for the format.
+ *
+ * The segment size is configured with {@code utils.crypto.file.segment-size} in {@code application.properties}.
+ * The String key follows the same rules as {@link EncryptionService}: 16 characters for 128-bit and 32 characters
+ * for 256-bit encryption.
+ */
+@Slf4j
+@Service
+public class FileEncryptionServiceImpl implements FileEncryptionService {
+
+    private static final String FILE_MISSING = "Source and target files are required";
+
+    private static final String SAME_FILE_ERROR = "Source and target files must be different";
+
+    private static final String FILE_PROCESSING_ERROR = "Error while processing the encrypted file";
+
+    private final int segmentSize;
+
+    private final AeadPrimitiveCache<AesGcmEngine> primitiveCache = new AeadPrimitiveCache<>(AesGcmEngine::new);
+
+    public FileEncryptionServiceImpl( @Value( "${utils.crypto.file.segment-size:4194304}" ) int segmentSize )
+    {
+        if( segmentSize < 1 || segmentSize > EncryptedFileHeader.MAX_SEGMENT_SIZE )
+        {
+            throw new IllegalArgumentException(
+                    "Segment size must be between 1 and " + EncryptedFileHeader.MAX_SEGMENT_SIZE);
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Encrypts {@param plainTextFile} into {@param cipherTextFile}, which is created or replaced. The ciphertext is
+     * sized up front and every segment is written in place through its own mapping, in parallel, into a temporary
+     * file that is synced and then moved over {@param cipherTextFile}.
+     *
+     * @param plainTextFile
+     *            file to be encrypted
+     * @param cipherTextFile
+     *            file receiving the header and the encrypted segments
+     * @param key
+     *            Key to be used for encryption
+     * @throws DataException
+     *             missing any validation or if the files cannot be read or written
+     */
+    @Override
+    public void aesEncryptFile( Path plainTextFile, Path cipherTextFile, String key ) throws DataException
+    {
+        execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(plainTextFile, FILE_MISSING);
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextFile, FILE_MISSING);
+            AesGcmEngine engine = getPrimitive(key, EncryptionServiceImpl.ENCRYPTION_KEY_SIZE_ERROR);
+            try( FileChannel source = FileChannel.open(plainTextFile, StandardOpenOption.READ) )
+            {
+                writeAtomically(plainTextFile, cipherTextFile, target -> {
+                    EncryptedFileHeader header = EncryptedFileHeader.create(segmentSize, source.size());
+                    header.write(target);
+                    allocate(target, header.cipherTextFileLength());
+                    forEachSegment(header, segmentIndex -> {
+                        ByteBuffer plainText = map(source, FileChannel.MapMode.READ_ONLY,
+                                header.plainTextOffset(segmentIndex), header.plainTextLength(segmentIndex));
+                        MappedByteBuffer cipherText = map(target, FileChannel.MapMode.READ_WRITE,
+                                header.cipherTextOffset(segmentIndex), header.cipherTextLength(segmentIndex));
+                        engine.encrypt(plainText, cipherText, header.associatedData(segmentIndex));
+                        cipherText.force();
+                    });
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Decrypts {@param cipherTextFile} into {@param plainTextFile}, which is created or replaced. Segments are
+     * authenticated and decrypted in parallel into a temporary file, which replaces {@param plainTextFile} only once
+     * every segment was decrypted and synced, so a failure leaves an existing target as it was.
+     *
+     * @param cipherTextFile
+     *            file produced by {@link #aesEncryptFile(Path, Path, String)}
+     * @param plainTextFile
+     *            file receiving the plain text
+     * @param key
+     *            Key to be used for decryption
+     * @throws DataException
+     *             missing any validation, if the file was tampered with or if the files cannot be read or written
+     */
+    @Override
+    public void aesDecryptFile( Path cipherTextFile, Path plainTextFile, String key ) throws DataException
+    {
+        execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextFile, FILE_MISSING);
+            NullEmptyUtils.throwExceptionIfInputIsNull(plainTextFile, FILE_MISSING);
+            AesGcmEngine engine = getPrimitive(key, EncryptionServiceImpl.DECRYPTION_KEY_SIZE_ERROR);
+            try( FileChannel source = FileChannel.open(cipherTextFile, StandardOpenOption.READ) )
+            {
+                EncryptedFileHeader header = EncryptedFileHeader.read(source);
+                writeAtomically(cipherTextFile, plainTextFile, target -> {
+                    allocate(target, header.getPlainTextLength());
+                    forEachSegment(header, segmentIndex -> {
+                        ByteBuffer cipherText = map(source, FileChannel.MapMode.READ_ONLY,
+                                header.cipherTextOffset(segmentIndex), header.cipherTextLength(segmentIndex));
+                        MappedByteBuffer plainText = map(target, FileChannel.MapMode.READ_WRITE,
+                                header.plainTextOffset(segmentIndex), header.plainTextLength(segmentIndex));
+                        engine.decrypt(cipherText, plainText, header.associatedData(segmentIndex));
+                        plainText.force();
+                    });
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Reads the header of an encrypted file, for example to find the segment that holds a plain text offset
+     * before calling {@link #aesDecryptSegment(Path, int, String)}.
+     *
+     * @param cipherTextFile
+     *            file produced by {@link #aesEncryptFile(Path, Path, String)}
+     * @return validated header
+     * @throws DataException
+     *             if the file is missing or is not a valid encrypted file
+     */
+    @Override
+    public EncryptedFileHeader readHeader( Path cipherTextFile ) throws DataException
+    {
+        return execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextFile, FILE_MISSING);
+            try( FileChannel source = FileChannel.open(cipherTextFile, StandardOpenOption.READ) )
+            {
+                return EncryptedFileHeader.read(source);
+            }
+        });
+    }
+
+    /**
+     * Decrypts a single segment of an encrypted file without reading the others. Segment {@code i} holds the plain
+     * text bytes from {@code i * segmentSize}.
+     *
+     * @param cipherTextFile
+     *            file produced by {@link #aesEncryptFile(Path, Path, String)}
+     * @param segmentIndex
+     *            zero based index of the segment
+     * @param key
+     *            Key to be used for decryption
+     * @return plain text of the segment
+     * @throws DataException
+     *             missing any validation, if the segment does not exist or was tampered with
+     */
+    @Override
+    public byte[] aesDecryptSegment( Path cipherTextFile, int segmentIndex, String key ) throws DataException
+    {
+        return execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextFile, FILE_MISSING);
+            AesGcmEngine engine = getPrimitive(key, EncryptionServiceImpl.DECRYPTION_KEY_SIZE_ERROR);
+            try( FileChannel source = FileChannel.open(cipherTextFile, StandardOpenOption.READ) )
+            {
+                EncryptedFileHeader header = EncryptedFileHeader.read(source);
+                if( segmentIndex < 0 || segmentIndex >= header.getSegmentCount() )
+                {
+                    throw new DataException(GeneralConstants.EXCEPTION, "Segment index is out of range",
+                            HttpStatus.BAD_REQUEST);
+                }
+                ByteBuffer cipherText = ByteBuffer.allocate(header.cipherTextLength(segmentIndex));
+                long position = header.cipherTextOffset(segmentIndex);
+                while( cipherText.hasRemaining() )
+                {
+                    int read = source.read(cipherText, position);
+                    if( read < 0 )
+                    {
+                        throw new IOException("Unexpected end of encrypted file");
+                    }
+                    position += read;
+                }
+                cipherText.flip();
+                byte[] plainText = new byte[header.plainTextLength(segmentIndex)];
+                engine.decrypt(cipherText, ByteBuffer.wrap(plainText), header.associatedData(segmentIndex));
+                return plainText;
+            }
+        });
+    }
+
+    private AesGcmEngine getPrimitive( String key, String keySizeError ) throws DataException, GeneralSecurityException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, EncryptionServiceImpl.ENCRYPTION_KEY_MISSING);
+        if( key.length() != 16 && key.length() != 32 )
+        {
+            log.info("Key Size is {}", key.length());
+            throw new DataException(GeneralConstants.EXCEPTION, keySizeError, HttpStatus.BAD_REQUEST);
+        }
+        byte[] keyBytes = key.getBytes();
+        try
+        {
+            return primitiveCache.get(keyBytes);
+        }
+        finally
+        {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Runs {@param writer} on a temporary file next to {@param target}, forces it to disk and moves it over
+     * {@param target}, atomically where the file system supports it. The temporary file is removed on failure.
+     *
+     * @throws DataException
+     *             If {@param target} is {@param source}, which would otherwise be emptied before it is read
+     */
+    private static void writeAtomically( Path source, Path target, TargetWriter writer )
+            throws DataException, GeneralSecurityException, IOException
+    {
+        if( Files.exists(target) && Files.isSameFile(source, target) )
+        {
+            throw new ValidationException(SAME_FILE_ERROR);
+        }
+        Path directory = target.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try
+        {
+            try( FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE) )
+            {
+                writer.write(channel);
+                channel.force(true);
+            }
+            try
+            {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch( AtomicMoveNotSupportedException e )
+            {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Grows {@param channel} to its final size so that every segment can be mapped independently
+     */
+    private static void allocate( FileChannel channel, long size ) throws IOException
+    {
+        if( size > channel.size() )
+        {
+            channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+        }
+    }
+
+    private static MappedByteBuffer map( FileChannel channel, FileChannel.MapMode mode, long position, int size )
+    {
+        try
+        {
+            return channel.map(mode, position, size);
+        }
+        catch( IOException e )
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void forEachSegment( EncryptedFileHeader header, SegmentOperation operation )
+            throws GeneralSecurityException, IOException
+    {
+        try
+        {
+            IntStream.range(0, header.getSegmentCount()).parallel().forEach(segmentIndex -> {
+                try
+                {
+                    operation.apply(segmentIndex);
+                }
+                catch( GeneralSecurityException e )
+                {
+                    throw new SegmentFailure(e);
+                }
+            });
+        }
+        catch( SegmentFailure e )
+        {
+            throw e.getCause();
+        }
+        catch( UncheckedIOException e )
+        {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T execute( FileOperation<T> operation ) throws DataException
+    {
+        try
+        {
+            return operation.run();
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( GeneralSecurityException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        catch( IOException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, FILE_PROCESSING_ERROR,
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.SOMETHING_WENT_WRONG,
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FileOperation<T> {
+
+        T run() throws DataException, GeneralSecurityException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface TargetWriter {
+
+        void write( FileChannel target ) throws GeneralSecurityException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface SegmentOperation {
+
+        void apply( int segmentIndex ) throws GeneralSecurityException;
+    }
+
+    private static final class SegmentFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private SegmentFailure( GeneralSecurityException cause )
+        {
+            super(cause);
+        }
+
+        @Override
+        public synchronized GeneralSecurityException getCause()
+        {
+            return (GeneralSecurityException) super.getCause();
+        }
+    }
+}
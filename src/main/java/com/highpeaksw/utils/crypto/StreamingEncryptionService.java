@@ -0,0 +1,30 @@
+package com.highpeaksw.utils.crypto;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import com.highpeaksw.utils.exception.DataException;
+
+public interface StreamingEncryptionService {
+
+    void aesEncryptStream( InputStream plainTextSource, OutputStream cipherTextTarget, String key )
+            throws DataException;
+
+    void aesDecryptStream( InputStream cipherTextSource, OutputStream plainTextTarget, String key )
+            throws DataException;
+
+    OutputStream newEncryptingStream( OutputStream cipherTextTarget, String key ) throws DataException;
+
+    InputStream newDecryptingStream( InputStream cipherTextSource, String key ) throws DataException;
+
+    WritableByteChannel newEncryptingChannel( WritableByteChannel cipherTextTarget, String key ) throws DataException;
+
+    ReadableByteChannel newDecryptingChannel( ReadableByteChannel cipherTextSource, String key ) throws DataException;
+
+    void aesEncryptFile( Path plainTextFile, Path cipherTextFile, String key ) throws DataException;
+
+    void aesDecryptFile( Path cipherTextFile, Path plainTextFile, String key ) throws DataException;
+}
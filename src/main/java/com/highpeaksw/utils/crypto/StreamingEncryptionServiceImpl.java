@@ -0,0 +1,387 @@
+package com.highpeaksw.utils.crypto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.google.crypto.tink.StreamingAead;
+import com.google.crypto.tink.subtle.AesGcmHkdfStreaming;
+import com.highpeaksw.utils.NullEmptyUtils;
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Segmented streaming AES-GCM encryption backed by Tink's {@link AesGcmHkdfStreaming}. The payload is split into
+ * 1 MB ciphertext segments that are encrypted and authenticated one at a time, so memory use stays constant
+ * regardless of the payload size and nothing is converted to String or Base64.
+ *
+ * The String key follows the same rules as {@link EncryptionService}: 16 characters for 128-bit and 32 characters
+ * for 256-bit encryption. A per-stream key is derived from it with HKDF-SHA256, so the output is not compatible
+ * with {@link EncryptionService#aesEncrypt(String, String)}.
+ */
+@Slf4j
+@Service
+public class StreamingEncryptionServiceImpl implements StreamingEncryptionService {
+
+    private static final String HKDF_ALGORITHM = "HmacSha256";
+
+    private static final int CIPHERTEXT_SEGMENT_SIZE = 1 << 20;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] NO_ASSOCIATED_DATA = new byte[0];
+
+    private static final String STREAM_MISSING = "Input and output streams are required";
+
+    private static final String CHANNEL_MISSING = "Channel is required";
+
+    private static final String FILE_MISSING = "Source and target files are required";
+
+    private static final String STREAM_PROCESSING_ERROR = "Error while processing the encrypted stream";
+
+    private final AeadPrimitiveCache<StreamingAead> primitiveCache = new AeadPrimitiveCache<>(
+            keyBytes -> new AesGcmHkdfStreaming(keyBytes, HKDF_ALGORITHM, keyBytes.length, CIPHERTEXT_SEGMENT_SIZE,
+                    0));
+
+    /**
+     * Encrypts everything readable from {@param plainTextSource} into {@param cipherTextTarget}. Neither stream is
+     * closed by this method, the ciphertext is finalised before it returns.
+     *
+     * @param plainTextSource
+     *            stream to be encrypted
+     * @param cipherTextTarget
+     *            stream receiving the ciphertext
+     * @param key
+     *            Key to be used for encryption
+     * @throws DataException
+     *             missing any validation or if the streams fail
+     */
+    @Override
+    public void aesEncryptStream( InputStream plainTextSource, OutputStream cipherTextTarget, String key )
+            throws DataException
+    {
+        execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(plainTextSource, STREAM_MISSING);
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextTarget, STREAM_MISSING);
+            OutputStream encryptingStream = getPrimitive(key, EncryptionServiceImpl.ENCRYPTION_KEY_SIZE_ERROR)
+                    .newEncryptingStream(new NonClosingOutputStream(cipherTextTarget), NO_ASSOCIATED_DATA);
+            try( encryptingStream )
+            {
+                copy(plainTextSource, encryptingStream);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Decrypts everything readable from {@param cipherTextSource} into {@param plainTextTarget}. Neither stream is
+     * closed by this method.
+     *
+     * @param cipherTextSource
+     *            stream produced by {@link #aesEncryptStream(InputStream, OutputStream, String)}
+     * @param plainTextTarget
+     *            stream receiving the plain text
+     * @param key
+     *            Key to be used for decryption
+     * @throws DataException
+     *             missing any validation, if the ciphertext was tampered with or if the streams fail
+     */
+    @Override
+    public void aesDecryptStream( InputStream cipherTextSource, OutputStream plainTextTarget, String key )
+            throws DataException
+    {
+        execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextSource, STREAM_MISSING);
+            NullEmptyUtils.throwExceptionIfInputIsNull(plainTextTarget, STREAM_MISSING);
+            copy(getPrimitive(key, EncryptionServiceImpl.DECRYPTION_KEY_SIZE_ERROR)
+                    .newDecryptingStream(cipherTextSource, NO_ASSOCIATED_DATA), plainTextTarget);
+            return null;
+        });
+    }
+
+    /**
+     * Wraps {@param cipherTextTarget} in a stream that encrypts what is written to it. The caller must close the
+     * returned stream to write the final segment, closing it also closes {@param cipherTextTarget}.
+     *
+     * @param cipherTextTarget
+     *            stream receiving the ciphertext
+     * @param key
+     *            Key to be used for encryption
+     * @return encrypting stream
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public OutputStream newEncryptingStream( OutputStream cipherTextTarget, String key ) throws DataException
+    {
+        return execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextTarget, STREAM_MISSING);
+            return getPrimitive(key, EncryptionServiceImpl.ENCRYPTION_KEY_SIZE_ERROR)
+                    .newEncryptingStream(cipherTextTarget, NO_ASSOCIATED_DATA);
+        });
+    }
+
+    /**
+     * Wraps {@param cipherTextSource} in a stream that decrypts and authenticates it segment by segment. A
+     * tampered or truncated ciphertext fails with an {@link IOException} while reading.
+     *
+     * @param cipherTextSource
+     *            stream produced by an encrypting stream of this service
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypting stream
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public InputStream newDecryptingStream( InputStream cipherTextSource, String key ) throws DataException
+    {
+        return execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextSource, STREAM_MISSING);
+            return getPrimitive(key, EncryptionServiceImpl.DECRYPTION_KEY_SIZE_ERROR)
+                    .newDecryptingStream(cipherTextSource, NO_ASSOCIATED_DATA);
+        });
+    }
+
+    /**
+     * Channel variant of {@link #newEncryptingStream(OutputStream, String)}.
+     *
+     * @param cipherTextTarget
+     *            channel receiving the ciphertext
+     * @param key
+     *            Key to be used for encryption
+     * @return encrypting channel, must be closed to write the final segment
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public WritableByteChannel newEncryptingChannel( WritableByteChannel cipherTextTarget, String key )
+            throws DataException
+    {
+        return execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextTarget, CHANNEL_MISSING);
+            return getPrimitive(key, EncryptionServiceImpl.ENCRYPTION_KEY_SIZE_ERROR)
+                    .newEncryptingChannel(cipherTextTarget, NO_ASSOCIATED_DATA);
+        });
+    }
+
+    /**
+     * Channel variant of {@link #newDecryptingStream(InputStream, String)}.
+     *
+     * @param cipherTextSource
+     *            channel produced by an encrypting channel or stream of this service
+     * @param key
+     *            Key to be used for decryption
+     * @return decrypting channel
+     * @throws DataException
+     *             missing any validation
+     */
+    @Override
+    public ReadableByteChannel newDecryptingChannel( ReadableByteChannel cipherTextSource, String key )
+            throws DataException
+    {
+        return execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextSource, CHANNEL_MISSING);
+            return getPrimitive(key, EncryptionServiceImpl.DECRYPTION_KEY_SIZE_ERROR)
+                    .newDecryptingChannel(cipherTextSource, NO_ASSOCIATED_DATA);
+        });
+    }
+
+    /**
+     * Encrypts {@param plainTextFile} into {@param cipherTextFile} through {@link FileChannel}s and a direct
+     * buffer. The target is created or truncated.
+     *
+     * @param plainTextFile
+     *            file to be encrypted
+     * @param cipherTextFile
+     *            file receiving the ciphertext
+     * @param key
+     *            Key to be used for encryption
+     * @throws DataException
+     *             missing any validation or if the files cannot be read or written
+     */
+    @Override
+    public void aesEncryptFile( Path plainTextFile, Path cipherTextFile, String key ) throws DataException
+    {
+        execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(plainTextFile, FILE_MISSING);
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextFile, FILE_MISSING);
+            StreamingAead primitive = getPrimitive(key, EncryptionServiceImpl.ENCRYPTION_KEY_SIZE_ERROR);
+            try( FileChannel source = FileChannel.open(plainTextFile, StandardOpenOption.READ);
+                    FileChannel cipherText = openForWrite(cipherTextFile);
+                    WritableByteChannel target = primitive.newEncryptingChannel(cipherText, NO_ASSOCIATED_DATA) )
+            {
+                copy(source, target);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Decrypts {@param cipherTextFile} into {@param plainTextFile} through {@link FileChannel}s and a direct
+     * buffer. The target is created or truncated.
+     *
+     * @param cipherTextFile
+     *            file produced by {@link #aesEncryptFile(Path, Path, String)}
+     * @param plainTextFile
+     *            file receiving the plain text
+     * @param key
+     *            Key to be used for decryption
+     * @throws DataException
+     *             missing any validation, if the ciphertext was tampered with or if the files cannot be read or
+     *             written
+     */
+    @Override
+    public void aesDecryptFile( Path cipherTextFile, Path plainTextFile, String key ) throws DataException
+    {
+        execute(() -> {
+            NullEmptyUtils.throwExceptionIfInputIsNull(cipherTextFile, FILE_MISSING);
+            NullEmptyUtils.throwExceptionIfInputIsNull(plainTextFile, FILE_MISSING);
+            StreamingAead primitive = getPrimitive(key, EncryptionServiceImpl.DECRYPTION_KEY_SIZE_ERROR);
+            try( FileChannel cipherText = FileChannel.open(cipherTextFile, StandardOpenOption.READ);
+                    ReadableByteChannel source = primitive.newDecryptingChannel(cipherText, NO_ASSOCIATED_DATA);
+                    FileChannel target = openForWrite(plainTextFile) )
+            {
+                copy(source, target);
+            }
+            return null;
+        });
+    }
+
+    private StreamingAead getPrimitive( String key, String keySizeError )
+            throws DataException, GeneralSecurityException
+    {
+        NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(key, EncryptionServiceImpl.ENCRYPTION_KEY_MISSING);
+        if( key.length() != 16 && key.length() != 32 )
+        {
+            log.info("Key Size is {}", key.length());
+            throw new DataException(GeneralConstants.EXCEPTION, keySizeError, HttpStatus.BAD_REQUEST);
+        }
+        byte[] keyBytes = key.getBytes();
+        try
+        {
+            return primitiveCache.get(keyBytes);
+        }
+        finally
+        {
+            Arrays.fill(keyBytes, (byte) 0);
+        }
+    }
+
+    private static FileChannel openForWrite( Path file ) throws IOException
+    {
+        return FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void copy( InputStream source, OutputStream target ) throws IOException
+    {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while( (read = source.read(buffer)) != -1 )
+        {
+            target.write(buffer, 0, read);
+        }
+    }
+
+    private static void copy( ReadableByteChannel source, WritableByteChannel target ) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        while( source.read(buffer) != -1 )
+        {
+            buffer.flip();
+            while( buffer.hasRemaining() )
+            {
+                target.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static <T> T execute( StreamingOperation<T> operation ) throws DataException
+    {
+        try
+        {
+            return operation.run();
+        }
+        catch( DataException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw e;
+        }
+        catch( GeneralSecurityException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        catch( IOException e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            // Tink reports authentication failures as IOExceptions carrying its internal stream state
+            throw new DataException(GeneralConstants.EXCEPTION, STREAM_PROCESSING_ERROR,
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        catch( Exception e )
+        {
+            log.error(GeneralConstants.ERROR, e);
+            throw new DataException(GeneralConstants.EXCEPTION, GeneralConstants.SOMETHING_WENT_WRONG,
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StreamingOperation<T> {
+
+        T run() throws DataException, GeneralSecurityException, IOException;
+    }
+
+    /**
+     * Lets the encrypting stream write its final segment on close without closing the caller's stream
+     */
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+
+        private NonClosingOutputStream( OutputStream target )
+        {
+            this.target = target;
+        }
+
+        @Override
+        public void write( int b ) throws IOException
+        {
+            target.write(b);
+        }
+
+        @Override
+        public void write( byte[] bytes, int offset, int length ) throws IOException
+        {
+            target.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            target.flush();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.highpeaksw.utils.enums;
+
+/**
+ * Executors available to {@link com.highpeaksw.utils.crypto.BulkEncryptionServiceImpl} for splitting large
+ * batches across cores.
+ */
+public enum BulkExecutorTypeEnum {
+
+        /**
+         * Chunks run as tasks of a dedicated {@link java.util.concurrent.ForkJoinPool}
+         */
+        FORK_JOIN,
+
+        /**
+         * Chunks are queued to a fixed pool of daemon threads, one per unit of parallelism. Without virtual threads
+         * on Java 17, a thread per chunk would only add memory and contention to the CPU-bound cipher work.
+         */
+        THREAD_PER_CHUNK
+}
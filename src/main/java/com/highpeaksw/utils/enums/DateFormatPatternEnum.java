@@ -1,18 +1,34 @@
 package com.highpeaksw.utils.enums;
 
+import java.time.format.DateTimeFormatter;
+
 public enum DateFormatPatternEnum {
 
         DD_MMM_YYYY("dd-MMM-yyyy"), DD_MMM_YY("dd-MMM-yy");
 
     private final String pattern;
 
+    private final DateTimeFormatter formatter;
+
     DateFormatPatternEnum( String pattern )
     {
         this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
     }
 
     public String getPattern()
     {
         return this.pattern;
     }
+
+    /**
+     * Returns the formatter of the pattern, built once in the default format locale. {@link DateTimeFormatter} is
+     * immutable and thread-safe, so it can be shared across threads.
+     *
+     * @return formatter for {@link #getPattern()}
+     */
+    public DateTimeFormatter getFormatter()
+    {
+        return this.formatter;
+    }
 }
@@ -0,0 +1,20 @@
+package com.highpeaksw.utils.enums;
+
+/**
+ * How {@link com.highpeaksw.utils.CollectionUtils} treats duplicates when subtracting one collection from another
+ */
+public enum SubtractSemanticsEnum {
+
+        /**
+         * Every element of the first collection that is contained in the second one is removed, duplicates included.
+         * {@code [a, a, b] - [a]} is {@code [b]}.
+         */
+        SET,
+
+        /**
+         * Every element of the second collection removes one equal element of the first one, earliest first, like
+         * {@link org.apache.commons.collections4.CollectionUtils#subtract}. {@code [a, a, b] - [a]} is
+         * {@code [a, b]}.
+         */
+        MULTISET
+}
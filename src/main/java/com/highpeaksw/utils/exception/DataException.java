@@ -22,4 +22,47 @@ public class DataException extends Exception {
         this.errorMessage = errorMessage;
         this.httpStatus = httpStatus;
     }
+
+    /**
+     * Creates the exception for a failure caused by {@param cause}, which is kept for the logs
+     *
+     * @param errorCode
+     *            error code
+     * @param errorMessage
+     *            error message
+     * @param httpStatus
+     *            status to respond with
+     * @param cause
+     *            exception that caused the failure
+     */
+    public DataException( String errorCode, String errorMessage, HttpStatus httpStatus, Throwable cause )
+    {
+        super(errorMessage, cause);
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.httpStatus = httpStatus;
+    }
+
+    /**
+     * Creates the exception without capturing a stack trace when {@param writableStackTrace} is false. Meant for
+     * expected failures such as rejected input, where the trace carries no information and filling it in is most of
+     * the cost of the exception. A stackless exception also does not record suppressed exceptions, so a single
+     * instance can safely be thrown from several threads.
+     *
+     * @param errorCode
+     *            error code
+     * @param errorMessage
+     *            error message
+     * @param httpStatus
+     *            status to respond with
+     * @param writableStackTrace
+     *            whether the stack trace is captured
+     */
+    public DataException( String errorCode, String errorMessage, HttpStatus httpStatus, boolean writableStackTrace )
+    {
+        super(errorMessage, null, writableStackTrace, writableStackTrace);
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.httpStatus = httpStatus;
+    }
 }
@@ -0,0 +1,39 @@
+package com.highpeaksw.utils.exception;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+
+/**
+ * {@link DataException} for rejected input, always with {@link HttpStatus#BAD_REQUEST}. It captures no stack trace,
+ * the failure is fully described by its message, which makes rejecting input cheap on input-heavy endpoints.
+ *
+ * Failures with a fixed message are thrown as the shared instances below. Being stackless and without suppressed
+ * exceptions, they carry no per-throw state.
+ */
+public class ValidationException extends DataException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final ValidationException NULL_INPUT = new ValidationException(
+            GeneralConstants.NULL_INPUT_ERROR);
+
+    public ValidationException( String errorMessage )
+    {
+        this(GeneralConstants.EXCEPTION, errorMessage);
+    }
+
+    public ValidationException( String errorCode, String errorMessage )
+    {
+        super(errorCode, errorMessage, HttpStatus.BAD_REQUEST, false);
+    }
+
+    /**
+     * Creates the exception for input rejected because of {@param cause}. Unlike the other constructors it captures
+     * the stack trace, so that the cause can be traced in the logs.
+     */
+    public ValidationException( String errorMessage, Throwable cause )
+    {
+        super(GeneralConstants.EXCEPTION, errorMessage, HttpStatus.BAD_REQUEST, cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.highpeaksw.utils.result;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a subtraction against a {@link com.highpeaksw.utils.collection.BloomFilter}. When the candidates of the
+ * filter were confirmed by an exact lookup the values are exact. Otherwise every candidate was removed, and each
+ * value that was never excluded is lost with a probability of up to {@link #getFalsePositiveRate()}.
+ *
+ * @param <V>
+ *            type of the remaining values, a {@link java.util.List} or a primitive array
+ */
+@Getter
+public final class BloomSubtractResult<V> {
+
+    private final V values;
+
+    private final boolean exact;
+
+    /**
+     * Number of values the filter reported as probably excluded
+     */
+    private final long candidateCount;
+
+    /**
+     * Number of values removed, the confirmed candidates of an exact result or all candidates otherwise
+     */
+    private final long removedCount;
+
+    private final double falsePositiveRate;
+
+    public BloomSubtractResult( V values, boolean exact, long candidateCount, long removedCount,
+            double falsePositiveRate )
+    {
+        this.values = values;
+        this.exact = exact;
+        this.candidateCount = candidateCount;
+        this.removedCount = removedCount;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+}
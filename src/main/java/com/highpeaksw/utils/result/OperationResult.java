@@ -0,0 +1,106 @@
+package com.highpeaksw.utils.result;
+
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.exception.DataException;
+
+import lombok.Getter;
+
+/**
+ * Outcome of the non-throwing {@code try*} methods of the utilities: either a value, or the error code, message and
+ * status that the throwing variant would have put in its {@link DataException}.
+ *
+ * Failures capture no stack trace and are not logged, and failures with a fixed message are shared constants, so
+ * rejecting a bad value costs about as much as accepting a good one. Instances are immutable.
+ *
+ * @param <T>
+ *            type of the value
+ */
+@Getter
+public final class OperationResult<T> {
+
+    private final T value;
+
+    private final String errorCode;
+
+    private final String errorMessage;
+
+    private final HttpStatus httpStatus;
+
+    private OperationResult( T value, String errorCode, String errorMessage, HttpStatus httpStatus )
+    {
+        this.value = value;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.httpStatus = httpStatus;
+    }
+
+    public static <T> OperationResult<T> success( T value )
+    {
+        return new OperationResult<>(value, null, null, HttpStatus.OK);
+    }
+
+    public static <T> OperationResult<T> failure( String errorMessage, HttpStatus httpStatus )
+    {
+        return new OperationResult<>(null, GeneralConstants.EXCEPTION, errorMessage, httpStatus);
+    }
+
+    public boolean isSuccess()
+    {
+        return errorCode == null;
+    }
+
+    public boolean isFailure()
+    {
+        return errorCode != null;
+    }
+
+    /**
+     * Returns the value, or {@param other} if the operation failed
+     *
+     * @param other
+     *            fallback value
+     * @return value of a successful result, otherwise {@param other}
+     */
+    public T getValueOrElse( T other )
+    {
+        return isSuccess() ? value : other;
+    }
+
+    /**
+     * Returns the value, or throws the failure as a stackless {@link DataException} with the same code, message and
+     * status as the throwing variant of the operation
+     *
+     * @return value of a successful result
+     * @throws DataException
+     *             if the operation failed
+     */
+    public T getValueOrThrow() throws DataException
+    {
+        if( isFailure() )
+        {
+            throw new DataException(errorCode, errorMessage, httpStatus, false);
+        }
+        return value;
+    }
+
+    /**
+     * Re-types a failure so that it can be returned from an operation producing another type
+     *
+     * @param <U>
+     *            type of the other operation
+     * @return this failure
+     * @throws IllegalStateException
+     *             if this result is a success
+     */
+    @SuppressWarnings( "unchecked" )
+    public <U> OperationResult<U> asFailure()
+    {
+        if( isSuccess() )
+        {
+            throw new IllegalStateException("A successful result cannot be used as a failure");
+        }
+        return (OperationResult<U>) this;
+    }
+}
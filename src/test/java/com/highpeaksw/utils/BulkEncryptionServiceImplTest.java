@@ -0,0 +1,111 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.highpeaksw.utils.crypto.BulkCryptoTask;
+import com.highpeaksw.utils.crypto.BulkEncryptionServiceImpl;
+import com.highpeaksw.utils.crypto.CryptoBatchResult;
+import com.highpeaksw.utils.crypto.EncryptionServiceImpl;
+import com.highpeaksw.utils.enums.BulkExecutorTypeEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+public class BulkEncryptionServiceImplTest {
+
+    private static final String VALID_AES_KEY_128_BIT = "qwertyuiopoiuytr";
+
+    private final BulkEncryptionServiceImpl bulkEncryptionService = new BulkEncryptionServiceImpl(
+            new EncryptionServiceImpl(), BulkExecutorTypeEnum.FORK_JOIN, 4, 100);
+
+    @After
+    public void tearDown()
+    {
+        bulkEncryptionService.shutdown();
+    }
+
+    @Test
+    public void testAesEncryptAllParallelKeepsInputOrder() throws DataException
+    {
+        List<String> plainTexts = plainTexts(5000);
+        plainTexts.set(4321, "");
+
+        CryptoBatchResult<Integer, List<String>> encrypted = bulkEncryptionService.aesEncryptAll(plainTexts,
+                VALID_AES_KEY_128_BIT);
+        CryptoBatchResult<Integer, List<String>> decrypted = bulkEncryptionService
+                .aesDecryptAll(encrypted.getValues(), VALID_AES_KEY_128_BIT);
+
+        assertEquals("Plain text is missing", encrypted.getFailures().get(4321));
+        assertEquals(1, encrypted.getFailures().size());
+        assertEquals("value-4999", decrypted.getValues().get(4999));
+        assertEquals("value-17", decrypted.getValues().get(17));
+    }
+
+    @Test
+    public void testThreadPerChunkExecutorIsBoundedByParallelism() throws DataException
+    {
+        BulkEncryptionServiceImpl threadPerChunk = new BulkEncryptionServiceImpl(new EncryptionServiceImpl(),
+                BulkExecutorTypeEnum.THREAD_PER_CHUNK, 2, 100);
+        try
+        {
+            // 40 chunks of the minimum size, far more than the two workers
+            CryptoBatchResult<Integer, List<String>> encrypted = threadPerChunk.aesEncryptAll(plainTexts(10_240),
+                    VALID_AES_KEY_128_BIT);
+            assertEquals(10_240, encrypted.getValues().size());
+            long workers = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("bulk-crypto-"))
+                    .count();
+            assertTrue("workers: " + workers, workers <= 2);
+        }
+        finally
+        {
+            threadPerChunk.shutdown();
+        }
+    }
+
+    @Test
+    public void testAesEncryptAllSmallBatchInCallingThread() throws DataException
+    {
+        CryptoBatchResult<Integer, List<String>> encrypted = bulkEncryptionService.aesEncryptAll(plainTexts(10),
+                VALID_AES_KEY_128_BIT);
+        assertEquals(10, encrypted.getValues().size());
+        assertTrue(encrypted.getFailures().isEmpty());
+    }
+
+    @Test
+    public void testSubmitAesEncryptAllCancelled() throws DataException
+    {
+        BulkCryptoTask task = bulkEncryptionService.submitAesEncryptAll(plainTexts(50000), VALID_AES_KEY_128_BIT);
+        task.cancel(true);
+
+        assertTrue(task.isCancelled());
+        assertThrows(CancellationException.class, task::get);
+    }
+
+    @Test
+    public void testSubmitAesEncryptAllInvalidKeySize()
+    {
+        List<String> plainTexts = plainTexts(5000);
+        DataException dataException = assertThrows(DataException.class,
+                () -> bulkEncryptionService.submitAesEncryptAll(plainTexts, "qwertypoiuytr"));
+        assertEquals("AES key size must be 16 characters for 128-bit enc and 32 characters for 256-bit enc",
+                dataException.getErrorMessage());
+    }
+
+    private static List<String> plainTexts( int size )
+    {
+        List<String> plainTexts = new ArrayList<>(size);
+        for( int i = 0; i < size; i++ )
+        {
+            plainTexts.add("value-" + i);
+        }
+        return plainTexts;
+    }
+}
@@ -0,0 +1,76 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.highpeaksw.utils.exception.DataException;
+
+public class BusinessCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    // Friday 2021-12-24 and Monday 2021-12-27 are holidays
+    private static final List<LocalDate> HOLIDAYS = List.of(LocalDate.of(2021, 12, 24), LocalDate.of(2021, 12, 27));
+
+    @Test
+    public void testAddBusinessDaysSkipsWeekendsAndHolidays() throws DataException
+    {
+        BusinessCalendar calendar = BusinessCalendar.of("IN", WEEKEND, HOLIDAYS, 2021, 2022);
+
+        assertEquals(LocalDate.of(2021, 12, 28), calendar.addBusinessDays(LocalDate.of(2021, 12, 23), 1));
+        assertEquals(LocalDate.of(2022, 1, 3), calendar.addBusinessDays(LocalDate.of(2021, 12, 25), 5));
+        assertEquals(LocalDate.of(2021, 12, 23), calendar.addBusinessDays(LocalDate.of(2021, 12, 28), -1));
+        assertEquals(LocalDate.of(2021, 12, 25), calendar.addBusinessDays(LocalDate.of(2021, 12, 25), 0));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2021, 12, 24)));
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2021, 12, 28)));
+    }
+
+    @Test
+    public void testGetTheNumberOfBusinessDaysBetween() throws DataException
+    {
+        BusinessCalendar calendar = BusinessCalendar.of("IN", WEEKEND, HOLIDAYS, 2021, 2022);
+
+        assertEquals(2, calendar.getTheNumberOfBusinessDaysBetween(LocalDate.of(2021, 12, 22),
+                LocalDate.of(2021, 12, 28)));
+        assertEquals(-2, calendar.getTheNumberOfBusinessDaysBetween(LocalDate.of(2021, 12, 28),
+                LocalDate.of(2021, 12, 22)));
+        assertEquals(260, calendar.getTheNumberOfBusinessDaysBetween(LocalDate.of(2022, 1, 1),
+                LocalDate.of(2023, 1, 1)));
+    }
+
+    @Test
+    public void testDatesOutsideTheCalendarAreRejected() throws DataException
+    {
+        BusinessCalendar calendar = BusinessCalendar.of("IN", WEEKEND, HOLIDAYS, 2021, 2021);
+
+        DataException dataException = assertThrows(DataException.class,
+                () -> calendar.addBusinessDays(LocalDate.of(2021, 12, 31), 1));
+        assertEquals("Date is outside the business calendar", dataException.getErrorMessage());
+        assertThrows(DataException.class, () -> calendar.isBusinessDay(LocalDate.of(2020, 12, 31)));
+        assertThrows(DataException.class, () -> BusinessCalendar.of("IN", WEEKEND, HOLIDAYS, 2022, 2021));
+    }
+
+    @Test
+    public void testRegistryLoadsHolidayLists() throws DataException
+    {
+        BusinessCalendarRegistry registry = new BusinessCalendarRegistry();
+        registry.load("IN", WEEKEND, new StringReader("# Christmas\n24-12-2021\n\n27-12-2021\n"), 2021, 2022);
+
+        BusinessCalendar calendar = registry.get("IN");
+        assertEquals(LocalDate.of(2021, 12, 28), calendar.addBusinessDays(LocalDate.of(2021, 12, 23), 1));
+        assertEquals(Set.of("IN"), registry.getRegions());
+
+        DataException dataException = assertThrows(DataException.class, () -> registry.get("US"));
+        assertEquals("No business calendar for region US", dataException.getErrorMessage());
+        assertThrows(DataException.class,
+                () -> registry.load("US", WEEKEND, new StringReader("2021-07-04"), 2021, 2021));
+    }
+}
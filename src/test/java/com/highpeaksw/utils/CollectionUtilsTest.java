@@ -0,0 +1,285 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.collection.BloomFilter;
+import com.highpeaksw.utils.collection.CompressedBitmap;
+import com.highpeaksw.utils.collection.IntHashSet;
+import com.highpeaksw.utils.collection.LongHashSet;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.BloomSubtractResult;
+
+public class CollectionUtilsTest {
+
+    @Test
+    public void testSubtractCollectionMatchesCommons()
+    {
+        Random random = new Random(7);
+        for( int i = 0; i < 500; i++ )
+        {
+            List<Integer> one = randomList(random, random.nextInt(60), 20);
+            List<Integer> two = randomList(random, random.nextInt(60), 20);
+            assertEquals(new ArrayList<>(org.apache.commons.collections4.CollectionUtils.subtract(one, two)),
+                    new ArrayList<>(CollectionUtils.subtractCollection(one, two)));
+        }
+    }
+
+    @Test
+    public void testSubtractCollectionSemantics() throws DataException
+    {
+        List<String> one = Arrays.asList("c", "a", null, "b", "a", "c", null);
+        List<String> two = new ArrayList<>(Arrays.asList("a", "x", null));
+        for( int i = 0; i < CollectionDifference.LINEAR_SCAN_SIZE; i++ )
+        {
+            two.add("filler" + i);
+        }
+
+        assertEquals(Arrays.asList("c", "b", "a", "c", null),
+                CollectionUtils.subtractCollection(one, two, SubtractSemanticsEnum.MULTISET));
+        assertEquals(Arrays.asList("c", "b", "c"),
+                CollectionUtils.subtractCollection(one, two, SubtractSemanticsEnum.SET));
+        assertEquals(Arrays.asList("c", "b", "c"),
+                CollectionUtils.subtractCollection(one, new HashSet<>(two), SubtractSemanticsEnum.SET));
+        assertEquals(Arrays.asList("c", "a", null, "b", "a", "c", null),
+                CollectionUtils.subtractCollection(one, List.of(), SubtractSemanticsEnum.SET));
+    }
+
+    @Test
+    public void testSubtractSortedInputs() throws DataException
+    {
+        List<Integer> one = List.of(1, 2, 2, 3, 5, 8, 8, 8);
+        List<Integer> two = List.of(2, 4, 8, 8);
+
+        assertEquals(List.of(1, 2, 3, 5, 8),
+                CollectionUtils.subtractSortedList(one, two, null, SubtractSemanticsEnum.MULTISET));
+        assertEquals(List.of(1, 3, 5), CollectionUtils.subtractSortedList(one, two, null, SubtractSemanticsEnum.SET));
+        assertEquals(List.of(8, 5, 3, 1), CollectionUtils.subtractSortedList(List.of(8, 5, 3, 2, 1), List.of(4, 2),
+                Comparator.reverseOrder(), SubtractSemanticsEnum.SET));
+
+        TreeSet<String> words = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        words.addAll(List.of("Apple", "banana", "Cherry"));
+        TreeSet<String> excluded = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        excluded.add("BANANA");
+        assertEquals(List.of("Apple", "Cherry"),
+                CollectionUtils.subtractCollection(words, excluded, SubtractSemanticsEnum.SET));
+
+        DataException dataException = assertThrows(DataException.class, () -> CollectionUtils
+                .subtractSortedList(List.of(2, 1), List.of(1), null, SubtractSemanticsEnum.SET));
+        assertEquals("Collections are not sorted by the comparator", dataException.getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, dataException.getHttpStatus());
+    }
+
+    @Test
+    public void testSubtractCollectionInPlace() throws DataException
+    {
+        List<Long> ids = new ArrayList<>(List.of(5L, 1L, 5L, 7L, 3L, 1L));
+        assertEquals(2, CollectionUtils.subtractCollectionInPlace(ids, Set.of(1L, 5L, 9L),
+                SubtractSemanticsEnum.MULTISET));
+        assertEquals(List.of(5L, 7L, 3L, 1L), ids);
+
+        assertEquals(2, CollectionUtils.subtractCollectionInPlace(ids, List.of(1L, 5L), SubtractSemanticsEnum.SET));
+        assertEquals(List.of(7L, 3L), ids);
+
+        assertEquals(2, CollectionUtils.subtractCollectionInPlace(ids, ids, SubtractSemanticsEnum.SET));
+        assertTrue(ids.isEmpty());
+
+        DataException dataException = assertThrows(DataException.class, () -> CollectionUtils
+                .subtractCollectionInPlace(List.of(1L), List.of(1L), SubtractSemanticsEnum.SET));
+        assertEquals("Collection cannot be modified", dataException.getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, dataException.getHttpStatus());
+        assertTrue(dataException.getCause() instanceof UnsupportedOperationException);
+        assertThrows(DataException.class,
+                () -> CollectionUtils.subtractCollectionInPlace(ids, null, SubtractSemanticsEnum.SET));
+        assertThrows(DataException.class, () -> CollectionUtils.subtractCollection(ids, ids, null));
+    }
+
+    @Test
+    public void testPrimitiveArrayOperations() throws DataException
+    {
+        long[] one = { 4, 1, 9, 4, 0, 7 };
+        long[] two = { 7, 3, 4, 3 };
+
+        assertArrayEquals(new long[] { 1, 9, 0 }, CollectionUtils.subtractArray(one, two));
+        assertArrayEquals(new long[] { 1, 9, 0 }, CollectionUtils.subtractArray(one, LongHashSet.of(two)));
+        assertArrayEquals(new long[] { 4, 4, 7 }, CollectionUtils.intersectArray(one, two));
+        assertArrayEquals(new long[] { 4, 1, 9, 0, 7, 3 }, CollectionUtils.unionArray(one, two));
+        assertArrayEquals(new long[] { 1, 9, 0, 3 }, CollectionUtils.symmetricDifferenceArray(one, two));
+
+        int[] ints = CollectionUtils.toIntArray(List.of(4, 1, 9, 4, 0, 7));
+        assertArrayEquals(new int[] { 1, 9, 0 }, CollectionUtils.subtractArray(ints, new int[] { 7, 3, 4, 3 }));
+        assertArrayEquals(new int[] { 4, 4, 7 }, CollectionUtils.intersectArray(ints, IntHashSet.of(7, 3, 4)));
+        assertArrayEquals(new int[] { 4, 1, 9, 0, 7, 3 }, CollectionUtils.unionArray(ints, new int[] { 3 }));
+        assertArrayEquals(new int[] { 9, 0, 7, 5 },
+                CollectionUtils.symmetricDifferenceArray(ints, new int[] { 5, 4, 1 }));
+
+        assertArrayEquals(new long[] { 3, 1 }, CollectionUtils.toLongArray(List.of(3L, 1L)));
+        DataException dataException = assertThrows(DataException.class,
+                () -> CollectionUtils.toLongArray(Arrays.asList(3L, null)));
+        assertEquals("Collection contains a null element", dataException.getErrorMessage());
+        assertThrows(DataException.class, () -> CollectionUtils.subtractArray(one, (long[]) null));
+    }
+
+    @Test
+    public void testStreamingSubtractAndIntersect() throws DataException
+    {
+        Set<Integer> excluded = new HashSet<>(List.of(2, 3, 5, 7, 11, 13, 17, 19, 23, 29));
+
+        // an endless source shows that nothing but the excluded elements is held in memory
+        assertEquals(List.of(1, 4, 6, 8, 9, 10),
+                CollectionUtils.subtractStream(Stream.iterate(1, i -> i + 1), excluded).limit(6).toList());
+        assertEquals(List.of(2, 3, 5),
+                CollectionUtils.intersectStream(Stream.iterate(1, i -> i + 1), excluded).limit(3).toList());
+        assertArrayEquals(new long[] { 1, 4 },
+                CollectionUtils.subtractStream(LongStream.range(1, 6), LongHashSet.of(2, 3, 5)).toArray());
+        assertArrayEquals(new long[] { 2, 3 },
+                CollectionUtils.intersectStream(LongStream.range(1, 5), LongHashSet.of(2, 3, 5)).toArray());
+
+        Iterator<String> iterator = CollectionUtils.subtractIterator(List.of("a", "b", "c", "b").iterator(),
+                List.of("b"));
+        assertEquals("a", iterator.next());
+        assertEquals("c", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(List.of("b", "b"), toList(CollectionUtils.intersectIterator(
+                List.of("a", "b", "c", "b").iterator(), List.of("b", "x"))));
+
+        List<Integer> rows = new ArrayList<>();
+        for( int i = 0; i < 100_000; i++ )
+        {
+            rows.add(i % 1000);
+        }
+        List<Integer> expected = rows.stream().filter(row -> !excluded.contains(row)).toList();
+        assertEquals(expected, StreamSupport
+                .stream(CollectionUtils.subtractSpliterator(rows.spliterator(), excluded), true).toList());
+        assertEquals(expected, CollectionUtils.subtractStream(rows.parallelStream(), excluded).toList());
+        assertEquals(rows.size() - expected.size(), StreamSupport
+                .stream(CollectionUtils.intersectSpliterator(rows.spliterator(), excluded), true).count());
+
+        assertThrows(DataException.class, () -> CollectionUtils.subtractStream((Stream<Object>) null, excluded));
+    }
+
+    @Test
+    public void testParallelSetOperations() throws DataException
+    {
+        Random random = new Random(3);
+        List<Integer> one = randomList(random, 150_000, 200_000);
+        List<Integer> two = randomList(random, 100_000, 200_000);
+        one.set(17, null);
+        two.set(5, null);
+        List<Integer> subtracted = new ArrayList<>(one);
+        subtracted.removeAll(new HashSet<>(two));
+        List<Integer> intersected = new ArrayList<>(one);
+        intersected.retainAll(new HashSet<>(two));
+        Set<Integer> union = new LinkedHashSet<>(one);
+        union.addAll(two);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            assertEquals(subtracted, CollectionUtils.subtractCollectionInParallel(one, two, pool));
+            assertEquals(subtracted, CollectionUtils.subtractCollectionInParallel(one, new HashSet<>(two), pool));
+            assertEquals(intersected, CollectionUtils.intersectCollectionInParallel(one, two, pool));
+            assertEquals(new ArrayList<>(union), CollectionUtils.unionCollectionInParallel(one, two, true, pool));
+            List<Integer> unordered = CollectionUtils.unionCollectionInParallel(one, two, false, pool);
+            assertEquals(union.size(), unordered.size());
+            assertEquals(union, new HashSet<>(unordered));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        assertEquals(List.of(1, 3), CollectionUtils.subtractCollectionInParallel(List.of(1, 2, 3), List.of(2), null));
+    }
+
+    @Test
+    public void testSubtractWithBloomFilter() throws DataException
+    {
+        Random random = new Random(9);
+        List<Integer> one = randomList(random, 20_000, 50_000);
+        Set<Integer> excluded = new HashSet<>(randomList(random, 5_000, 50_000));
+        try( BloomFilter filter = BloomFilter.create(excluded.size(), 0.05) )
+        {
+            filter.putAll(excluded);
+            List<Integer> expected = new ArrayList<>(one);
+            expected.removeAll(excluded);
+
+            BloomSubtractResult<List<Integer>> exact = CollectionUtils.subtractCollectionWithBloomFilter(one, filter,
+                    excluded::contains);
+            assertTrue(exact.isExact());
+            assertEquals(expected, exact.getValues());
+            assertEquals(one.size() - expected.size(), exact.getRemovedCount());
+            assertTrue(exact.getCandidateCount() >= exact.getRemovedCount());
+
+            BloomSubtractResult<List<Integer>> approximate = CollectionUtils.subtractCollectionWithBloomFilter(one,
+                    filter, null);
+            assertFalse(approximate.isExact());
+            assertEquals(exact.getCandidateCount(), approximate.getRemovedCount());
+            assertTrue(expected.containsAll(approximate.getValues()));
+
+            long[] ids = one.stream().mapToLong(Integer::longValue).toArray();
+            BloomSubtractResult<long[]> primitive = CollectionUtils.subtractArrayWithBloomFilter(ids, filter,
+                    id -> excluded.contains((int) id));
+            assertArrayEquals(expected.stream().mapToLong(Integer::longValue).toArray(), primitive.getValues());
+        }
+    }
+
+    @Test
+    public void testToCompressedBitmap() throws DataException
+    {
+        CompressedBitmap bitmap = CollectionUtils.toCompressedBitmap(List.of(5L, 3L, 5L, -1L));
+        assertEquals(List.of(-1, 3, 5), bitmap.toList());
+        assertEquals(List.of(1, 2), CollectionUtils.toCompressedBitmap(Set.of(2, 1)).toList());
+        assertThrows(DataException.class, () -> CollectionUtils.toCompressedBitmap(List.of(1L << 40)));
+        assertThrows(DataException.class, () -> CollectionUtils.toCompressedBitmap(List.of(1.5)));
+        assertThrows(DataException.class, () -> CollectionUtils.toCompressedBitmap(Arrays.asList(1, null)));
+    }
+
+    @Test
+    public void testSmallSetDecidesMembershipItself() throws DataException
+    {
+        Set<String> small = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        small.add("a");
+        Set<String> large = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for( int i = 0; i < 20; i++ )
+        {
+            large.add("a" + i);
+        }
+        large.add("a");
+        for( Set<String> excluded : List.of(small, large) )
+        {
+            assertEquals(List.of("b"),
+                    CollectionUtils.subtractCollection(List.of("A", "b"), excluded, SubtractSemanticsEnum.SET));
+            assertEquals(List.of("b"),
+                    CollectionUtils.subtractStream(Stream.of("A", "b"), excluded).collect(Collectors.toList()));
+            assertEquals(List.of("A"),
+                    CollectionUtils.intersectStream(Stream.of("A", "b"), excluded).collect(Collectors.toList()));
+        }
+    }
+
+    private static <T> List<T> toList( Iterator<T> iterator )
+    {
+        List<T> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static List<Integer> randomList( Random random, int size, int range )
+    {
+        List<Integer> list = new ArrayList<>(size);
+        for( int i = 0; i < size; i++ )
+        {
+            list.add(random.nextInt(range));
+        }
+        return list;
+    }
+}
@@ -2,13 +2,18 @@ package com.highpeaksw.utils;
 
 import static org.junit.Assert.*;
 
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 import org.junit.Test;
+import org.springframework.http.HttpStatus;
 
 import com.highpeaksw.utils.enums.DateFormatPatternEnum;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.OperationResult;
 
 /**
  * @author Merry
@@ -379,4 +384,392 @@ public class DateUtilV2Test {
         assertEquals(dateExpected,
                 DateUtilV2.getHumanReadableStringDateFromLocalDate(localDate, DateFormatPatternEnum.DD_MMM_YY));
     }
+
+    @Test
+    public void testTryGetLocalDateFromHumanReadableStringDate()
+    {
+        assertEquals(LocalDate.of(2021, 3, 21),
+                DateUtilV2.tryGetLocalDateFromHumanReadableStringDate("21-03-2021").getValue());
+
+        OperationResult<LocalDate> invalid = DateUtilV2.tryGetLocalDateFromHumanReadableStringDate("2021-03-21");
+        assertTrue(invalid.isFailure());
+        assertEquals("Error fetching date from a string", invalid.getErrorMessage());
+        assertEquals("Input string is required",
+                DateUtilV2.tryGetLocalDateFromHumanReadableStringDate(null).getErrorMessage());
+    }
+
+    @Test
+    public void testTryGetTheNumberOfDaysBetweenTwoStringDates()
+    {
+        assertEquals(Long.valueOf(10),
+                DateUtilV2.tryGetTheNumberOfDaysBetweenTwoStringDates("11-03-2021", "21-03-2021").getValue());
+        assertEquals("Error fetching date from a string",
+                DateUtilV2.tryGetTheNumberOfDaysBetweenTwoStringDates("11-03-2021", "32-03-2021").getErrorMessage());
+    }
+
+    @Test
+    public void testTryGetZoneIdFromShortZoneIdFailureThrowsStacklessException()
+    {
+        OperationResult<ZoneId> result = DateUtilV2.tryGetZoneIdFromShortZoneId("IS");
+        DataException dataException = assertThrows(DataException.class, result::getValueOrThrow);
+        assertEquals("Error while fetching zone id from short zone id", dataException.getErrorMessage());
+        assertEquals(0, dataException.getStackTrace().length);
+    }
+
+    @Test
+    public void testGetHumanReadableStringDateFromLocalDateWithPatternAndLocale() throws DataException
+    {
+        LocalDate localDate = LocalDate.of(2021, 3, 21);
+        assertEquals("21 mars 2021",
+                DateUtilV2.getHumanReadableStringDateFromLocalDate(localDate, "dd MMMM yyyy", Locale.FRENCH));
+        assertEquals("2021/03/21", DateUtilV2.getHumanReadableStringDateFromLocalDate(localDate, "yyyy/MM/dd", null));
+    }
+
+    @Test
+    public void testGetHumanReadableStringDateFromLocalDateInvalidPattern()
+    {
+        LocalDate localDate = LocalDate.of(2021, 3, 21);
+        DataException dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.getHumanReadableStringDateFromLocalDate(localDate, "dd-{MM", Locale.ENGLISH));
+        assertEquals("Invalid date pattern", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testDateTimeFormatterCacheReusesAndBoundsFormatters()
+    {
+        DateTimeFormatterCache cache = new DateTimeFormatterCache(2);
+        DateTimeFormatter formatter = cache.get("dd-MM-yyyy", Locale.ENGLISH);
+
+        assertSame(formatter, cache.get("dd-MM-yyyy", Locale.ENGLISH));
+        assertNotSame(formatter, cache.get("dd-MM-yyyy", Locale.FRENCH));
+        cache.get("yyyy", Locale.ENGLISH);
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testGetZoneIdFromShortZoneIdAcceptsRegionAndOffsetIds() throws DataException
+    {
+        assertEquals(ZoneId.of("Asia/Tokyo"), DateUtilV2.getZoneIdFromShortZoneId("Asia/Tokyo"));
+        assertEquals(ZoneOffset.ofHoursMinutes(5, 30), DateUtilV2.getZoneIdFromShortZoneId("+05:30"));
+        assertSame(DateUtilV2.getZoneIdFromShortZoneId("IST"), DateUtilV2.getZoneIdFromShortZoneId("Asia/Kolkata"));
+    }
+
+    @Test
+    public void testGetZoneIdFromShortZoneIdUnknownIdRepeated()
+    {
+        for( int i = 0; i < 3; i++ )
+        {
+            DataException dataException = assertThrows(DataException.class,
+                    () -> DateUtilV2.getZoneIdFromShortZoneId("Mars/Olympus"));
+            assertEquals("Error while fetching zone id from short zone id", dataException.getErrorMessage());
+        }
+    }
+
+    @Test
+    public void testConvertEpochMillisToLocalEpochMillisInOtherZoneMatchesSingleValueConversion()
+            throws DataException
+    {
+        // 2021-03-14T09:59:00Z and 10:01Z straddle the start of daylight saving time in PST
+        long[] milliseconds = { 1615715940000L, 1615716060000L, 1638279000184L, -1L };
+        long[] localEpochMillis = new long[milliseconds.length];
+        DateUtilV2.convertEpochMillisToLocalEpochMillisInOtherZone(milliseconds, "IST", "PST", localEpochMillis);
+
+        for( int i = 0; i < milliseconds.length; i++ )
+        {
+            LocalDateTime expected = DateUtilV2.convertAndGetLocalDateTimeInAZoneForATimeToOtherZone(milliseconds[i],
+                    "IST", "PST");
+            assertEquals(expected.toEpochSecond(ZoneOffset.UTC) * 1000 + expected.getNano() / 1_000_000,
+                    localEpochMillis[i]);
+        }
+    }
+
+    @Test
+    public void testConvertEpochMillisToLocalEpochMillisInOtherZoneKeepsOverlapBehaviour() throws DataException
+    {
+        // 2021-11-07T09:30:00Z is 01:30 PST, the second 01:30 of the night, which the input zone resolves to PDT
+        long[] milliseconds = { 1636277400000L };
+        DateUtilV2.convertEpochMillisToLocalEpochMillisInOtherZone(milliseconds, "PST", "UTC", milliseconds);
+
+        assertEquals(LocalDateTime.of(2021, 11, 7, 8, 30).toEpochSecond(ZoneOffset.UTC) * 1000, milliseconds[0]);
+    }
+
+    @Test
+    public void testConvertEpochMillisToPackedDateTimeInOtherZone() throws DataException
+    {
+        long[] packedDateTimes = new long[2];
+        DateUtilV2.convertEpochMillisToPackedDateTimeInOtherZone(new long[] { 1638279000184L, 0L }, "UTC", "IST",
+                packedDateTimes);
+
+        assertEquals(20211130190000184L, packedDateTimes[0]);
+        assertEquals(19700101053000000L, packedDateTimes[1]);
+    }
+
+    @Test
+    public void testConvertEpochMillisToOtherZoneInvalidInput()
+    {
+        DataException dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.convertEpochMillisToLocalEpochMillisInOtherZone(new long[2], "UTC", "IST",
+                        new long[1]));
+        assertEquals("Output array is smaller than the input", dataException.getErrorMessage());
+
+        dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.convertEpochMillisToPackedDateTimeInOtherZone(new long[] { Long.MIN_VALUE / 2 },
+                        "UTC", "IST", new long[1]));
+        assertEquals(HttpStatus.BAD_REQUEST, dataException.getHttpStatus());
+    }
+
+    @Test
+    public void testConvertAndGetLocalEpochMillisInAZoneForATimeToOtherZone() throws DataException
+    {
+        long localEpochMilli = DateUtilV2.convertAndGetLocalEpochMillisInAZoneForATimeToOtherZone(1638279000184L,
+                "IST", "PST");
+
+        LocalDateTime expected = DateUtilV2.convertAndGetLocalDateTimeInAZoneForATimeToOtherZone(1638279000184L, "IST",
+                "PST");
+        assertEquals(expected.toEpochSecond(ZoneOffset.UTC) * 1000 + 184, localEpochMilli);
+    }
+
+    @Test
+    public void testGetLocalDateTimeInZoneFromMilliseconds() throws DataException
+    {
+        assertEquals(LocalDateTime.of(2021, 11, 30, 19, 0, 0, 184_000_000),
+                DateUtilV2.getLocalDateTimeInZoneFromMilliseconds(1638279000184L, "IST"));
+        assertEquals(LocalDateTime.of(2021, 11, 30, 5, 30, 0, 184_000_000),
+                DateUtilV2.getLocalDateTimeInZoneFromMilliseconds(1638279000184L, "PST"));
+        assertThrows(DataException.class, () -> DateUtilV2.getLocalEpochMillisInZoneFromMilliseconds(0L, ""));
+    }
+
+    @Test
+    public void testZoneOffsetCacheRefreshesOnlyAcrossTransitions()
+    {
+        ZoneOffsetCache cache = new ZoneOffsetCache(1);
+        ZoneId losAngeles = ZoneId.of("America/Los_Angeles");
+        // 2021-03-14T10:00:00Z starts daylight saving time
+        long transition = 1615716000000L;
+
+        assertEquals(-8 * 3_600_000L, cache.getOffsetMillis(losAngeles, transition - 1));
+        assertEquals(-8 * 3_600_000L, cache.getOffsetMillis(losAngeles, transition - 86_400_000L));
+        assertEquals(1, cache.getRefreshCount());
+        assertEquals(transition - 7 * 3_600_000L, cache.toLocalEpochMilli(losAngeles, transition));
+        assertEquals(2, cache.getRefreshCount());
+
+        cache.getOffsetMillis(ZoneOffset.UTC, transition);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testGetEpochDayFromHumanReadableStringDateMatchesFormatter() throws DataException
+    {
+        String[] dates = { "21-03-2021", "29-02-2020", "31-02-2021", "01-01-0001", "31-12-9999" };
+        for( String date : dates )
+        {
+            assertEquals(LocalDate.parse(date, DateTimeFormatter.ofPattern("dd-MM-yyyy")).toEpochDay(),
+                    DateUtilV2.getEpochDayFromHumanReadableStringDate(date));
+        }
+        assertEquals(LocalDate.of(2021, 2, 28), DateUtilV2.getLocalDateFromHumanReadableStringDate("31-02-2021"));
+        assertEquals(3, DateUtilV2.getTheNumberOfDaysBetweenTwoStringDates("27-02-2021", "02-03-2021"));
+    }
+
+    @Test
+    public void testGetEpochDayFromHumanReadableStringDateFromRanges() throws DataException
+    {
+        String line = "42,21-03-2021,21-Mar-2021,21-Mar-21";
+        long expected = LocalDate.of(2021, 3, 21).toEpochDay();
+
+        assertEquals(expected, DateUtilV2.getEpochDayFromHumanReadableStringDate(line, 3, 10));
+        assertEquals(expected, DateUtilV2.getEpochDayFromHumanReadableStringDate(line, 14, 11,
+                DateFormatPatternEnum.DD_MMM_YYYY));
+        assertEquals(expected, DateUtilV2.getEpochDayFromHumanReadableStringDate(line, 26, 9,
+                DateFormatPatternEnum.DD_MMM_YY));
+
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(expected, DateUtilV2.getEpochDayFromHumanReadableStringDate(bytes, 3, 10));
+        assertEquals(expected, DateUtilV2.getEpochDayFromHumanReadableStringDate(bytes, 14, 11,
+                DateFormatPatternEnum.DD_MMM_YYYY));
+        assertEquals(expected, DateUtilV2.getEpochDayFromHumanReadableStringDate(bytes, 26, 9,
+                DateFormatPatternEnum.DD_MMM_YY));
+    }
+
+    @Test
+    public void testGetEpochDayFromHumanReadableStringDateInvalidInput()
+    {
+        DataException dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.getEpochDayFromHumanReadableStringDate("21-13-2021"));
+        assertEquals("Error fetching date from a string", dataException.getErrorMessage());
+
+        dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.getEpochDayFromHumanReadableStringDate("00-03-2021"));
+        assertEquals("Error fetching date from a string", dataException.getErrorMessage());
+
+        dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.getEpochDayFromHumanReadableStringDate("21-03-2021", 5, 10));
+        assertEquals("Offset and length are outside the input", dataException.getErrorMessage());
+
+        dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.getEpochDayFromHumanReadableStringDate(new byte[10], 0, 10, null));
+        assertEquals("Date format pattern is required", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testAppendHumanReadableStringDate() throws DataException
+    {
+        LocalDate localDate = LocalDate.of(2021, 3, 1);
+        StringBuilder line = new StringBuilder("42,");
+
+        DateUtilV2.appendHumanReadableStringDate(line, localDate, DateFormatPatternEnum.DD_MMM_YYYY).append(',');
+        DateUtilV2.appendHumanReadableStringDate(line, localDate, DateFormatPatternEnum.DD_MMM_YY).append(',');
+        DateUtilV2.appendHumanReadableStringDate(line, LocalDate.of(12021, 3, 1), null);
+
+        assertEquals("42,01-Mar-2021,01-Mar-21,01-Mar-+12021", line.toString());
+    }
+
+    @Test
+    public void testAppendHumanReadableStringDateToCharBuffer() throws DataException
+    {
+        CharBuffer buffer = CharBuffer.allocate(12);
+        DateUtilV2.appendHumanReadableStringDate(buffer, LocalDate.of(2021, 3, 21), null);
+        assertEquals(11, buffer.position());
+
+        DataException dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.appendHumanReadableStringDate(buffer, LocalDate.of(2021, 3, 21), null));
+        assertEquals("Output is too small for the date", dataException.getErrorMessage());
+        assertEquals(11, buffer.position());
+    }
+
+    @Test
+    public void testWriteHumanReadableStringDate() throws DataException
+    {
+        byte[] target = new byte[14];
+        int length = DateUtilV2.writeHumanReadableStringDate(target, 2, LocalDate.of(2021, 3, 21),
+                DateFormatPatternEnum.DD_MMM_YY);
+
+        assertEquals(9, length);
+        assertEquals("21-Mar-21", new String(target, 2, length, StandardCharsets.US_ASCII));
+
+        DataException dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.writeHumanReadableStringDate(target, 4, LocalDate.of(2021, 3, 21), null));
+        assertEquals("Output is too small for the date", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testEpochDayArithmetic() throws DataException
+    {
+        long epochDay = DateUtilV2.getEpochDayFromLocalDate(LocalDate.of(2020, 2, 27));
+
+        assertEquals(LocalDate.of(2020, 3, 2), DateUtilV2.getLocalDateFromEpochDay(
+                DateUtilV2.addDaysToEpochDay(epochDay, 4)));
+        assertEquals(LocalDate.of(2020, 2, 29), DateUtilV2.getLocalDateFromEpochDay(
+                DateUtilV2.subtractDaysFromEpochDay(epochDay, -2)));
+        assertEquals(LocalDate.of(2020, 2, 1), DateUtilV2.getLocalDateFromEpochDay(
+                DateUtilV2.getStartOfMonthEpochDay(epochDay)));
+        assertEquals(-58, DateUtilV2.getTheNumberOfDaysBetweenTwoEpochDays(epochDay,
+                DateUtilV2.getEpochDayFromLocalDate(LocalDate.of(2019, 12, 31))));
+    }
+
+    @Test
+    public void testEpochMilliArithmetic() throws DataException
+    {
+        long epochMilli = LocalDateTime.of(1969, 12, 15, 13, 30).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        assertEquals(LocalDateTime.of(1970, 1, 4, 13, 30).toInstant(ZoneOffset.UTC).toEpochMilli(),
+                DateUtilV2.addDaysToEpochMilli(epochMilli, 20));
+        assertEquals(LocalDate.of(1969, 12, 15).toEpochDay(), DateUtilV2.getEpochDayFromEpochMilli(epochMilli));
+        assertEquals(LocalDate.of(1969, 12, 15).toEpochDay() * 86_400_000L,
+                DateUtilV2.getStartOfDayEpochMilli(epochMilli));
+        assertEquals(LocalDate.of(1969, 12, 1).toEpochDay() * 86_400_000L,
+                DateUtilV2.getStartOfMonthEpochMilli(epochMilli));
+        assertEquals(-1, DateUtilV2.getTheNumberOfDaysBetweenTwoEpochMillis(epochMilli,
+                DateUtilV2.subtractDaysFromEpochMilli(epochMilli, 2) + 1));
+    }
+
+    @Test
+    public void testEpochArithmeticOutOfRange()
+    {
+        DataException dataException = assertThrows(DataException.class,
+                () -> DateUtilV2.addDaysToEpochDay(LocalDate.MAX.toEpochDay(), 1));
+        assertEquals("Date is outside the supported range", dataException.getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, dataException.getHttpStatus());
+
+        assertThrows(DataException.class, () -> DateUtilV2.addDaysToEpochMilli(Long.MAX_VALUE, 1));
+        assertThrows(DataException.class, () -> DateUtilV2.getLocalDateFromEpochDay(Long.MIN_VALUE));
+        assertThrows(DataException.class, () -> DateUtilV2.getEpochDayFromLocalDate(null));
+    }
+
+    @Test
+    public void testNowMethodsReadTheClock() throws DataException
+    {
+        Instant instant = Instant.parse("2021-03-04T05:06:07.089Z");
+        DateUtilV2.setClock(Clock.fixed(instant, ZoneId.of("Asia/Kolkata")));
+        try
+        {
+            assertEquals(LocalDateTime.of(2021, 3, 4, 5, 6, 7, 89_000_000),
+                    DateUtilV2.getCurrentUTCLocalDateTimeInUTCOffsetBySystemTimeZone());
+            assertEquals(LocalDateTime.of(2021, 3, 4, 5, 6, 7, 89_000_000),
+                    DateUtilV2.getUTCLocalDateTimeOffsetBySystemTimeZoneFromMilliseconds(null));
+            assertEquals(LocalDateTime.of(2021, 3, 4, 10, 36, 7, 89_000_000),
+                    DateUtilV2.convertAndGetLocalDateTimeInAZoneForATimeToOtherZone(null, "UTC", "IST"));
+        }
+        finally
+        {
+            DateUtilV2.resetClock();
+        }
+        assertEquals(Clock.systemUTC(), DateUtilV2.getClock());
+        assertThrows(DataException.class, () -> DateUtilV2.setClock(null));
+    }
+
+    @Test
+    public void testNullMillisecondsKeepMillisecondPrecision() throws DataException
+    {
+        DateUtilV2.setClock(Clock.fixed(Instant.parse("2021-03-04T05:06:07.089123Z"), ZoneOffset.UTC));
+        try
+        {
+            assertEquals(LocalDateTime.of(2021, 3, 4, 5, 6, 7, 89_000_000),
+                    DateUtilV2.getUTCLocalDateTimeOffsetBySystemTimeZoneFromMilliseconds(null));
+            assertEquals(LocalDateTime.of(2021, 3, 4, 5, 6, 7, 89_123_000),
+                    DateUtilV2.getCurrentUTCLocalDateTimeInUTCOffsetBySystemTimeZone());
+        }
+        finally
+        {
+            DateUtilV2.resetClock();
+        }
+    }
+
+    @Test
+    public void testTickingClock() throws DataException, InterruptedException
+    {
+        try( TickingClock clock = new TickingClock(Duration.ofMillis(1)) )
+        {
+            DateUtilV2.setClock(clock);
+            LocalDateTime now = DateUtilV2.getCurrentUTCLocalDateTimeInUTCOffsetBySystemTimeZone();
+            assertFalse(now.isAfter(clock.getUtcLocalDateTime()));
+            assertEquals(ZoneId.of("Asia/Kolkata"), clock.withZone(ZoneId.of("Asia/Kolkata")).getZone());
+
+            long first = clock.millis();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while( clock.millis() == first && System.currentTimeMillis() < deadline )
+            {
+                Thread.sleep(2);
+            }
+            assertTrue(clock.millis() > first);
+
+            clock.close();
+            Thread.sleep(20);
+            long stopped = clock.millis();
+            Thread.sleep(20);
+            assertEquals(stopped, clock.millis());
+            // the tick no longer moves, so reads within it can be compared without racing the ticker
+            assertSame(clock.getUtcLocalDateTime(), clock.getUtcLocalDateTime());
+            assertEquals(Math.floorDiv(stopped, 1000), clock.getEpochSecond());
+        }
+        finally
+        {
+            DateUtilV2.resetClock();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TickingClock(Duration.ZERO));
+    }
 }
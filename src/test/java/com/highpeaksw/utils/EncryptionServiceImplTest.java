@@ -1,15 +1,33 @@
 package com.highpeaksw.utils;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
 
+import com.google.crypto.tink.subtle.AesGcmJce;
+import com.highpeaksw.utils.crypto.AeadPrimitiveCache;
+import com.highpeaksw.utils.crypto.CryptoBatchResult;
 import com.highpeaksw.utils.crypto.EncryptionService;
 import com.highpeaksw.utils.crypto.EncryptionServiceImpl;
 import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.OperationResult;
 
 @RunWith( MockitoJUnitRunner.class )
 public class EncryptionServiceImplTest {
@@ -51,4 +69,203 @@ public class EncryptionServiceImplTest {
         assertEquals("AES key size must be 16 characters for 128-bit enc and 32 characters for 256-bit enc",
                 dataException.getErrorMessage());
     }
+
+    @Test
+    public void testAesEncryptAndDecryptWithKeyAsStringRoundTrip() throws DataException
+    {
+        String encrypted = encryptionService.aesEncrypt(PLAIN_TEXT, VALID_AES_KEY_128_BIT);
+        assertEquals(PLAIN_TEXT, encryptionService.aesDecrypt(encrypted, VALID_AES_KEY_128_BIT));
+    }
+
+    @Test
+    public void testAesEncryptWithKeyInstanceUsesUtf8() throws Exception
+    {
+        String text = "Grüße, 東京 \uD83D\uDE00";
+        AesGcmJce keyInstance = new AesGcmJce(VALID_AES_KEY_128_BIT.getBytes(StandardCharsets.UTF_8));
+        String encrypted = encryptionService.aesEncrypt(text, keyInstance);
+        assertEquals(text, encryptionService.aesDecrypt(encrypted, VALID_AES_KEY_128_BIT));
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8),
+                keyInstance.decrypt(Base64.getDecoder().decode(encrypted), null));
+    }
+
+    @Test
+    public void testAesEncryptWithKeyAsStringReusesCachedPrimitive() throws DataException
+    {
+        EncryptionServiceImpl service = new EncryptionServiceImpl();
+        service.aesEncrypt(PLAIN_TEXT, VALID_AES_KEY_128_BIT);
+        service.aesEncrypt(PLAIN_TEXT, VALID_AES_KEY_128_BIT);
+
+        assertEquals(1, service.getPrimitiveCache().getMissCount());
+        assertEquals(1, service.getPrimitiveCache().getHitCount());
+        assertEquals(1, service.getPrimitiveCache().size());
+    }
+
+    @Test
+    public void testAeadPrimitiveCacheEvictsLeastRecentlyUsedKey() throws Exception
+    {
+        AeadPrimitiveCache<AesGcmJce> cache = new AeadPrimitiveCache<>(AesGcmJce::new, 2, Duration.ofMinutes(1));
+        AesGcmJce first = cache.get("aaaaaaaaaaaaaaaa".getBytes());
+        cache.get("bbbbbbbbbbbbbbbb".getBytes());
+        cache.get("aaaaaaaaaaaaaaaa".getBytes());
+        cache.get("cccccccccccccccc".getBytes());
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(first, cache.get("aaaaaaaaaaaaaaaa".getBytes()));
+    }
+
+    @Test
+    public void testAesEncryptAllReportsFailuresWithoutAbortingBatch() throws DataException
+    {
+        CryptoBatchResult<Integer, List<String>> encrypted = encryptionService
+                .aesEncryptAll(Arrays.asList(PLAIN_TEXT, "", PLAIN_TEXT), VALID_AES_KEY_128_BIT);
+
+        assertEquals(3, encrypted.getValues().size());
+        assertNull(encrypted.getValues().get(1));
+        assertEquals("Plain text is missing", encrypted.getFailures().get(1));
+        assertEquals(PLAIN_TEXT, encryptionService.aesDecrypt(encrypted.getValues().get(2), VALID_AES_KEY_128_BIT));
+    }
+
+    @Test
+    public void testAesDecryptAllColumnsRoundTrip() throws DataException
+    {
+        Map<String, String> row = new LinkedHashMap<>();
+        row.put("name", PLAIN_TEXT);
+        row.put("email", "test@highpeaksw.com");
+
+        CryptoBatchResult<String, Map<String, String>> encrypted = encryptionService.aesEncryptAll(row,
+                VALID_AES_KEY_128_BIT);
+        CryptoBatchResult<String, Map<String, String>> decrypted = encryptionService
+                .aesDecryptAll(encrypted.getValues(), VALID_AES_KEY_128_BIT);
+
+        assertEquals(row, decrypted.getValues());
+        assertEquals(0, decrypted.getFailures().size());
+    }
+
+    @Test
+    public void testAesEncryptAllInvalidKeySize()
+    {
+        List<String> plainTexts = List.of(PLAIN_TEXT);
+        DataException dataException = assertThrows(DataException.class,
+                () -> encryptionService.aesEncryptAll(plainTexts, INVALID_AES_KEY_128_BIT));
+        assertEquals("AES key size must be 16 characters for 128-bit enc and 32 characters for 256-bit enc",
+                dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testAesEncryptBytesMatchesBase64Api() throws DataException
+    {
+        byte[] plainText = PLAIN_TEXT.getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = encryptionService.aesEncryptBytes(plainText, VALID_AES_KEY_128_BIT);
+
+        assertEquals(plainText.length + EncryptionService.AES_GCM_OVERHEAD, encrypted.length);
+        assertEquals(PLAIN_TEXT, encryptionService.aesDecrypt(Base64.getEncoder().encodeToString(encrypted),
+                VALID_AES_KEY_128_BIT));
+        byte[] fromBase64 = Base64.getDecoder()
+                .decode(encryptionService.aesEncrypt(PLAIN_TEXT, VALID_AES_KEY_128_BIT));
+        assertArrayEquals(plainText, encryptionService.aesDecryptBytes(fromBase64, VALID_AES_KEY_128_BIT));
+    }
+
+    @Test
+    public void testAesEncryptAndDecryptDirectByteBuffers() throws DataException
+    {
+        byte[] plainText = PLAIN_TEXT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer cipherText = ByteBuffer.allocateDirect(plainText.length + EncryptionService.AES_GCM_OVERHEAD);
+        int written = encryptionService.aesEncrypt(ByteBuffer.wrap(plainText), cipherText, VALID_AES_KEY_128_BIT);
+        cipherText.flip();
+
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(plainText.length);
+        encryptionService.aesDecrypt(cipherText, decrypted, VALID_AES_KEY_128_BIT);
+        decrypted.flip();
+        byte[] result = new byte[decrypted.remaining()];
+        decrypted.get(result);
+
+        assertEquals(plainText.length + EncryptionService.AES_GCM_OVERHEAD, written);
+        assertArrayEquals(plainText, result);
+    }
+
+    @Test
+    public void testAesEncryptByteBufferOutputTooSmall()
+    {
+        ByteBuffer plainText = ByteBuffer.wrap(PLAIN_TEXT.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer cipherText = ByteBuffer.allocate(plainText.remaining());
+        DataException dataException = assertThrows(DataException.class,
+                () -> encryptionService.aesEncrypt(plainText, cipherText, VALID_AES_KEY_128_BIT));
+        assertEquals("Output buffer too small for the ciphertext", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testAesDecryptBytesTamperedValue() throws DataException
+    {
+        byte[] encrypted = encryptionService.aesEncryptBytes(PLAIN_TEXT.getBytes(StandardCharsets.UTF_8),
+                VALID_AES_KEY_128_BIT);
+        encrypted[encrypted.length - 1] ^= 1;
+        assertThrows(DataException.class, () -> encryptionService.aesDecryptBytes(encrypted, VALID_AES_KEY_128_BIT));
+    }
+
+    @Test
+    public void testAesEncryptCharSequenceRoundTrip() throws DataException
+    {
+        StringBuilder plainText = new StringBuilder();
+        for( int i = 0; i < 5000; i++ )
+        {
+            plainText.append("caf\u00e9 \ud83d\ude00 ").append(i);
+        }
+        String encrypted = encryptionService.aesEncrypt(plainText, VALID_AES_KEY_128_BIT);
+        byte[] decoded = Base64.getDecoder().decode(encrypted);
+
+        assertArrayEquals(plainText.toString().getBytes(StandardCharsets.UTF_8),
+                encryptionService.aesDecryptBytes(decoded, VALID_AES_KEY_128_BIT));
+        assertEquals(plainText.toString(), encryptionService.aesDecrypt(new StringBuilder(encrypted),
+                VALID_AES_KEY_128_BIT));
+    }
+
+    @Test
+    public void testAesDecryptWithKeyAsStringInvalidBase64()
+    {
+        DataException dataException = assertThrows(DataException.class,
+                () -> encryptionService.aesDecrypt("LSp+aZf7gEid*N1X06LY/Q==", VALID_AES_KEY_128_BIT));
+        assertEquals("Something went wrong", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testAesEncryptEmptyCharSequence()
+    {
+        StringBuilder plainText = new StringBuilder();
+        DataException dataException = assertThrows(DataException.class,
+                () -> encryptionService.aesEncrypt(plainText, VALID_AES_KEY_128_BIT));
+        assertEquals("Plain text is missing", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testAesEncryptAndDecryptRejectBlankText()
+    {
+        DataException plainText = assertThrows(DataException.class,
+                () -> encryptionService.aesEncrypt(" \t", VALID_AES_KEY_128_BIT));
+        assertEquals("Plain text is missing", plainText.getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, plainText.getHttpStatus());
+        DataException encryptedText = assertThrows(DataException.class,
+                () -> encryptionService.aesDecrypt(new StringBuilder("  "), VALID_AES_KEY_128_BIT));
+        assertEquals("Encrypted text is missing", encryptedText.getErrorMessage());
+    }
+
+    @Test
+    public void testTryAesDecryptReportsInvalidInputWithoutThrowing() throws DataException
+    {
+        String encrypted = encryptionService.aesEncrypt(PLAIN_TEXT, VALID_AES_KEY_128_BIT);
+        assertEquals(PLAIN_TEXT, encryptionService.tryAesDecrypt(encrypted, VALID_AES_KEY_128_BIT).getValue());
+
+        OperationResult<String> notBase64 = encryptionService.tryAesDecrypt("not base64!", VALID_AES_KEY_128_BIT);
+        assertTrue(notBase64.isFailure());
+        assertEquals("Something went wrong", notBase64.getErrorMessage());
+
+        OperationResult<String> blank = encryptionService.tryAesDecrypt("  ", VALID_AES_KEY_128_BIT);
+        assertEquals("Encrypted text is missing", blank.getErrorMessage());
+        assertEquals("Plain text is missing",
+                encryptionService.tryAesEncrypt(" \n", VALID_AES_KEY_128_BIT).getErrorMessage());
+
+        OperationResult<String> invalidKey = encryptionService.tryAesDecrypt(encrypted, INVALID_AES_KEY_128_BIT);
+        assertEquals("AES key size must be 16 characters for 128-bit dec and 32 characters for 256-bit dec",
+                invalidKey.getErrorMessage());
+    }
 }
@@ -0,0 +1,114 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.highpeaksw.utils.crypto.EncryptedFileHeader;
+import com.highpeaksw.utils.crypto.FileEncryptionService;
+import com.highpeaksw.utils.crypto.FileEncryptionServiceImpl;
+import com.highpeaksw.utils.exception.DataException;
+
+public class FileEncryptionServiceImplTest {
+
+    private static final String VALID_AES_KEY_256_BIT = "qwertyuiopoiuytrqwertyuiopoiuytr";
+
+    private static final int SEGMENT_SIZE = 1000;
+
+    private final FileEncryptionService fileEncryptionService = new FileEncryptionServiceImpl(SEGMENT_SIZE);
+
+    private final byte[] plainText = new byte[10 * SEGMENT_SIZE + 123];
+
+    private Path plainTextFile;
+
+    private Path cipherTextFile;
+
+    private Path decryptedFile;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        new Random(7).nextBytes(plainText);
+        plainTextFile = Files.write(Files.createTempFile("plain", ".bin"), plainText);
+        cipherTextFile = Files.createTempFile("cipher", ".bin");
+        decryptedFile = Files.createTempFile("decrypted", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(plainTextFile);
+        Files.deleteIfExists(cipherTextFile);
+        Files.deleteIfExists(decryptedFile);
+    }
+
+    @Test
+    public void testAesEncryptFileRoundTrip() throws DataException, IOException
+    {
+        fileEncryptionService.aesEncryptFile(plainTextFile, cipherTextFile, VALID_AES_KEY_256_BIT);
+        fileEncryptionService.aesDecryptFile(cipherTextFile, decryptedFile, VALID_AES_KEY_256_BIT);
+
+        assertArrayEquals(plainText, Files.readAllBytes(decryptedFile));
+    }
+
+    @Test
+    public void testAesDecryptSegmentRandomAccess() throws DataException
+    {
+        fileEncryptionService.aesEncryptFile(plainTextFile, cipherTextFile, VALID_AES_KEY_256_BIT);
+        EncryptedFileHeader header = fileEncryptionService.readHeader(cipherTextFile);
+
+        assertEquals(11, header.getSegmentCount());
+        assertEquals(plainText.length, header.getPlainTextLength());
+        assertArrayEquals(Arrays.copyOfRange(plainText, 3 * SEGMENT_SIZE, 4 * SEGMENT_SIZE),
+                fileEncryptionService.aesDecryptSegment(cipherTextFile, 3, VALID_AES_KEY_256_BIT));
+        assertArrayEquals(Arrays.copyOfRange(plainText, 10 * SEGMENT_SIZE, plainText.length),
+                fileEncryptionService.aesDecryptSegment(cipherTextFile, 10, VALID_AES_KEY_256_BIT));
+    }
+
+    @Test
+    public void testAesDecryptFileTamperedSegment() throws DataException, IOException
+    {
+        fileEncryptionService.aesEncryptFile(plainTextFile, cipherTextFile, VALID_AES_KEY_256_BIT);
+        byte[] cipherText = Files.readAllBytes(cipherTextFile);
+        cipherText[cipherText.length - 100] ^= 1;
+        Files.write(cipherTextFile, cipherText);
+
+        Files.write(decryptedFile, new byte[] { 1, 2, 3 });
+
+        DataException dataException = assertThrows(DataException.class,
+                () -> fileEncryptionService.aesDecryptFile(cipherTextFile, decryptedFile, VALID_AES_KEY_256_BIT));
+        assertEquals("Tag mismatch!", dataException.getErrorMessage());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(decryptedFile));
+    }
+
+    @Test
+    public void testAesEncryptFileIntoItselfIsRejected() throws IOException
+    {
+        DataException dataException = assertThrows(DataException.class,
+                () -> fileEncryptionService.aesEncryptFile(plainTextFile, plainTextFile, VALID_AES_KEY_256_BIT));
+        assertEquals("Source and target files must be different", dataException.getErrorMessage());
+        assertArrayEquals(plainText, Files.readAllBytes(plainTextFile));
+    }
+
+    @Test
+    public void testAesDecryptFileTruncated() throws DataException, IOException
+    {
+        fileEncryptionService.aesEncryptFile(plainTextFile, cipherTextFile, VALID_AES_KEY_256_BIT);
+        byte[] cipherText = Files.readAllBytes(cipherTextFile);
+        Files.write(cipherTextFile, Arrays.copyOf(cipherText, cipherText.length - 1));
+
+        DataException dataException = assertThrows(DataException.class,
+                () -> fileEncryptionService.aesDecryptFile(cipherTextFile, decryptedFile, VALID_AES_KEY_256_BIT));
+        assertEquals("Encrypted file has been truncated or extended", dataException.getErrorMessage());
+    }
+}
@@ -0,0 +1,41 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.exception.ValidationException;
+
+public class NullEmptyUtilsTest {
+
+    @Test
+    public void testThrowExceptionIfInputIsNullUsesSharedInstance()
+    {
+        DataException first = assertThrows(DataException.class, () -> NullEmptyUtils.throwExceptionIfInputIsNull(null));
+        DataException second = assertThrows(DataException.class,
+                () -> NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty(Collections.emptyList()));
+
+        assertSame(ValidationException.NULL_INPUT, first);
+        assertSame(first, second);
+        assertEquals("Please provide all mandatory fields", first.getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, first.getHttpStatus());
+    }
+
+    @Test
+    public void testThrowExceptionIfInputIsNullOrEmptyWithMessageIsStackless()
+    {
+        DataException dataException = assertThrows(DataException.class,
+                () -> NullEmptyUtils.throwExceptionIfInputIsNullOrEmpty("", "Name is required"));
+
+        assertEquals("Exception", dataException.getErrorCode());
+        assertEquals("Name is required", dataException.getErrorMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, dataException.getHttpStatus());
+        assertEquals(0, dataException.getStackTrace().length);
+    }
+}
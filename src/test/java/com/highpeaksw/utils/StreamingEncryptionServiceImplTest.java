@@ -0,0 +1,94 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.highpeaksw.utils.crypto.StreamingEncryptionService;
+import com.highpeaksw.utils.crypto.StreamingEncryptionServiceImpl;
+import com.highpeaksw.utils.exception.DataException;
+
+public class StreamingEncryptionServiceImplTest {
+
+    private static final String VALID_AES_KEY_256_BIT = "qwertyuiopoiuytrqwertyuiopoiuytr";
+
+    private final StreamingEncryptionService streamingEncryptionService = new StreamingEncryptionServiceImpl();
+
+    @Test
+    public void testAesEncryptStreamRoundTripAcrossSegments() throws DataException
+    {
+        byte[] plainText = randomBytes(3 * 1024 * 1024 + 17);
+        ByteArrayOutputStream cipherText = new ByteArrayOutputStream();
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+
+        streamingEncryptionService.aesEncryptStream(new ByteArrayInputStream(plainText), cipherText,
+                VALID_AES_KEY_256_BIT);
+        streamingEncryptionService.aesDecryptStream(new ByteArrayInputStream(cipherText.toByteArray()), decrypted,
+                VALID_AES_KEY_256_BIT);
+
+        assertArrayEquals(plainText, decrypted.toByteArray());
+    }
+
+    @Test
+    public void testAesEncryptFileRoundTrip() throws DataException, IOException
+    {
+        byte[] plainText = randomBytes(200_000);
+        Path plainTextFile = Files.createTempFile("plain", ".bin");
+        Path cipherTextFile = Files.createTempFile("cipher", ".bin");
+        Path decryptedFile = Files.createTempFile("decrypted", ".bin");
+        try
+        {
+            Files.write(plainTextFile, plainText);
+            streamingEncryptionService.aesEncryptFile(plainTextFile, cipherTextFile, VALID_AES_KEY_256_BIT);
+            streamingEncryptionService.aesDecryptFile(cipherTextFile, decryptedFile, VALID_AES_KEY_256_BIT);
+
+            assertArrayEquals(plainText, Files.readAllBytes(decryptedFile));
+        }
+        finally
+        {
+            Files.deleteIfExists(plainTextFile);
+            Files.deleteIfExists(cipherTextFile);
+            Files.deleteIfExists(decryptedFile);
+        }
+    }
+
+    @Test
+    public void testAesDecryptStreamTamperedCipherText() throws DataException
+    {
+        ByteArrayOutputStream cipherText = new ByteArrayOutputStream();
+        streamingEncryptionService.aesEncryptStream(new ByteArrayInputStream(randomBytes(10_000)), cipherText,
+                VALID_AES_KEY_256_BIT);
+        byte[] tampered = cipherText.toByteArray();
+        tampered[tampered.length / 2] ^= 1;
+
+        DataException dataException = assertThrows(DataException.class, () -> streamingEncryptionService
+                .aesDecryptStream(new ByteArrayInputStream(tampered), new ByteArrayOutputStream(),
+                        VALID_AES_KEY_256_BIT));
+        assertEquals("Error while processing the encrypted stream", dataException.getErrorMessage());
+    }
+
+    @Test
+    public void testAesEncryptStreamInvalidKeySize()
+    {
+        DataException dataException = assertThrows(DataException.class, () -> streamingEncryptionService
+                .aesEncryptStream(new ByteArrayInputStream(new byte[1]), new ByteArrayOutputStream(), "short"));
+        assertEquals("AES key size must be 16 characters for 128-bit enc and 32 characters for 256-bit enc",
+                dataException.getErrorMessage());
+    }
+
+    private static byte[] randomBytes( int size )
+    {
+        byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
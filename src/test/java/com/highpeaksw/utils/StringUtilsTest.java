@@ -0,0 +1,93 @@
+package com.highpeaksw.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import com.highpeaksw.utils.exception.DataException;
+
+public class StringUtilsTest {
+
+    private static final String[] PIECES = { "", " ", "a", "42", "\r", "\n", "x y", null };
+
+    private static final char[] DELIMITERS = { ',', ' ', '\n', '\r' };
+
+    @Test
+    public void testMatchesChoppedJoin() throws DataException
+    {
+        Random random = new Random(13);
+        for( int i = 0; i < 20_000; i++ )
+        {
+            List<String> values = new ArrayList<>();
+            int size = random.nextInt(4);
+            for( int j = 0; j < size; j++ )
+            {
+                values.add(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String startPrefix = PIECES[random.nextInt(PIECES.length)];
+            String endPrefix = PIECES[random.nextInt(PIECES.length)];
+            char delimiter = DELIMITERS[random.nextInt(DELIMITERS.length)];
+            assertEquals(choppedJoin(values, startPrefix, endPrefix, delimiter),
+                    StringUtils.convertListOfStringToAStringWithDelimiter(values, startPrefix, endPrefix, delimiter));
+        }
+    }
+
+    @Test
+    public void testIterableOfCharSequences() throws DataException
+    {
+        Iterable<StringBuilder> values = List.of(new StringBuilder("1"), new StringBuilder("2"));
+        assertEquals("'1','2'", StringUtils.convertListOfStringToAStringWithDelimiter(values, "'", "'", ','));
+        assertEquals("", StringUtils.convertListOfStringToAStringWithDelimiter(Set.of(), "'", "'", ','));
+    }
+
+    @Test
+    public void testIterableIsReadOnce() throws DataException
+    {
+        int[] calls = { 0 };
+        Iterable<String> shrinking = () -> List.of("1", "2", "3").subList(0, 3 - calls[0]++).iterator();
+        assertEquals("'1','2','3'", StringUtils.convertListOfStringToAStringWithDelimiter(shrinking, "'", "'", ','));
+    }
+
+    @Test
+    public void testCollectionChangedWhileJoined()
+    {
+        List<List<String>> secondPasses = List.of(List.of("1"), List.of("1", "2", "3"), List.of("1", "22"), List.of());
+        for( List<String> second : secondPasses )
+        {
+            Collection<String> changing = new AbstractCollection<>() {
+                private int calls;
+
+                @Override
+                public Iterator<String> iterator()
+                {
+                    return (calls++ == 0 ? List.of("1", "2") : second).iterator();
+                }
+
+                @Override
+                public int size()
+                {
+                    return 2;
+                }
+            };
+            assertThrows(ConcurrentModificationException.class,
+                    () -> StringUtils.convertListOfStringToAStringWithDelimiter(changing, "'", "'", '\n'));
+        }
+    }
+
+    /**
+     * The join this class did before it sized its output
+     */
+    private static String choppedJoin( List<String> values, String startPrefix, String endPrefix, char delimiter )
+    {
+        StringBuilder stringBuilder = new StringBuilder();
+        for( String s : values )
+        {
+            stringBuilder.append(startPrefix).append(s).append(endPrefix).append(delimiter);
+        }
+        String output = stringBuilder.toString();
+        return NullEmptyUtils.isNullOrEmpty(output) ? output : org.apache.commons.lang3.StringUtils.chop(output);
+    }
+}
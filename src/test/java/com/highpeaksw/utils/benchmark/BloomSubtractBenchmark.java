@@ -0,0 +1,83 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.CollectionUtils;
+import com.highpeaksw.utils.collection.BloomFilter;
+import com.highpeaksw.utils.collection.LongHashSet;
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.BloomSubtractResult;
+
+/**
+ * Subtracts {@code size} ids from an exclusion set four times as large, once against an exact {@link LongHashSet}
+ * and once against a {@link BloomFilter}, with and without confirming the candidates in the exact set.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.BloomSubtractBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx4g" )
+public class BloomSubtractBenchmark {
+
+    @Param( { "1000000" } )
+    private int size;
+
+    @Param( { "0.01", "0.05" } )
+    private double falsePositiveRate;
+
+    private long[] ids;
+
+    private LongHashSet excludedSet;
+
+    private BloomFilter excludedFilter;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        ids = random.longs(size, 0, size * 8L).toArray();
+        long[] excluded = random.longs(size * 4L, 0, size * 8L).toArray();
+        excludedSet = LongHashSet.of(excluded);
+        excludedFilter = BloomFilter.create(excluded.length, falsePositiveRate);
+        excludedFilter.putAll(excluded);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        excludedFilter.close();
+    }
+
+    @Benchmark
+    public long[] exactSubtract() throws DataException
+    {
+        return CollectionUtils.subtractArray(ids, excludedSet);
+    }
+
+    @Benchmark
+    public BloomSubtractResult<long[]> bloomSubtractConfirmed() throws DataException
+    {
+        return CollectionUtils.subtractArrayWithBloomFilter(ids, excludedFilter, excludedSet::contains);
+    }
+
+    @Benchmark
+    public BloomSubtractResult<long[]> bloomSubtractApproximate() throws DataException
+    {
+        return CollectionUtils.subtractArrayWithBloomFilter(ids, excludedFilter, null);
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(BloomSubtractBenchmark.class.getSimpleName()).build()).run();
+    }
+}
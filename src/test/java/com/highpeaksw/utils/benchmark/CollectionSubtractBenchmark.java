@@ -0,0 +1,99 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.CollectionUtils;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Diffs {@code size} ids against {@code size / 10} excluded ids, a third of which are unknown, through
+ * commons-collections4 and through each strategy of {@link CollectionUtils}.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.CollectionSubtractBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class CollectionSubtractBenchmark {
+
+    @Param( { "10000", "100000" } )
+    private int size;
+
+    private List<Long> ids;
+
+    private List<Long> excluded;
+
+    private Set<Long> excludedSet;
+
+    private List<Long> sortedIds;
+
+    private List<Long> sortedExcluded;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        ids = new ArrayList<>(size);
+        for( int i = 0; i < size; i++ )
+        {
+            ids.add(random.nextLong() & Long.MAX_VALUE);
+        }
+        excluded = new ArrayList<>(size / 10);
+        for( int i = 0; i < size / 10; i++ )
+        {
+            excluded.add(i % 3 == 0 ? random.nextLong() & Long.MAX_VALUE : ids.get(random.nextInt(size)));
+        }
+        excludedSet = new HashSet<>(excluded);
+        sortedIds = new ArrayList<>(ids);
+        Collections.sort(sortedIds);
+        sortedExcluded = new ArrayList<>(excluded);
+        Collections.sort(sortedExcluded);
+    }
+
+    @Benchmark
+    public Collection<Long> commonsSubtract()
+    {
+        return org.apache.commons.collections4.CollectionUtils.subtract(ids, excluded);
+    }
+
+    @Benchmark
+    public Collection<Long> multisetSubtract()
+    {
+        return CollectionUtils.subtractCollection(ids, excluded);
+    }
+
+    @Benchmark
+    public List<Long> setSubtractOfSet() throws DataException
+    {
+        return CollectionUtils.subtractCollection(ids, excludedSet, SubtractSemanticsEnum.SET);
+    }
+
+    @Benchmark
+    public List<Long> sortedSubtract() throws DataException
+    {
+        return CollectionUtils.subtractSortedList(sortedIds, sortedExcluded, null, SubtractSemanticsEnum.SET);
+    }
+
+    @Benchmark
+    public int inPlaceSubtract() throws DataException
+    {
+        return CollectionUtils.subtractCollectionInPlace(new ArrayList<>(ids), excludedSet,
+                SubtractSemanticsEnum.SET);
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(CollectionSubtractBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.CollectionUtils;
+import com.highpeaksw.utils.collection.CompressedBitmap;
+import com.highpeaksw.utils.collection.IntHashSet;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Subtracts a range of user ids with a few scattered deletions from a range of {@code size} ids, as boxed lists, as
+ * {@code int[]} against an {@link IntHashSet} and as {@link CompressedBitmap}s.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.CompressedBitmapBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx4g" )
+public class CompressedBitmapBenchmark {
+
+    @Param( { "1000000", "10000000" } )
+    private int size;
+
+    private List<Integer> boxedIds;
+
+    private List<Integer> boxedExcluded;
+
+    private int[] ids;
+
+    private IntHashSet excludedSet;
+
+    private CompressedBitmap idBitmap;
+
+    private CompressedBitmap excludedBitmap;
+
+    @Setup
+    public void setUp()
+    {
+        idBitmap = CompressedBitmap.range(1_000, 1_000 + size);
+        excludedBitmap = CompressedBitmap.range(1_000 + size / 4, 1_000 + size / 2);
+        excludedBitmap.addAll(new Random(42).ints(size / 100, 1_000, 1_000 + size).toArray());
+        ids = idBitmap.toArray();
+        int[] excluded = excludedBitmap.toArray();
+        excludedSet = IntHashSet.of(excluded);
+        boxedIds = idBitmap.toList();
+        boxedExcluded = excludedBitmap.toList();
+    }
+
+    @Benchmark
+    public List<Integer> boxedSubtract() throws DataException
+    {
+        return CollectionUtils.subtractCollection(boxedIds, boxedExcluded, SubtractSemanticsEnum.SET);
+    }
+
+    @Benchmark
+    public int[] primitiveSubtract() throws DataException
+    {
+        return CollectionUtils.subtractArray(ids, excludedSet);
+    }
+
+    @Benchmark
+    public CompressedBitmap bitmapSubtract()
+    {
+        return idBitmap.andNot(excludedBitmap);
+    }
+
+    @Benchmark
+    public long bitmapIntersectCardinality()
+    {
+        return idBitmap.and(excludedBitmap).getCardinality();
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(CompressedBitmapBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.DateUtilV2;
+import com.highpeaksw.utils.enums.DateFormatPatternEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Writes a column of dd-MMM-yyyy dates into an export buffer, once by appending the String of
+ * {@link DateUtilV2#getHumanReadableStringDateFromLocalDate(LocalDate, DateFormatPatternEnum)} and once by
+ * formatting straight into the buffer.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.DateFormattingBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class DateFormattingBenchmark {
+
+    private static final int DATE_COUNT = 1000;
+
+    private final LocalDate[] dates = new LocalDate[DATE_COUNT];
+
+    private final StringBuilder line = new StringBuilder(DATE_COUNT * 12);
+
+    private final byte[] bytes = new byte[DATE_COUNT * 12];
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            dates[i] = LocalDate.ofEpochDay(random.nextInt(20_000));
+        }
+    }
+
+    @Benchmark
+    public int appendFormattedString() throws DataException
+    {
+        line.setLength(0);
+        for( LocalDate date : dates )
+        {
+            line.append(DateUtilV2.getHumanReadableStringDateFromLocalDate(date, DateFormatPatternEnum.DD_MMM_YYYY))
+                    .append(',');
+        }
+        return line.length();
+    }
+
+    @Benchmark
+    public int appendToStringBuilder() throws DataException
+    {
+        line.setLength(0);
+        for( LocalDate date : dates )
+        {
+            DateUtilV2.appendHumanReadableStringDate(line, date, DateFormatPatternEnum.DD_MMM_YYYY).append(',');
+        }
+        return line.length();
+    }
+
+    @Benchmark
+    public int writeToBytes() throws DataException
+    {
+        int position = 0;
+        for( LocalDate date : dates )
+        {
+            position += DateUtilV2.writeHumanReadableStringDate(bytes, position, date,
+                    DateFormatPatternEnum.DD_MMM_YYYY);
+            bytes[position++] = ',';
+        }
+        return position;
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(DateFormattingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.DateUtilV2;
+import com.highpeaksw.utils.enums.DateFormatPatternEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Parses a CSV-like line of dd-MM-yyyy and dd-MMM-yyyy dates, once through {@link DateTimeFormatter} on substrings
+ * and once through the epoch day parser of {@link DateUtilV2} on char and byte ranges.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.DateParsingBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class DateParsingBenchmark {
+
+    private static final int DATE_COUNT = 1000;
+
+    private static final DateTimeFormatter DD_MM_YYYY = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private String dayMonthYearLine;
+
+    private byte[] dayMonthYearBytes;
+
+    private String monthNameLine;
+
+    private byte[] monthNameBytes;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        StringBuilder dayMonthYear = new StringBuilder();
+        StringBuilder monthName = new StringBuilder();
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(20_000));
+            dayMonthYear.append(date.format(DD_MM_YYYY)).append(',');
+            monthName.append(date.format(DateFormatPatternEnum.DD_MMM_YYYY.getFormatter())).append(',');
+        }
+        dayMonthYearLine = dayMonthYear.toString();
+        dayMonthYearBytes = dayMonthYearLine.getBytes(StandardCharsets.US_ASCII);
+        monthNameLine = monthName.toString();
+        monthNameBytes = monthNameLine.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public long parseDayMonthYearWithFormatter()
+    {
+        long sum = 0;
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            sum += LocalDate.parse(dayMonthYearLine.substring(i * 11, i * 11 + 10), DD_MM_YYYY).toEpochDay();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseDayMonthYearFromChars() throws DataException
+    {
+        long sum = 0;
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            sum += DateUtilV2.getEpochDayFromHumanReadableStringDate(dayMonthYearLine, i * 11, 10);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseDayMonthYearFromBytes() throws DataException
+    {
+        long sum = 0;
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            sum += DateUtilV2.getEpochDayFromHumanReadableStringDate(dayMonthYearBytes, i * 11, 10);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseMonthNameWithFormatter()
+    {
+        long sum = 0;
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            sum += LocalDate.parse(monthNameLine.substring(i * 12, i * 12 + 11),
+                    DateFormatPatternEnum.DD_MMM_YYYY.getFormatter()).toEpochDay();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseMonthNameFromBytes() throws DataException
+    {
+        long sum = 0;
+        for( int i = 0; i < DATE_COUNT; i++ )
+        {
+            sum += DateUtilV2.getEpochDayFromHumanReadableStringDate(monthNameBytes, i * 12, 11,
+                    DateFormatPatternEnum.DD_MMM_YYYY);
+        }
+        return sum;
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(DateParsingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.crypto.CryptoBatchResult;
+import com.highpeaksw.utils.crypto.EncryptionService;
+import com.highpeaksw.utils.crypto.EncryptionServiceImpl;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Compares {@link EncryptionService#aesEncryptAll(List, String)} with encrypting the same values one
+ * {@link EncryptionService#aesEncrypt(String, String)} call at a time.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.EncryptionBatchBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class EncryptionBatchBenchmark {
+
+    private static final String KEY = "qwertyuiopoiuytrqwertyuiopoiuytr";
+
+    @Param( { "50", "10000" } )
+    private int batchSize;
+
+    private final EncryptionService encryptionService = new EncryptionServiceImpl();
+
+    private List<String> plainTexts;
+
+    @Setup
+    public void setUp()
+    {
+        plainTexts = new ArrayList<>(batchSize);
+        for( int i = 0; i < batchSize; i++ )
+        {
+            plainTexts.add("customer-" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public List<String> perCallLoop() throws DataException
+    {
+        List<String> encrypted = new ArrayList<>(plainTexts.size());
+        for( String plainText : plainTexts )
+        {
+            encrypted.add(encryptionService.aesEncrypt(plainText, KEY));
+        }
+        return encrypted;
+    }
+
+    @Benchmark
+    public CryptoBatchResult<Integer, List<String>> batch() throws DataException
+    {
+        return encryptionService.aesEncryptAll(plainTexts, KEY);
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(EncryptionBatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
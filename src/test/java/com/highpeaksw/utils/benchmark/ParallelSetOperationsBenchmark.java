@@ -0,0 +1,115 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.CollectionUtils;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Scaling of the parallel set operations of {@link CollectionUtils} over two collections of {@code size} ids that
+ * overlap by half, on a dedicated pool of {@code parallelism} workers. The sequential subtract is the baseline.
+ * Parallelism above the number of cores of the machine only shows the scheduling overhead.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.ParallelSetOperationsBenchmark}
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx8g" )
+public class ParallelSetOperationsBenchmark {
+
+    /**
+     * The collections, shared by all benchmarks. Kept apart from {@link Workers} so that the sequential baseline is
+     * only run once per size.
+     */
+    @State( Scope.Benchmark )
+    public static class Input {
+
+        @Param( { "1000000", "10000000" } )
+        private int size;
+
+        private List<Long> one;
+
+        private List<Long> two;
+
+        @Setup
+        public void setUp()
+        {
+            Random random = new Random(42);
+            one = new ArrayList<>(size);
+            two = new ArrayList<>(size);
+            for( int i = 0; i < size; i++ )
+            {
+                one.add((long) i);
+                two.add(random.nextBoolean() ? (long) random.nextInt(size) : size + (long) i);
+            }
+            Collections.shuffle(one, random);
+        }
+    }
+
+    @State( Scope.Benchmark )
+    public static class Workers {
+
+        @Param( { "1", "2", "4", "8", "16", "32" } )
+        private int parallelism;
+
+        private ForkJoinPool pool;
+
+        @Setup
+        public void setUp()
+        {
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        @TearDown
+        public void tearDown()
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<Long> sequentialSubtract( Input input ) throws DataException
+    {
+        return CollectionUtils.subtractCollection(input.one, input.two, SubtractSemanticsEnum.SET);
+    }
+
+    @Benchmark
+    public List<Long> parallelSubtract( Input input, Workers workers ) throws DataException
+    {
+        return CollectionUtils.subtractCollectionInParallel(input.one, input.two, workers.pool);
+    }
+
+    @Benchmark
+    public List<Long> parallelIntersect( Input input, Workers workers ) throws DataException
+    {
+        return CollectionUtils.intersectCollectionInParallel(input.one, input.two, workers.pool);
+    }
+
+    @Benchmark
+    public List<Long> parallelOrderedUnion( Input input, Workers workers ) throws DataException
+    {
+        return CollectionUtils.unionCollectionInParallel(input.one, input.two, true, workers.pool);
+    }
+
+    @Benchmark
+    public List<Long> parallelUnorderedUnion( Input input, Workers workers ) throws DataException
+    {
+        return CollectionUtils.unionCollectionInParallel(input.one, input.two, false, workers.pool);
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(ParallelSetOperationsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
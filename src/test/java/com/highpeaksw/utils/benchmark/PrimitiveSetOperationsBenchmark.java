@@ -0,0 +1,116 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.CollectionUtils;
+import com.highpeaksw.utils.collection.LongHashSet;
+import com.highpeaksw.utils.enums.SubtractSemanticsEnum;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Reconciles {@code size} database ids against half as many ids to remove, once as boxed {@code Collection<Long>}
+ * and once as {@code long[]}. Run with {@code -prof gc} to compare the allocation per operation as well.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.PrimitiveSetOperationsBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( value = 1, jvmArgsAppend = "-Xmx4g" )
+public class PrimitiveSetOperationsBenchmark {
+
+    @Param( { "100000", "5000000" } )
+    private int size;
+
+    private long[] ids;
+
+    private long[] excluded;
+
+    private LongHashSet excludedSet;
+
+    private List<Long> boxedIds;
+
+    private List<Long> boxedExcluded;
+
+    private Set<Long> boxedExcludedSet;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        ids = new long[size];
+        boxedIds = new ArrayList<>(size);
+        for( int i = 0; i < size; i++ )
+        {
+            // increasing ids with gaps, like a primary key column
+            ids[i] = 1_000_000L + i * 3L + random.nextInt(3);
+            boxedIds.add(ids[i]);
+        }
+        excluded = new long[size / 2];
+        boxedExcluded = new ArrayList<>(size / 2);
+        for( int i = 0; i < excluded.length; i++ )
+        {
+            excluded[i] = ids[random.nextInt(size)] + (i % 3 == 0 ? 1 : 0);
+            boxedExcluded.add(excluded[i]);
+        }
+        excludedSet = LongHashSet.of(excluded);
+        boxedExcludedSet = new HashSet<>(boxedExcluded);
+    }
+
+    @Benchmark
+    public Collection<Long> boxedSubtract()
+    {
+        return CollectionUtils.subtractCollection(boxedIds, boxedExcluded);
+    }
+
+    @Benchmark
+    public List<Long> boxedSubtractOfSet() throws DataException
+    {
+        return CollectionUtils.subtractCollection(boxedIds, boxedExcludedSet, SubtractSemanticsEnum.SET);
+    }
+
+    @Benchmark
+    public long[] primitiveSubtract() throws DataException
+    {
+        return CollectionUtils.subtractArray(ids, excluded);
+    }
+
+    @Benchmark
+    public long[] primitiveSubtractOfSet() throws DataException
+    {
+        return CollectionUtils.subtractArray(ids, excludedSet);
+    }
+
+    @Benchmark
+    public long[] primitiveIntersect() throws DataException
+    {
+        return CollectionUtils.intersectArray(ids, excluded);
+    }
+
+    @Benchmark
+    public long[] primitiveUnion() throws DataException
+    {
+        return CollectionUtils.unionArray(ids, excluded);
+    }
+
+    @Benchmark
+    public long[] primitiveSymmetricDifference() throws DataException
+    {
+        return CollectionUtils.symmetricDifferenceArray(ids, excluded);
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(PrimitiveSetOperationsBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
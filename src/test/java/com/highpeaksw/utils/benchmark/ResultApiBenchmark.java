@@ -0,0 +1,150 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+
+import com.highpeaksw.utils.DateUtilV2;
+import com.highpeaksw.utils.constants.GeneralConstants;
+import com.highpeaksw.utils.crypto.EncryptionService;
+import com.highpeaksw.utils.crypto.EncryptionServiceImpl;
+import com.highpeaksw.utils.exception.DataException;
+import com.highpeaksw.utils.result.OperationResult;
+
+/**
+ * Validates a batch of untrusted values in which {@code invalidPercent} percent are bad, once through the throwing
+ * methods and once through their {@code try*} variants, plus the raw cost of a {@link DataException} with and
+ * without a stack trace.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.ResultApiBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ResultApiBenchmark {
+
+    private static final String KEY = "qwertyuiopoiuytrqwertyuiopoiuytr";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param( { "5", "20" } )
+    private int invalidPercent;
+
+    private final EncryptionService encryptionService = new EncryptionServiceImpl();
+
+    private List<String> dates;
+
+    private List<String> encryptedTexts;
+
+    @Setup
+    public void setUp() throws DataException
+    {
+        Random random = new Random(42);
+        dates = new ArrayList<>(BATCH_SIZE);
+        encryptedTexts = new ArrayList<>(BATCH_SIZE);
+        for( int i = 0; i < BATCH_SIZE; i++ )
+        {
+            boolean invalid = random.nextInt(100) < invalidPercent;
+            dates.add(invalid ? "2021/03/" + (i % 28 + 1) : String.format("%02d-03-2021", i % 28 + 1));
+            String encrypted = encryptionService.aesEncrypt("customer-" + i + "@example.com", KEY);
+            encryptedTexts.add(invalid ? "#" + encrypted : encrypted);
+        }
+    }
+
+    @Benchmark
+    public int parseDatesThrowing()
+    {
+        int valid = 0;
+        for( String date : dates )
+        {
+            try
+            {
+                DateUtilV2.getLocalDateFromHumanReadableStringDate(date);
+                valid++;
+            }
+            catch( DataException e )
+            {
+                // counted as invalid
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int parseDatesWithResult()
+    {
+        int valid = 0;
+        for( String date : dates )
+        {
+            if( DateUtilV2.tryGetLocalDateFromHumanReadableStringDate(date).isSuccess() )
+            {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int decryptThrowing()
+    {
+        int valid = 0;
+        for( String encryptedText : encryptedTexts )
+        {
+            try
+            {
+                encryptionService.aesDecrypt(encryptedText, KEY);
+                valid++;
+            }
+            catch( DataException e )
+            {
+                // counted as invalid
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int decryptWithResult()
+    {
+        int valid = 0;
+        for( String encryptedText : encryptedTexts )
+        {
+            OperationResult<String> result = encryptionService.tryAesDecrypt(encryptedText, KEY);
+            if( result.isSuccess() )
+            {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public DataException createDataException()
+    {
+        return new DataException(GeneralConstants.EXCEPTION, GeneralConstants.NULL_INPUT_ERROR,
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @Benchmark
+    public DataException createStacklessDataException()
+    {
+        return new DataException(GeneralConstants.EXCEPTION, GeneralConstants.NULL_INPUT_ERROR,
+                HttpStatus.BAD_REQUEST, false);
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(ResultApiBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.NullEmptyUtils;
+import com.highpeaksw.utils.StringUtils;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Builds the quoted ids of a SQL {@code IN} list with
+ * {@link StringUtils#convertListOfStringToAStringWithDelimiter(List, String, String, char)} and with the previous
+ * implementation, which grew a default builder and chopped a trailing delimiter off. Run with {@code -prof gc} to
+ * compare the allocation per operation as well.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.StringJoinBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class StringJoinBenchmark {
+
+    @Param( { "100", "50000" } )
+    private int size;
+
+    private List<String> ids;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        ids = new ArrayList<>(size);
+        for( int i = 0; i < size; i++ )
+        {
+            ids.add(Long.toString(1_000_000_000L + random.nextInt(1_000_000_000)));
+        }
+    }
+
+    @Benchmark
+    public String choppedJoin()
+    {
+        StringBuilder stringBuilder = new StringBuilder();
+        for( String s : ids )
+        {
+            stringBuilder.append('\'');
+            stringBuilder.append(s);
+            stringBuilder.append('\'');
+            stringBuilder.append(',');
+        }
+        String output = stringBuilder.toString();
+        return NullEmptyUtils.isNullOrEmpty(output) ? output : org.apache.commons.lang3.StringUtils.chop(output);
+    }
+
+    @Benchmark
+    public String sizedJoin() throws DataException
+    {
+        return StringUtils.convertListOfStringToAStringWithDelimiter(ids, "'", "'", ',');
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(StringJoinBenchmark.class.getSimpleName()).build()).run();
+    }
+}
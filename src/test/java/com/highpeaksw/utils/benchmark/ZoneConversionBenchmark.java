@@ -0,0 +1,93 @@
+package com.highpeaksw.utils.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.highpeaksw.utils.DateUtilV2;
+import com.highpeaksw.utils.exception.DataException;
+
+/**
+ * Converts a batch of event times spread over {@code spreadDays} days from one zone to another, through the
+ * {@link LocalDateTime} based conversion, through the conversions backed by the zone offset cache one value at a
+ * time and through the bulk conversion into a {@code long[]}.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.highpeaksw.utils.benchmark.ZoneConversionBenchmark}
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ZoneConversionBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final long START = 1609459200000L;
+
+    @Param( { "IST", "PST" } )
+    private String inputZone;
+
+    @Param( { "1", "365" } )
+    private int spreadDays;
+
+    private final String requiredZone = "Europe/London";
+
+    private long[] milliseconds;
+
+    private long[] localEpochMillis;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42);
+        milliseconds = new long[BATCH_SIZE];
+        for( int i = 0; i < BATCH_SIZE; i++ )
+        {
+            milliseconds[i] = START + (long) (random.nextDouble() * spreadDays * 86_400_000L);
+        }
+        localEpochMillis = new long[BATCH_SIZE];
+    }
+
+    @Benchmark
+    public void convertToLocalDateTime( Blackhole blackhole ) throws DataException
+    {
+        for( long millis : milliseconds )
+        {
+            blackhole.consume(
+                    DateUtilV2.convertAndGetLocalDateTimeInAZoneForATimeToOtherZone(millis, inputZone, requiredZone));
+        }
+    }
+
+    @Benchmark
+    public long convertToLocalEpochMillis() throws DataException
+    {
+        long sum = 0;
+        for( long millis : milliseconds )
+        {
+            sum += DateUtilV2.convertAndGetLocalEpochMillisInAZoneForATimeToOtherZone(millis, inputZone, requiredZone);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long[] convertBulkToLocalEpochMillis() throws DataException
+    {
+        DateUtilV2.convertEpochMillisToLocalEpochMillisInOtherZone(milliseconds, inputZone, requiredZone,
+                localEpochMillis);
+        return localEpochMillis;
+    }
+
+    public static void main( String[] args ) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(ZoneConversionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.highpeaksw.utils.collection;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testNoFalseNegativesAndRateNearTarget()
+    {
+        Random random = new Random(5);
+        try( BloomFilter filter = BloomFilter.create(100_000, 0.01) )
+        {
+            long[] keys = random.longs(100_000).toArray();
+            filter.putAll(keys);
+            for( long key : keys )
+            {
+                assertTrue(filter.mightContain(key));
+            }
+            assertEquals(keys.length, filter.getInsertions());
+
+            int falsePositives = 0;
+            for( int i = 0; i < 100_000; i++ )
+            {
+                if( filter.mightContain(random.nextLong()) )
+                {
+                    falsePositives++;
+                }
+            }
+            assertTrue("false positives: " + falsePositives, falsePositives > 500 && falsePositives < 1500);
+            assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.002);
+            assertTrue(filter.getSizeInBytes() < 125_000);
+        }
+    }
+
+    @Test
+    public void testObjectKeys()
+    {
+        try( BloomFilter filter = BloomFilter.create(10, 0.01) )
+        {
+            filter.put(42);
+            filter.put("id-7");
+            filter.put((Object) null);
+            assertTrue(filter.mightContain(42L));
+            assertTrue(filter.mightContain((Object) 42L));
+            assertTrue(filter.mightContain(new StringBuilder("id-7")));
+            assertTrue(filter.mightContain((Object) null));
+        }
+    }
+
+    @Test
+    public void testUseAfterClose()
+    {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        filter.put(7L);
+        filter.close();
+        filter.close();
+        assertThrows(IllegalStateException.class, () -> filter.mightContain(7L));
+        assertThrows(IllegalStateException.class, () -> filter.put("id-7"));
+    }
+
+    @Test
+    public void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(Long.MAX_VALUE / 2, 0.01));
+    }
+}
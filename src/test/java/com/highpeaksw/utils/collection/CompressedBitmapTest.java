@@ -0,0 +1,127 @@
+package com.highpeaksw.utils.collection;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class CompressedBitmapTest {
+
+    @Test
+    public void testSetOperationsMatchTreeSet()
+    {
+        Random random = new Random(3);
+        for( int i = 0; i < 200; i++ )
+        {
+            int[] one = randomIds(random);
+            int[] two = randomIds(random);
+            TreeSet<Integer> oneSet = toSet(one);
+            TreeSet<Integer> twoSet = toSet(two);
+            CompressedBitmap oneBitmap = CompressedBitmap.of(one);
+            CompressedBitmap twoBitmap = new CompressedBitmap();
+            twoBitmap.addAll(two);
+
+            TreeSet<Integer> and = new TreeSet<>(oneSet);
+            and.retainAll(twoSet);
+            TreeSet<Integer> or = new TreeSet<>(oneSet);
+            or.addAll(twoSet);
+            TreeSet<Integer> andNot = new TreeSet<>(oneSet);
+            andNot.removeAll(twoSet);
+            assertEquals(new ArrayList<>(and), oneBitmap.and(twoBitmap).toList());
+            assertEquals(new ArrayList<>(or), oneBitmap.or(twoBitmap).toList());
+            assertEquals(new ArrayList<>(andNot), oneBitmap.andNot(twoBitmap).toList());
+            assertEquals(oneSet.size(), oneBitmap.getCardinality());
+            assertEquals(new ArrayList<>(oneSet), oneBitmap.toList());
+        }
+    }
+
+    @Test
+    public void testAddRemoveAndContains()
+    {
+        CompressedBitmap bitmap = CompressedBitmap.range(-10, 200_000);
+        assertEquals(200_010, bitmap.getCardinality());
+        assertTrue(bitmap.contains(-10));
+        assertFalse(bitmap.contains(200_000));
+        assertTrue(bitmap.remove(100));
+        assertFalse(bitmap.remove(100));
+        assertFalse(bitmap.contains(100));
+        assertTrue(bitmap.add(100));
+        assertFalse(bitmap.add(100));
+        assertTrue(bitmap.add(Integer.MIN_VALUE));
+        assertTrue(bitmap.add(Integer.MAX_VALUE));
+        assertEquals(Integer.MIN_VALUE, bitmap.toArray()[0]);
+        assertEquals(Integer.MAX_VALUE, bitmap.toArray()[200_011]);
+        assertTrue(CompressedBitmap.range(5, 5).isEmpty());
+    }
+
+    @Test
+    public void testSerialisedFormIsCompact()
+    {
+        CompressedBitmap range = CompressedBitmap.range(1_000_000, 11_000_000);
+        assertTrue(range.getSerializedSizeInBytes() < 2_000);
+        CompressedBitmap mixed = range.or(CompressedBitmap.of(new Random(5).ints(10_000, 0, 50_000_000).toArray()));
+        mixed.add(-3);
+
+        byte[] bytes = mixed.toByteArray();
+        assertEquals(mixed.getSerializedSizeInBytes(), bytes.length);
+        CompressedBitmap copy = CompressedBitmap.fromByteArray(bytes);
+        assertEquals(mixed, copy);
+        assertEquals(mixed.hashCode(), copy.hashCode());
+        assertEquals(mixed.getCardinality(), copy.getCardinality());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CompressedBitmap.fromByteArray(Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> CompressedBitmap.fromByteArray(new byte[8]));
+    }
+
+    @Test
+    public void testEqualAcrossRepresentations()
+    {
+        for( int end : new int[] { 10, 70_000 } )
+        {
+            CompressedBitmap runs = CompressedBitmap.range(-5, end);
+            CompressedBitmap added = new CompressedBitmap();
+            for( int value = -5; value < end; value++ )
+            {
+                added.add(value);
+            }
+            assertEquals(runs, added);
+            assertEquals(runs.hashCode(), added.hashCode());
+        }
+        CompressedBitmap sparse = CompressedBitmap.of(3, 65_000, 70_000);
+        assertNotEquals(sparse.hashCode(), CompressedBitmap.of(3, 64_999, 70_000).hashCode());
+    }
+
+    private static int[] randomIds( Random random )
+    {
+        int base = random.nextInt(1 << 20) - (1 << 19);
+        int[] ids = new int[random.nextInt(20_000)];
+        for( int i = 0; i < ids.length; i++ )
+        {
+            switch( random.nextInt(3) )
+            {
+            case 0:
+                // consecutive ids, stored as runs
+                ids[i] = base + i;
+                break;
+            case 1:
+                ids[i] = base + random.nextInt(70_000);
+                break;
+            default:
+                ids[i] = base + random.nextInt(5_000_000);
+            }
+        }
+        return ids;
+    }
+
+    private static TreeSet<Integer> toSet( int[] values )
+    {
+        TreeSet<Integer> set = new TreeSet<>();
+        for( int value : values )
+        {
+            set.add(value);
+        }
+        return set;
+    }
+}
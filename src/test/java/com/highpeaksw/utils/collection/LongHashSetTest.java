@@ -0,0 +1,82 @@
+package com.highpeaksw.utils.collection;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testMatchesHashSet()
+    {
+        Random random = new Random(11);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        for( int i = 0; i < 100_000; i++ )
+        {
+            // a narrow range with a few large values keeps the probe runs long and exercises removal
+            long value = random.nextInt(2000) - 500;
+            if( random.nextInt(10) == 0 )
+            {
+                value <<= 40;
+            }
+            switch( random.nextInt(3) )
+            {
+            case 0:
+                assertEquals(expected.add(value), set.add(value));
+                break;
+            case 1:
+                assertEquals(expected.remove(value), set.remove(value));
+                break;
+            default:
+                assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        long[] values = set.toArray();
+        assertEquals(expected.size(), values.length);
+        for( long value : values )
+        {
+            assertTrue(expected.contains(value));
+        }
+    }
+
+    @Test
+    public void testZeroAndClear()
+    {
+        LongHashSet set = LongHashSet.of(0, 0, 7, Long.MIN_VALUE);
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[] { Long.MIN_VALUE, 0, 7 }, values);
+
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(7));
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+    }
+
+    @Test
+    public void testIntHashSet()
+    {
+        IntHashSet set = IntHashSet.of(3, 0, 3, Integer.MAX_VALUE, -8);
+        assertEquals(4, set.size());
+        for( int i = 1; i < 10_000; i++ )
+        {
+            set.add(i * 31);
+        }
+        assertTrue(set.contains(31 * 9_999));
+        assertTrue(set.remove(-8));
+        assertFalse(set.contains(-8));
+        assertTrue(set.contains(Integer.MAX_VALUE));
+        assertEquals(4 + 9_999 - 1, set.size());
+    }
+}